@@ -0,0 +1,99 @@
+#!/usr/bin/env bash
+# Runs two backend instances against the same database and measures how long a change made
+# on node A takes to show up in node B's in-memory doctor directory (cache invalidation bus),
+# then kills the leader and measures how long node B takes to win the lease with a higher token.
+#
+# Usage: DB_URL=... DB_USERNAME=... DB_PASSWORD=... JWT_SECRET=... scripts/two-node-check.sh
+# Needs curl and jq, and a packaged jar (./mvnw -DskipTests package).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+JAR=$(ls target/backend-*.jar | grep -v original | head -n 1)
+PORT_A=${PORT_A:-7070}
+PORT_B=${PORT_B:-7071}
+ADMIN_USER=${ADMIN_USER:-admin}
+ADMIN_PASSWORD=${ADMIN_PASSWORD:-admin123}
+
+# Short leases and a purge every 5 s, so leadership changes hands within seconds
+LEADER_ARGS=(--leader.lease-ms=6000 --leader.renew-ms=2000 --leader.safety-margin-ms=1000
+  "--bus.purge-cron=*/5 * * * * *")
+
+java -jar "$JAR" --server.port="$PORT_A" "${LEADER_ARGS[@]}" > target/node-a.log 2>&1 &
+PID_A=$!
+wait_for() {
+  for _ in $(seq 1 120); do
+    curl -sf "http://localhost:$1/api/auth/test" > /dev/null && return 0
+    sleep 1
+  done
+  echo "Node on port $1 did not start" >&2
+  exit 1
+}
+# A starts first, so it takes the bus.purge lease
+wait_for "$PORT_A"
+java -jar "$JAR" --server.port="$PORT_B" "${LEADER_ARGS[@]}" > target/node-b.log 2>&1 &
+PID_B=$!
+trap 'kill $PID_A $PID_B 2>/dev/null || true' EXIT
+
+wait_for "$PORT_B"
+
+TOKEN=$(curl -sf -X POST "http://localhost:$PORT_A/api/auth/login" -H 'Content-Type: application/json' \
+  -d "{\"username\":\"$ADMIN_USER\",\"password\":\"$ADMIN_PASSWORD\"}" | jq -r .token)
+AUTH="Authorization: Bearer $TOKEN"
+
+now_ms() { date +%s%3N; }
+
+# Polls node B's directory until the predicate on the doctor list holds
+wait_on_b() {
+  local filter=$1 started
+  started=$(now_ms)
+  for _ in $(seq 1 300); do
+    if curl -sf -H "$AUTH" "http://localhost:$PORT_B/api/admin/doctors" | jq -e "$filter" > /dev/null; then
+      echo "$(( $(now_ms) - started )) ms"
+      return 0
+    fi
+    sleep 0.1
+  done
+  echo "not seen after 30 s" >&2
+  exit 1
+}
+
+SUFFIX=$(date +%s)
+DOCTOR_ID=$(curl -sf -X POST "http://localhost:$PORT_A/api/admin/doctors" -H "$AUTH" -H 'Content-Type: application/json' \
+  -d "{\"username\":\"bus$SUFFIX\",\"password\":\"bus-check\",\"email\":\"bus$SUFFIX@example.com\",\"fullName\":\"Bus Check $SUFFIX\",\"specialization\":\"Test\",\"experience\":0}" \
+  | jq -r .id)
+echo -n "Created doctor $DOCTOR_ID on A, visible on B after "
+wait_on_b "any(.[]; .id == $DOCTOR_ID)"
+
+curl -sf -X DELETE "http://localhost:$PORT_A/api/admin/doctors/$DOCTOR_ID" -H "$AUTH" > /dev/null
+echo -n "Deleted doctor $DOCTOR_ID on A, gone on B after "
+wait_on_b "all(.[]; .id != $DOCTOR_ID)"
+
+echo "Node B invalidation stats:"
+curl -sf -H "$AUTH" "http://localhost:$PORT_B/api/admin/cache/invalidations" | jq .
+echo "Cluster locks:"
+curl -sf -H "$AUTH" "http://localhost:$PORT_A/api/admin/cluster/locks" | jq .
+
+# Leader failover: kill A without releasing its leases, B must take bus.purge with a higher token
+purge_lock() {
+  curl -sf -H "$AUTH" "http://localhost:$1/api/admin/cluster/locks" | jq '.locks[] | select(.name == "bus.purge")'
+}
+for _ in $(seq 1 100); do
+  [ "$(purge_lock "$PORT_A" | jq -r .heldHere)" = true ] && break
+  sleep 0.1
+done
+TOKEN_A=$(purge_lock "$PORT_A" | jq -r .token)
+echo "bus.purge held by A with token $TOKEN_A"
+kill -9 "$PID_A"
+started=$(now_ms)
+for _ in $(seq 1 300); do
+  LOCK_B=$(purge_lock "$PORT_B" || true)
+  if [ "$(jq -r .heldHere <<< "$LOCK_B")" = true ]; then
+    TOKEN_B=$(jq -r .token <<< "$LOCK_B")
+    echo "B took over bus.purge after $(( $(now_ms) - started )) ms with token $TOKEN_B"
+    [ "$TOKEN_B" -gt "$TOKEN_A" ] || { echo "token did not increase" >&2; exit 1; }
+    exit 0
+  fi
+  sleep 0.1
+done
+echo "B did not take over bus.purge after 30 s" >&2
+exit 1
@@ -99,7 +99,7 @@ public class DataInitializer implements CommandLineRunner {
 
             // Verify user was saved correctly
             User verifiedUser = userRepository.findByUsername(adminUsername)
-                    .orElse(userRepository.findByEmail(adminEmail).orElse(null));
+                    .or(() -> userRepository.findByEmail(adminEmail)).orElse(null);
             
             if (verifiedUser != null) {
                 log.info("✅ Admin user verified in database!");
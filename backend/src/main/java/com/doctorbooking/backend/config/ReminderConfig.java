@@ -0,0 +1,32 @@
+package com.doctorbooking.backend.config;
+
+import com.doctorbooking.backend.model.AppointmentReminder;
+import com.doctorbooking.backend.service.LoggingReminderSender;
+import com.doctorbooking.backend.service.ReminderSender;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+// Reminder channels; replace these beans with real gateway senders in deployed environments
+@Configuration
+public class ReminderConfig {
+
+    @Value("${reminders.sink-file:}")
+    private String sinkFile;
+
+    @Bean
+    public ReminderSender emailReminderSender() {
+        return new LoggingReminderSender(AppointmentReminder.Channel.EMAIL, sinkPath());
+    }
+
+    @Bean
+    public ReminderSender smsReminderSender() {
+        return new LoggingReminderSender(AppointmentReminder.Channel.SMS, sinkPath());
+    }
+
+    private Path sinkPath() {
+        return sinkFile.isBlank() ? null : Path.of(sinkFile);
+    }
+}
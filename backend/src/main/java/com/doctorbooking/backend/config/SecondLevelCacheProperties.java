@@ -0,0 +1,43 @@
+package com.doctorbooking.backend.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sizing and TTL for the Hibernate second-level cache regions, e.g.
+ * app.cache.regions.doctor.max-entries=5000 / app.cache.regions.doctor.ttl=30m
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class SecondLevelCacheProperties {
+
+    private Region defaults = new Region(1000, Duration.ofMinutes(10));
+
+    // Keys: user, doctor, patient, query-results
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    public Region regionOrDefault(String key) {
+        Region region = regions.get(key);
+        if (region == null) {
+            return defaults;
+        }
+        return new Region(
+                region.getMaxEntries() > 0 ? region.getMaxEntries() : defaults.getMaxEntries(),
+                region.getTtl() != null ? region.getTtl() : defaults.getTtl()
+        );
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+        private long maxEntries;
+        private Duration ttl;
+    }
+}
@@ -1,5 +1,6 @@
 package com.doctorbooking.backend.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -62,6 +63,8 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 // Cấu hình quy tắc cho các request HTTP
                 .authorizeHttpRequests(auth -> auth
+                        // SSE streams finish on an async dispatch; the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Cho phép OPTIONS requests (preflight) cho tất cả endpoints
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         // Cho phép các endpoint authentication không cần xác thực
@@ -3,16 +3,34 @@ package com.doctorbooking.backend.controller;
 import com.doctorbooking.backend.dto.request.DoctorRequest;
 import com.doctorbooking.backend.dto.response.*;
 import com.doctorbooking.backend.service.AdminService;
+import com.doctorbooking.backend.service.AggregateVersions;
+import com.doctorbooking.backend.service.AppointmentEventHub;
+import com.doctorbooking.backend.service.ChangeFeedService;
+import com.doctorbooking.backend.service.DoctorDirectorySnapshot;
+import com.doctorbooking.backend.service.ExportService;
+import com.doctorbooking.backend.util.ColumnarEncoder;
+import com.doctorbooking.backend.util.ConditionalGet;
+import com.doctorbooking.backend.util.PreEncodedResponse;
+import com.doctorbooking.backend.util.SparseFields;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -21,16 +39,41 @@ import java.util.List;
 public class AdminController {
 
     private final AdminService adminService;
+    private final AggregateVersions aggregateVersions;
+    private final ChangeFeedService changeFeedService;
+    private final AppointmentEventHub appointmentEventHub;
+
+    // ========== Dashboard ==========
+
+    @GetMapping("/summary")
+    public ResponseEntity<AdminSummaryResponse> getSummary() {
+        return ResponseEntity.ok(adminService.getSummary());
+    }
 
     // ========== Doctor Management ==========
 
     @GetMapping("/doctors")
-    public ResponseEntity<List<DoctorResponse>> getAllDoctors(
-            @RequestParam(required = false) String search) {
+    public ResponseEntity<?> getAllDoctors(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            ServletWebRequest webRequest) {
+        Set<String> selected = SparseFields.parse(fields, DoctorResponse.SPARSE_FIELDS);
         if (search != null && !search.trim().isEmpty()) {
-            return ResponseEntity.ok(adminService.searchDoctors(search));
+            return ResponseEntity.ok(SparseFields.filter(adminService.searchDoctors(search), selected));
         }
-        return ResponseEntity.ok(adminService.getAllDoctors());
+        if (selected != null) {
+            // Directory is in memory, so narrowing only trims the JSON
+            return ResponseEntity.ok(SparseFields.filter(adminService.getAllDoctors(), selected));
+        }
+        // Full directory is written from the pre-rendered snapshot bytes
+        DoctorDirectorySnapshot.Snapshot directory = adminService.getDoctorDirectory();
+        if (ConditionalGet.notModified(webRequest,
+                aggregateVersions.etag("directory-all", directory.getVersion()), directory.getBuiltAt())) {
+            return null;
+        }
+        DoctorDirectorySnapshot.Rendered body = directory.rendered(false);
+        return PreEncodedResponse.json(body.getJson(), body.getGzip(), directory.getVersion(), acceptEncoding);
     }
 
     @GetMapping("/doctors/{id}")
@@ -78,10 +121,14 @@ public class AdminController {
     // ========== Patient Management ==========
 
     @GetMapping("/patients")
-    public ResponseEntity<List<PatientResponse>> searchPatients(
-            @RequestParam(required = false) String search) {
-        List<PatientResponse> patients = adminService.searchPatients(search);
-        return ResponseEntity.ok(patients);
+    public ResponseEntity<SparseFields.Filtered<PageResponse<PatientResponse>>> searchPatients(
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields) {
+        Set<String> selected = SparseFields.parse(fields, PatientResponse.SPARSE_FIELDS);
+        PageResponse<PatientResponse> patients = adminService.searchPatients(search, page, size, selected);
+        return ResponseEntity.ok(SparseFields.filter(patients, selected));
     }
 
     @GetMapping("/patients/{id}")
@@ -97,10 +144,24 @@ public class AdminController {
     // ========== Appointment Management ==========
 
     @GetMapping("/appointments")
-    public ResponseEntity<List<AppointmentResponse>> getAllAppointments(
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
-        List<AppointmentResponse> appointments = adminService.getAllAppointments(date);
-        return ResponseEntity.ok(appointments);
+    public ResponseEntity<SparseFields.Filtered<List<AppointmentResponse>>> getAllAppointments(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String fields) {
+        Set<String> selected = SparseFields.parse(fields, AppointmentResponse.SPARSE_FIELDS);
+        List<AppointmentResponse> appointments = adminService.getAllAppointments(date, selected);
+        return ResponseEntity.ok(SparseFields.filter(appointments, selected));
+    }
+
+    // Same listing in the columnar format, for clients that send Accept: application/vnd.doctorbooking.columnar+json
+    @GetMapping(value = "/appointments", produces = ColumnarEncoder.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getAllAppointmentsColumnar(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(required = false) String fields) {
+        Set<String> selected = SparseFields.parse(fields, AppointmentResponse.SPARSE_FIELDS);
+        List<AppointmentResponse> appointments = adminService.getAllAppointments(date, selected);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ColumnarEncoder.MEDIA_TYPE))
+                .body(AppointmentResponse.COLUMNAR.encode(appointments, selected));
     }
 
     @GetMapping("/appointments/{id}")
@@ -113,6 +174,59 @@ public class AdminController {
         }
     }
 
+    // Queues archival of closed appointments older than the horizon (normally nightly)
+    @PostMapping("/appointments/archive")
+    public ResponseEntity<Map<String, Object>> requestAppointmentArchive() {
+        Long jobId = adminService.requestAppointmentArchive();
+        if (jobId == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(adminService.getAppointmentArchiveStatus());
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("jobId", jobId));
+    }
+
+    @GetMapping("/appointments/archive")
+    public ResponseEntity<Map<String, Object>> getAppointmentArchiveStatus() {
+        return ResponseEntity.ok(adminService.getAppointmentArchiveStatus());
+    }
+
+    // ========== Export ==========
+
+    @GetMapping("/export/appointments")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        try {
+            return download(adminService.exportAppointments(format, from, to, doctorId, gzip));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/export/treatments")
+    public ResponseEntity<StreamingResponseBody> exportTreatments(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        try {
+            return download(adminService.exportTreatments(format, from, to, doctorId, gzip));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> download(ExportService.Export export) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(export.mediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(export.filename()).build().toString())
+                .body(export.body());
+    }
+
     // ========== Feedback Management ==========
 
     @GetMapping("/feedbacks")
@@ -141,5 +255,176 @@ public class AdminController {
             return ResponseEntity.notFound().build();
         }
     }
-}
 
+    // Recomputes per-doctor rating totals from all feedback, e.g. after feedback was edited in the database
+    @PostMapping("/ratings/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildDoctorRatings() {
+        return ResponseEntity.ok(Map.of("doctors", adminService.rebuildDoctorRatings()));
+    }
+
+    // ========== Delta Sync ==========
+
+    @GetMapping("/changes/{feed}")
+    public ResponseEntity<?> getChanges(
+            @PathVariable String feed,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "200") int limit) {
+        try {
+            ChangeFeedService.Feed changeFeed = ChangeFeedService.Feed.fromName(feed);
+            return ResponseEntity.ok(changeFeedService.getChanges(changeFeed, ChangeFeedService.Scope.ALL, cursor, limit));
+        } catch (ChangeFeedService.ExpiredCursorException e) {
+            return ResponseEntity.status(HttpStatus.GONE).body(Map.of("message", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // ========== Live Events ==========
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            return ResponseEntity.ok(appointmentEventHub.subscribe(AppointmentEventHub.ADMIN_TOPIC, lastEventId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    // ========== Reminders ==========
+
+    // Runs in the background (default: tomorrow's appointments); poll /reminders/status for progress
+    @PostMapping("/reminders/run")
+    public ResponseEntity<ReminderRunResponse> runReminders(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        if (!adminService.startReminderRun(date)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(adminService.getReminderStatus());
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(adminService.getReminderStatus());
+    }
+
+    @GetMapping("/reminders/status")
+    public ResponseEntity<ReminderRunResponse> getReminderStatus() {
+        ReminderRunResponse status = adminService.getReminderStatus();
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.noContent().build();
+    }
+
+    // ========== Analytics ==========
+
+    // Queues a columnar snapshot run (normally nightly); full=true rewrites every month
+    @PostMapping("/analytics/snapshot")
+    public ResponseEntity<Map<String, Object>> requestAnalyticsSnapshot(
+            @RequestParam(defaultValue = "false") boolean full) {
+        Long jobId = adminService.requestAnalyticsSnapshot(full);
+        if (jobId == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(adminService.getAnalyticsSnapshotStatus());
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of("jobId", jobId, "full", full));
+    }
+
+    @GetMapping("/analytics/snapshot")
+    public ResponseEntity<Map<String, Object>> getAnalyticsSnapshotStatus() {
+        return ResponseEntity.ok(adminService.getAnalyticsSnapshotStatus());
+    }
+
+    // Approximate distinct patients per doctor over a range of months (yyyy-MM, both inclusive)
+    @GetMapping("/analytics/unique-patients")
+    public ResponseEntity<List<UniquePatientsResponse>> getUniquePatients(
+            @RequestParam(required = false) Long doctorId,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        return ResponseEntity.ok(adminService.getUniquePatients(doctorId, from, to != null ? to : from));
+    }
+
+    // Approximate most frequent diagnoses, for one specialization or all of them
+    @GetMapping("/analytics/top-diagnoses")
+    public ResponseEntity<TopDiagnosesResponse> getTopDiagnoses(
+            @RequestParam(required = false) String specialization,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(adminService.getTopDiagnoses(specialization, from, to != null ? to : from, limit));
+    }
+
+    // Recomputes the sketches of a range of months from the tables
+    @PostMapping("/analytics/sketches/rebuild")
+    public ResponseEntity<Map<String, Object>> requestSketchRebuild(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        YearMonth end = to != null ? to : from;
+        Long jobId = adminService.requestSketchRebuild(from, end);
+        if (jobId == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(adminService.getSketchStatus());
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(Map.of("jobId", jobId, "from", from.toString(), "to", end.toString()));
+    }
+
+    @GetMapping("/analytics/sketches")
+    public ResponseEntity<Map<String, Object>> getSketchStatus() {
+        return ResponseEntity.ok(adminService.getSketchStatus());
+    }
+
+    // ========== Reports ==========
+
+    // Queues the utilization report for a range of months (yyyy-MM, both inclusive); one month if 'to' is omitted
+    @PostMapping("/reports/utilization")
+    public ResponseEntity<Map<String, Object>> requestUtilizationReport(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        YearMonth end = to != null ? to : from;
+        Long jobId = adminService.requestUtilizationReport(from, end);
+        if (jobId == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "A report is already running"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(Map.of("jobId", jobId, "from", from.toString(), "to", end.toString()));
+    }
+
+    // One month for all doctors; the latest generated month if none is given
+    @GetMapping("/reports/utilization")
+    public ResponseEntity<List<DoctorUtilizationResponse>> getUtilizationReport(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        return ResponseEntity.ok(adminService.getUtilizationReport(month));
+    }
+
+    @GetMapping("/reports/utilization/months")
+    public ResponseEntity<List<String>> getUtilizationReportMonths() {
+        return ResponseEntity.ok(adminService.getUtilizationReportMonths());
+    }
+
+    @GetMapping("/reports/utilization/doctors/{doctorId}")
+    public ResponseEntity<List<DoctorUtilizationResponse>> getDoctorUtilization(
+            @PathVariable Long doctorId,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        return ResponseEntity.ok(adminService.getDoctorUtilization(doctorId, from, to));
+    }
+
+    // ========== Monitoring ==========
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStatistics() {
+        return ResponseEntity.ok(adminService.getCacheStatistics());
+    }
+
+    @GetMapping("/cache/invalidations")
+    public ResponseEntity<Map<String, Object>> getCacheInvalidationStatistics() {
+        return ResponseEntity.ok(adminService.getCacheInvalidationStatistics());
+    }
+
+    @GetMapping("/cluster/locks")
+    public ResponseEntity<Map<String, Object>> getClusterLocks() {
+        return ResponseEntity.ok(adminService.getClusterLocks());
+    }
+
+    @GetMapping("/jobs/stats")
+    public ResponseEntity<Map<String, Object>> getJobStatistics() {
+        return ResponseEntity.ok(adminService.getJobStatistics());
+    }
+
+    @GetMapping("/outbox/stats")
+    public ResponseEntity<Map<String, Object>> getOutboxStatistics() {
+        return ResponseEntity.ok(adminService.getOutboxStatistics());
+    }
+}
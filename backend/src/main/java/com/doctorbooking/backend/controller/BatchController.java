@@ -0,0 +1,39 @@
+package com.doctorbooking.backend.controller;
+
+import com.doctorbooking.backend.dto.request.BatchRequest;
+import com.doctorbooking.backend.dto.response.BatchResponse;
+import com.doctorbooking.backend.service.BatchService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/batch")
+@RequiredArgsConstructor
+public class BatchController {
+
+    private final BatchService batchService;
+
+    // Several GETs in one round trip; each entry is authorized as if it had been called directly.
+    // JSON only: the sub-response bodies are embedded as raw JSON, which no other format can carry
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> batch(@Valid @RequestBody BatchRequest request,
+                                   HttpServletRequest servletRequest,
+                                   HttpServletResponse servletResponse) {
+        try {
+            BatchResponse response = batchService.execute(request.getRequests(), servletRequest, servletResponse);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+}
@@ -7,18 +7,27 @@ import com.doctorbooking.backend.dto.request.UpdateTreatmentRequest;
 import com.doctorbooking.backend.dto.response.*;
 import com.doctorbooking.backend.model.User;
 import com.doctorbooking.backend.service.*;
+import com.doctorbooking.backend.util.ColumnarEncoder;
+import com.doctorbooking.backend.util.ConditionalGet;
+import com.doctorbooking.backend.util.SparseFields;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/doctor")
@@ -26,18 +35,41 @@ import java.util.List;
 @PreAuthorize("hasRole('DOCTOR')")
 public class DoctorController {
 
+    private static final Set<ChangeFeedService.Feed> SYNC_FEEDS =
+            EnumSet.of(ChangeFeedService.Feed.APPOINTMENTS, ChangeFeedService.Feed.TREATMENTS);
+
     private final DoctorService doctorService;
     private final PatientService patientService;
     private final AppointmentService appointmentService;
     private final TreatmentService treatmentService;
     private final UserService userService;
+    private final AggregateVersions aggregateVersions;
+    private final ChangeFeedService changeFeedService;
+    private final AppointmentEventHub appointmentEventHub;
+
+    // ========== Dashboard ==========
+
+    @GetMapping("/agenda")
+    public ResponseEntity<DoctorAgendaResponse> getAgenda() {
+        try {
+            return ResponseEntity.ok(doctorService.getAgenda(getCurrentDoctorId()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 
     // ========== Profile Management ==========
 
     @GetMapping("/profile")
-    public ResponseEntity<DoctorResponse> getProfile() {
+    public ResponseEntity<DoctorResponse> getProfile(ServletWebRequest webRequest) {
         try {
             Long userId = getCurrentUserId();
+            // Every doctor change produces a new directory snapshot, so its version covers the profile
+            DoctorDirectorySnapshot.Snapshot directory = doctorService.getDirectorySnapshot();
+            if (ConditionalGet.notModified(webRequest,
+                    aggregateVersions.etag("dp-" + userId, directory.getVersion()), directory.getBuiltAt())) {
+                return null;
+            }
             DoctorResponse profile = doctorService.getDoctorByUserId(userId);
             return ResponseEntity.ok(profile);
         } catch (RuntimeException e) {
@@ -73,22 +105,18 @@ public class DoctorController {
     public ResponseEntity<List<AppointmentResponse>> getAppointments(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         try {
-            Long doctorId = getCurrentDoctorId();
-            
-            if (date != null) {
-                List<AppointmentResponse> appointments = appointmentService.getAppointmentsByDate(date)
-                        .stream()
-                        .filter(a -> a.getDoctorId().equals(doctorId))
-                        .toList();
-                return ResponseEntity.ok(appointments);
-            }
-            
-            // Get all appointments for this doctor
-            List<AppointmentResponse> allAppointments = appointmentService.getAllAppointments()
-                    .stream()
-                    .filter(a -> a.getDoctorId().equals(doctorId))
-                    .toList();
-            return ResponseEntity.ok(allAppointments);
+            return ResponseEntity.ok(appointmentService.getDoctorAppointments(getCurrentDoctorId(), date));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping(value = "/appointments", produces = ColumnarEncoder.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getAppointmentsColumnar(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            List<AppointmentResponse> appointments = appointmentService.getDoctorAppointments(getCurrentDoctorId(), date);
+            return columnar(AppointmentResponse.COLUMNAR.encode(appointments, null));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -125,9 +153,14 @@ public class DoctorController {
     // ========== Treatment Management ==========
 
     @GetMapping("/treatments")
-    public ResponseEntity<List<TreatmentResponse>> getTreatments() {
+    public ResponseEntity<List<TreatmentResponse>> getTreatments(ServletWebRequest webRequest) {
         try {
             Long doctorId = getCurrentDoctorId();
+            AggregateVersions.Aggregate aggregate = AggregateVersions.Aggregate.DOCTOR_TREATMENTS;
+            if (ConditionalGet.notModified(webRequest, aggregateVersions.etag(aggregate, doctorId),
+                    aggregateVersions.current(aggregate, doctorId).lastModified())) {
+                return null;
+            }
             List<TreatmentResponse> treatments = treatmentService.getTreatmentsByDoctorId(doctorId);
             return ResponseEntity.ok(treatments);
         } catch (RuntimeException e) {
@@ -135,6 +168,16 @@ public class DoctorController {
         }
     }
 
+    @GetMapping(value = "/treatments", produces = ColumnarEncoder.MEDIA_TYPE)
+    public ResponseEntity<byte[]> getTreatmentsColumnar() {
+        try {
+            List<TreatmentResponse> treatments = treatmentService.getTreatmentsByDoctorId(getCurrentDoctorId());
+            return columnar(TreatmentResponse.COLUMNAR.encode(treatments, null));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/treatments/{id}")
     public ResponseEntity<TreatmentResponse> getTreatmentById(@PathVariable Long id) {
         try {
@@ -204,10 +247,14 @@ public class DoctorController {
     // ========== Patient Management ==========
 
     @GetMapping("/patients")
-    public ResponseEntity<List<PatientResponse>> searchPatients(
-            @RequestParam(required = false) String search) {
-        List<PatientResponse> patients = patientService.searchPatients(search);
-        return ResponseEntity.ok(patients);
+    public ResponseEntity<SparseFields.Filtered<PageResponse<PatientResponse>>> searchPatients(
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields) {
+        Set<String> selected = SparseFields.parse(fields, PatientResponse.SPARSE_FIELDS);
+        PageResponse<PatientResponse> patients = patientService.searchPatients(search, page, size, selected);
+        return ResponseEntity.ok(SparseFields.filter(patients, selected));
     }
 
     @GetMapping("/patients/{id}")
@@ -221,14 +268,22 @@ public class DoctorController {
     }
 
     @GetMapping("/patients/{id}/treatments")
-    public ResponseEntity<List<TreatmentResponse>> getPatientTreatments(@PathVariable Long id) {
+    public ResponseEntity<List<TreatmentResponse>> getPatientTreatments(@PathVariable Long id,
+                                                                        ServletWebRequest webRequest) {
         try {
+            Long doctorId = getCurrentDoctorId();
+            AggregateVersions.Version version = aggregateVersions.current(AggregateVersions.Aggregate.PATIENT_TREATMENTS, id);
+            if (ConditionalGet.notModified(webRequest,
+                    aggregateVersions.etag("pt-" + id + "-d" + doctorId, version.value()), version.lastModified())) {
+                return null;
+            }
+
             // Verify patient exists
             patientService.getPatientById(id);
             
             List<TreatmentResponse> treatments = treatmentService.getTreatmentsByPatientId(id)
                     .stream()
-                    .filter(t -> t.getDoctorId().equals(getCurrentDoctorId()))
+                    .filter(t -> t.getDoctorId().equals(doctorId))
                     .toList();
             return ResponseEntity.ok(treatments);
         } catch (RuntimeException e) {
@@ -236,8 +291,46 @@ public class DoctorController {
         }
     }
 
+    // ========== Delta Sync ==========
+
+    @GetMapping("/changes/{feed}")
+    public ResponseEntity<?> getChanges(
+            @PathVariable String feed,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "200") int limit) {
+        try {
+            ChangeFeedService.Feed changeFeed = ChangeFeedService.Feed.fromName(feed);
+            if (!SYNC_FEEDS.contains(changeFeed)) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(changeFeedService.getChanges(changeFeed, ChangeFeedService.Scope.doctor(getCurrentDoctorId()), cursor, limit));
+        } catch (ChangeFeedService.ExpiredCursorException e) {
+            return ResponseEntity.status(HttpStatus.GONE).body(Map.of("message", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // ========== Live Events ==========
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            return ResponseEntity.ok(appointmentEventHub.subscribe(AppointmentEventHub.doctorTopic(getCurrentDoctorId()), lastEventId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     // ========== Helper Methods ==========
 
+    private ResponseEntity<byte[]> columnar(byte[] body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ColumnarEncoder.MEDIA_TYPE))
+                .body(body);
+    }
+
     private Long getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
@@ -7,16 +7,25 @@ import com.doctorbooking.backend.dto.request.UpdatePatientProfileRequest;
 import com.doctorbooking.backend.dto.response.*;
 import com.doctorbooking.backend.model.User;
 import com.doctorbooking.backend.service.*;
+import com.doctorbooking.backend.util.ConditionalGet;
+import com.doctorbooking.backend.util.PreEncodedResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/patient")
@@ -30,13 +39,19 @@ public class PatientController {
     private final TreatmentService treatmentService;
     private final FeedbackService feedbackService;
     private final UserService userService;
+    private final AggregateVersions aggregateVersions;
+    private final ChangeFeedService changeFeedService;
+    private final AppointmentEventHub appointmentEventHub;
 
     // ========== Profile Management ==========
 
     @GetMapping("/profile")
-    public ResponseEntity<PatientResponse> getProfile() {
+    public ResponseEntity<PatientResponse> getProfile(ServletWebRequest webRequest) {
         try {
             Long userId = getCurrentUserId();
+            if (notModified(webRequest, AggregateVersions.Aggregate.PATIENT_PROFILE, userId)) {
+                return null;
+            }
             PatientResponse profile = patientService.getPatientByUserId(userId);
             return ResponseEntity.ok(profile);
         } catch (RuntimeException e) {
@@ -79,10 +94,19 @@ public class PatientController {
         }
     }
 
+    // Live appointments by default; 'from' (yyyy-MM-dd) narrows to that date onwards and reaches into the archive
     @GetMapping("/appointments")
-    public ResponseEntity<List<AppointmentResponse>> getAppointments() {
+    public ResponseEntity<List<AppointmentResponse>> getAppointments(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            ServletWebRequest webRequest) {
         try {
             Long patientId = getCurrentPatientId();
+            if (from != null) {
+                return ResponseEntity.ok(appointmentService.getPatientAppointments(patientId, from));
+            }
+            if (notModified(webRequest, AggregateVersions.Aggregate.PATIENT_APPOINTMENTS, patientId)) {
+                return null;
+            }
             List<AppointmentResponse> appointments = appointmentService.getPatientAppointments(patientId);
             return ResponseEntity.ok(appointments);
         } catch (RuntimeException e) {
@@ -121,13 +145,45 @@ public class PatientController {
     // ========== Doctor Search ==========
 
     @GetMapping("/doctors")
-    public ResponseEntity<List<DoctorResponse>> searchDoctors(
-            @RequestParam(required = false) String search) {
+    public ResponseEntity<?> searchDoctors(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String specialization,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            ServletWebRequest webRequest) {
         if (search != null && !search.trim().isEmpty()) {
             return ResponseEntity.ok(doctorService.searchDoctors(search));
         }
-        // Return only active doctors for patients
-        return ResponseEntity.ok(doctorService.getActiveDoctors());
+        // sort=rating|volume: top-k of the specialization (or of everyone), from the ranking index
+        if (sort != null) {
+            try {
+                return ResponseEntity.ok(doctorService.getRankedDoctors(specialization,
+                        DoctorRankingIndex.Sort.fromName(sort), limit));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        // Return only active doctors for patients, written from the pre-rendered snapshot bytes
+        DoctorDirectorySnapshot.Snapshot directory = doctorService.getDirectorySnapshot();
+        if (ConditionalGet.notModified(webRequest,
+                aggregateVersions.etag("directory-active", directory.getVersion()), directory.getBuiltAt())) {
+            return null;
+        }
+        DoctorDirectorySnapshot.Rendered body = directory.rendered(true);
+        return PreEncodedResponse.json(body.getJson(), body.getGzip(), directory.getVersion(), acceptEncoding);
+    }
+
+    @GetMapping("/doctors/suggest")
+    public ResponseEntity<List<DoctorSuggestion>> suggestDoctors(
+            @RequestParam(required = false, defaultValue = "") String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(doctorService.suggestDoctors(q, limit));
+    }
+
+    @GetMapping("/doctors/{id}/rating")
+    public ResponseEntity<DoctorRatingResponse> getDoctorRating(@PathVariable Long id) {
+        return ResponseEntity.ok(doctorService.getDoctorRating(id));
     }
 
     @GetMapping("/doctors/{id}")
@@ -147,9 +203,12 @@ public class PatientController {
     // ========== Treatment Viewing ==========
 
     @GetMapping("/treatments")
-    public ResponseEntity<List<TreatmentResponse>> getTreatments() {
+    public ResponseEntity<List<TreatmentResponse>> getTreatments(ServletWebRequest webRequest) {
         try {
             Long patientId = getCurrentPatientId();
+            if (notModified(webRequest, AggregateVersions.Aggregate.PATIENT_TREATMENTS, patientId)) {
+                return null;
+            }
             List<TreatmentResponse> treatments = treatmentService.getTreatmentsByPatientId(patientId);
             return ResponseEntity.ok(treatments);
         } catch (RuntimeException e) {
@@ -220,6 +279,35 @@ public class PatientController {
         }
     }
 
+    // ========== Delta Sync ==========
+
+    @GetMapping("/changes/{feed}")
+    public ResponseEntity<?> getChanges(
+            @PathVariable String feed,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "200") int limit) {
+        try {
+            ChangeFeedService.Feed changeFeed = ChangeFeedService.Feed.fromName(feed);
+            return ResponseEntity.ok(changeFeedService.getChanges(changeFeed, ChangeFeedService.Scope.patient(getCurrentPatientId()), cursor, limit));
+        } catch (ChangeFeedService.ExpiredCursorException e) {
+            return ResponseEntity.status(HttpStatus.GONE).body(Map.of("message", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
+    }
+
+    // ========== Live Events ==========
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            return ResponseEntity.ok(appointmentEventHub.subscribe(AppointmentEventHub.patientTopic(getCurrentPatientId()), lastEventId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     // ========== Helper Methods ==========
 
     private Long getCurrentUserId() {
@@ -229,6 +317,11 @@ public class PatientController {
         return user.getId();
     }
 
+    private boolean notModified(ServletWebRequest webRequest, AggregateVersions.Aggregate aggregate, Long id) {
+        return ConditionalGet.notModified(webRequest, aggregateVersions.etag(aggregate, id),
+                aggregateVersions.current(aggregate, id).lastModified());
+    }
+
     private Long getCurrentPatientId() {
         Long userId = getCurrentUserId();
         PatientResponse patient = patientService.getPatientByUserId(userId);
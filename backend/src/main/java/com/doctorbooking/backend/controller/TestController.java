@@ -83,7 +83,7 @@ public class TestController {
         
         try {
             User user = userRepository.findByUsername(username)
-                    .orElse(userRepository.findByEmail(username).orElse(null));
+                    .or(() -> userRepository.findByEmail(username)).orElse(null);
             
             if (user != null) {
                 result.put("found", true);
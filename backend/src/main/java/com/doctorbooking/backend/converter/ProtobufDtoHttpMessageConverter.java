@@ -0,0 +1,108 @@
+package com.doctorbooking.backend.converter;
+
+import com.doctorbooking.backend.dto.response.PageResponse;
+import com.doctorbooking.backend.util.SparseFields;
+import com.google.protobuf.CodedOutputStream;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Writes the core response DTOs (and lists/pages of them) as protobuf for
+ * Accept: application/x-protobuf. Write-only; request bodies stay JSON.
+ */
+public class ProtobufDtoHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public ProtobufDtoHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return supportsType(ResolvableType.forClass(clazz));
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType resolved = type != null ? ResolvableType.forType(type) : ResolvableType.NONE;
+        Class<?> raw = resolved.resolve();
+        // ResponseEntity<?> and the like: only the runtime class is known, without its generics
+        return supportsType(raw == null || raw == Object.class ? ResolvableType.forClass(clazz) : resolved);
+    }
+
+    /**
+     * Only bodies whose DTO type is known up front. Anything unresolved (a raw list, a body behind
+     * ResponseEntity<?>) is declined, so negotiation answers 406 or picks another converter instead
+     * of committing to protobuf and failing halfway through the write.
+     */
+    private boolean supportsType(ResolvableType type) {
+        Class<?> raw = type.resolve();
+        if (raw == null) {
+            return false;
+        }
+        if (ProtobufDtoWriter.supports(raw)) {
+            return true;
+        }
+        if (List.class.isAssignableFrom(raw)) {
+            Class<?> element = type.asCollection().getGeneric(0).resolve();
+            return element != null && ProtobufDtoWriter.supports(element);
+        }
+        if (raw == PageResponse.class) {
+            Class<?> element = type.getGeneric(0).resolve();
+            return element != null && ProtobufDtoWriter.supports(element);
+        }
+        if (raw == SparseFields.Filtered.class) {
+            return supportsType(type.getGeneric(0));
+        }
+        return false;
+    }
+
+    @Override
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Object value = body instanceof MappingJacksonValue wrapper ? wrapper.getValue() : body;
+        CodedOutputStream out = CodedOutputStream.newInstance(outputMessage.getBody());
+        try {
+            ProtobufDtoWriter.writeBody(out, value);
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotWritableException(e.getMessage(), e);
+        }
+        out.flush();
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("Protobuf request bodies are not supported", inputMessage);
+    }
+}
@@ -0,0 +1,223 @@
+package com.doctorbooking.backend.converter;
+
+import com.doctorbooking.backend.dto.response.*;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Hand-written protobuf encoding of the response DTOs, following resources/proto/doctorbooking.proto.
+ * Writing the wire format directly keeps the DTOs as the single model (no generated classes to
+ * copy into); clients generate their readers from the .proto file.
+ */
+final class ProtobufDtoWriter {
+
+    // Deepest nesting is list item -> Patient.treatments (two levels)
+    private static final int MAX_DEPTH = 4;
+    private static final ThreadLocal<Scratch[]> SCRATCH = ThreadLocal.withInitial(() -> new Scratch[MAX_DEPTH]);
+    private static final ThreadLocal<int[]> DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private interface MessageWriter<T> {
+        void write(CodedOutputStream out, T value) throws IOException;
+    }
+
+    private ProtobufDtoWriter() {
+    }
+
+    // ========== Top-level bodies ==========
+
+    static boolean supports(Class<?> type) {
+        return type == AppointmentResponse.class || type == DoctorResponse.class
+                || type == TreatmentResponse.class || type == PatientResponse.class;
+    }
+
+    static void writeBody(CodedOutputStream out, Object body) throws IOException {
+        if (body instanceof PageResponse<?> page) {
+            // PatientPage is the only paged body; field numbers 2-5 are shared by convention
+            writeItems(out, page.getContent());
+            out.writeInt32(2, page.getPage());
+            out.writeInt32(3, page.getSize());
+            out.writeInt64(4, page.getTotalElements());
+            out.writeInt32(5, page.getTotalPages());
+        } else if (body instanceof List<?> list) {
+            writeItems(out, list);
+        } else {
+            writeSingle(out, body);
+        }
+    }
+
+    private static void writeItems(CodedOutputStream out, List<?> items) throws IOException {
+        for (Object item : items) {
+            if (item instanceof AppointmentResponse appointment) {
+                writeMessage(out, 1, appointment, ProtobufDtoWriter::writeAppointment);
+            } else if (item instanceof DoctorResponse doctor) {
+                writeMessage(out, 1, doctor, ProtobufDtoWriter::writeDoctor);
+            } else if (item instanceof TreatmentResponse treatment) {
+                writeMessage(out, 1, treatment, ProtobufDtoWriter::writeTreatment);
+            } else if (item instanceof PatientResponse patient) {
+                writeMessage(out, 1, patient, ProtobufDtoWriter::writePatient);
+            } else {
+                throw new IllegalArgumentException("No protobuf schema for " + item.getClass().getSimpleName());
+            }
+        }
+    }
+
+    private static void writeSingle(CodedOutputStream out, Object body) throws IOException {
+        if (body instanceof AppointmentResponse appointment) {
+            writeAppointment(out, appointment);
+        } else if (body instanceof DoctorResponse doctor) {
+            writeDoctor(out, doctor);
+        } else if (body instanceof TreatmentResponse treatment) {
+            writeTreatment(out, treatment);
+        } else if (body instanceof PatientResponse patient) {
+            writePatient(out, patient);
+        } else {
+            throw new IllegalArgumentException("No protobuf schema for " + body.getClass().getSimpleName());
+        }
+    }
+
+    // ========== Messages ==========
+
+    private static void writeAppointment(CodedOutputStream out, AppointmentResponse a) throws IOException {
+        int64(out, 1, a.getId());
+        int64(out, 2, a.getPatientId());
+        string(out, 3, a.getPatientName());
+        string(out, 4, a.getPatientPhone());
+        int64(out, 5, a.getDoctorId());
+        string(out, 6, a.getDoctorName());
+        string(out, 7, a.getDoctorSpecialization());
+        date(out, 8, a.getAppointmentDate());
+        time(out, 9, a.getAppointmentTime());
+        string(out, 10, a.getStatus());
+        string(out, 11, a.getNotes());
+        timestamp(out, 12, a.getCreatedAt());
+        timestamp(out, 13, a.getUpdatedAt());
+    }
+
+    private static void writeDoctor(CodedOutputStream out, DoctorResponse d) throws IOException {
+        int64(out, 1, d.getId());
+        int64(out, 2, d.getUserId());
+        string(out, 3, d.getUsername());
+        string(out, 4, d.getEmail());
+        string(out, 5, d.getFullName());
+        string(out, 6, d.getSpecialization());
+        string(out, 7, d.getQualification());
+        if (d.getExperience() != null) {
+            out.writeInt32(8, d.getExperience());
+        }
+        string(out, 9, d.getPhone());
+        string(out, 10, d.getAddress());
+        string(out, 11, d.getBio());
+        string(out, 12, d.getStatus());
+        timestamp(out, 13, d.getCreatedAt());
+        timestamp(out, 14, d.getUpdatedAt());
+    }
+
+    private static void writeTreatment(CodedOutputStream out, TreatmentResponse t) throws IOException {
+        int64(out, 1, t.getId());
+        int64(out, 2, t.getAppointmentId());
+        int64(out, 3, t.getDoctorId());
+        string(out, 4, t.getDoctorName());
+        int64(out, 5, t.getPatientId());
+        string(out, 6, t.getPatientName());
+        string(out, 7, t.getDiagnosis());
+        string(out, 8, t.getPrescription());
+        string(out, 9, t.getTreatmentNotes());
+        date(out, 10, t.getFollowUpDate());
+        timestamp(out, 11, t.getCreatedAt());
+        timestamp(out, 12, t.getUpdatedAt());
+    }
+
+    private static void writePatient(CodedOutputStream out, PatientResponse p) throws IOException {
+        int64(out, 1, p.getId());
+        int64(out, 2, p.getUserId());
+        string(out, 3, p.getUsername());
+        string(out, 4, p.getEmail());
+        string(out, 5, p.getFullName());
+        date(out, 6, p.getDateOfBirth());
+        string(out, 7, p.getGender());
+        string(out, 8, p.getPhone());
+        string(out, 9, p.getAddress());
+        string(out, 10, p.getEmergencyContact());
+        string(out, 11, p.getEmergencyPhone());
+        timestamp(out, 12, p.getCreatedAt());
+        timestamp(out, 13, p.getUpdatedAt());
+        if (p.getTreatments() != null) {
+            for (TreatmentResponse treatment : p.getTreatments()) {
+                writeMessage(out, 14, treatment, ProtobufDtoWriter::writeTreatment);
+            }
+        }
+    }
+
+    // ========== Field helpers (null = field absent) ==========
+
+    private static <T> void writeMessage(CodedOutputStream out, int field, T value, MessageWriter<T> writer)
+            throws IOException {
+        // One scratch buffer per nesting depth and thread, reused for every embedded message
+        Scratch[] scratches = SCRATCH.get();
+        int depth = DEPTH.get()[0]++;
+        try {
+            if (scratches[depth] == null) {
+                scratches[depth] = new Scratch();
+            }
+            Scratch scratch = scratches[depth];
+            scratch.reset();
+            writer.write(scratch.coded, value);
+            scratch.coded.flush();
+            out.writeTag(field, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            out.writeUInt32NoTag(scratch.size());
+            out.writeRawBytes(scratch.buffer(), 0, scratch.size());
+        } finally {
+            DEPTH.get()[0]--;
+        }
+    }
+
+    private static final class Scratch extends ByteArrayOutputStream {
+        private final CodedOutputStream coded = CodedOutputStream.newInstance(this, 512);
+
+        private Scratch() {
+            super(512);
+        }
+
+        private byte[] buffer() {
+            return buf;
+        }
+    }
+
+    private static void int64(CodedOutputStream out, int field, Long value) throws IOException {
+        if (value != null) {
+            out.writeInt64(field, value);
+        }
+    }
+
+    private static void string(CodedOutputStream out, int field, String value) throws IOException {
+        if (value != null) {
+            out.writeString(field, value);
+        }
+    }
+
+    private static void date(CodedOutputStream out, int field, LocalDate value) throws IOException {
+        if (value != null) {
+            out.writeInt32(field, (int) value.toEpochDay());
+        }
+    }
+
+    private static void time(CodedOutputStream out, int field, LocalTime value) throws IOException {
+        if (value != null) {
+            out.writeInt32(field, value.toSecondOfDay());
+        }
+    }
+
+    private static void timestamp(CodedOutputStream out, int field, LocalDateTime value) throws IOException {
+        if (value != null) {
+            out.writeInt64(field, value.toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+    }
+}
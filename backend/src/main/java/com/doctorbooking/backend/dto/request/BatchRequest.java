@@ -0,0 +1,32 @@
+package com.doctorbooking.backend.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchRequest {
+
+    @NotEmpty(message = "At least one request is required")
+    private List<@Valid Item> requests;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        // Echoed back so the client can match responses to requests
+        @NotBlank(message = "Request id is required")
+        private String id;
+
+        // GET path relative to /api, with optional query string, e.g. "/doctor/appointments?date=2025-01-01"
+        @NotBlank(message = "Request path is required")
+        private String path;
+    }
+}
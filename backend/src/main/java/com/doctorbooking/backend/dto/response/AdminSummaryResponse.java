@@ -0,0 +1,24 @@
+package com.doctorbooking.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminSummaryResponse {
+    private long totalDoctors;
+    private long activeDoctors;
+    private long totalPatients;
+    private long totalAppointments;
+    private long pendingFeedbacks;
+    private LocalDate date;
+    private long todayAppointments;
+    private Map<String, Long> todayByStatus; // every AppointmentStatus, zero when absent
+    private LocalDateTime computedAt;
+}
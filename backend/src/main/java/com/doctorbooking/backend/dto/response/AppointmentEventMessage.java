@@ -0,0 +1,37 @@
+package com.doctorbooking.backend.dto.response;
+
+import com.doctorbooking.backend.event.AppointmentChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentEventMessage {
+    private String type; // CREATED, CONFIRMED, CANCELLED or COMPLETED
+    private Long appointmentId;
+    private Long doctorId;
+    private Long patientId;
+    private LocalDate appointmentDate;
+    private LocalTime appointmentTime;
+    private String status;
+    private LocalDateTime occurredAt;
+
+    public static AppointmentEventMessage fromEvent(AppointmentChangedEvent event) {
+        return new AppointmentEventMessage(
+                event.isCreated() ? "CREATED" : event.getStatus().name(),
+                event.getAppointmentId(),
+                event.getDoctorId(),
+                event.getPatientId(),
+                event.getAppointmentDate(),
+                event.getAppointmentTime(),
+                event.getStatus().name(),
+                LocalDateTime.now()
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package com.doctorbooking.backend.dto.response;
+
+import com.doctorbooking.backend.model.Appointment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+// Flat row selected straight into the export stream; no entities are loaded
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentExportRow {
+
+    public static final String[] CSV_HEADER = {"id", "appointmentDate", "appointmentTime", "status",
+            "doctorId", "doctorName", "specialization", "patientId", "patientName", "notes", "createdAt", "updatedAt"};
+
+    private Long id;
+    private LocalDate appointmentDate;
+    private LocalTime appointmentTime;
+    private Appointment.AppointmentStatus status;
+    private Long doctorId;
+    private String doctorName;
+    private String specialization;
+    private Long patientId;
+    private String patientName;
+    private String notes;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public Object[] csvValues() {
+        return new Object[]{id, appointmentDate, appointmentTime, status, doctorId, doctorName, specialization,
+                patientId, patientName, notes, createdAt, updatedAt};
+    }
+}
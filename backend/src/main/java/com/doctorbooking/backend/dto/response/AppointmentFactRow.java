@@ -0,0 +1,39 @@
+package com.doctorbooking.backend.dto.response;
+
+import com.doctorbooking.backend.model.Appointment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+// One appointment joined with its doctor's specialization and one of its treatments (treatment
+// columns are null when it has none); selected straight into the analytics snapshot writer
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentFactRow {
+
+    private Long appointmentId;
+    private LocalDate appointmentDate;
+    private LocalTime appointmentTime;
+    private Appointment.AppointmentStatus status;
+    private Long doctorId;
+    private String specialization;
+    private Long patientId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long treatmentId;
+    private LocalDate followUpDate;
+    private LocalDateTime treatmentCreatedAt;
+
+    // Archived appointments have no treatments
+    public AppointmentFactRow(Long appointmentId, LocalDate appointmentDate, LocalTime appointmentTime,
+                              Appointment.AppointmentStatus status, Long doctorId, String specialization,
+                              Long patientId, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(appointmentId, appointmentDate, appointmentTime, status, doctorId, specialization, patientId,
+                createdAt, updatedAt, null, null, null);
+    }
+}
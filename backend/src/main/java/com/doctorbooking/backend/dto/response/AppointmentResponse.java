@@ -1,6 +1,10 @@
 package com.doctorbooking.backend.dto.response;
 
 import com.doctorbooking.backend.model.Appointment;
+import com.doctorbooking.backend.model.ArchivedAppointment;
+import com.doctorbooking.backend.util.ColumnarEncoder;
+import com.doctorbooking.backend.util.SparseFields;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,11 +12,35 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Set;
 
 @Data
+@JsonFilter(SparseFields.FILTER_ID)
 @NoArgsConstructor
 @AllArgsConstructor
 public class AppointmentResponse {
+    // Whitelist for the fields= query parameter on list endpoints
+    public static final Set<String> SPARSE_FIELDS = Set.of(
+            "id", "patientId", "patientName", "patientPhone", "doctorId", "doctorName",
+            "doctorSpecialization", "appointmentDate", "appointmentTime", "status", "notes", "createdAt",
+            "updatedAt");
+
+    // Column layout for the columnar list format (see ColumnarEncoder)
+    public static final ColumnarEncoder<AppointmentResponse> COLUMNAR = new ColumnarEncoder<AppointmentResponse>()
+            .ids("id", AppointmentResponse::getId)
+            .ids("patientId", AppointmentResponse::getPatientId)
+            .dictionary("patientName", AppointmentResponse::getPatientName)
+            .dictionary("patientPhone", AppointmentResponse::getPatientPhone)
+            .ids("doctorId", AppointmentResponse::getDoctorId)
+            .dictionary("doctorName", AppointmentResponse::getDoctorName)
+            .dictionary("doctorSpecialization", AppointmentResponse::getDoctorSpecialization)
+            .dates("appointmentDate", AppointmentResponse::getAppointmentDate)
+            .times("appointmentTime", AppointmentResponse::getAppointmentTime)
+            .dictionary("status", AppointmentResponse::getStatus)
+            .strings("notes", AppointmentResponse::getNotes)
+            .timestamps("createdAt", AppointmentResponse::getCreatedAt)
+            .timestamps("updatedAt", AppointmentResponse::getUpdatedAt);
+
     private Long id;
     private Long patientId;
     private String patientName;
@@ -44,5 +72,22 @@ public class AppointmentResponse {
         response.setUpdatedAt(appointment.getUpdatedAt());
         return response;
     }
-}
 
+    public static AppointmentResponse fromEntity(ArchivedAppointment appointment) {
+        AppointmentResponse response = new AppointmentResponse();
+        response.setId(appointment.getId());
+        response.setPatientId(appointment.getPatient().getId());
+        response.setPatientName(appointment.getPatient().getFullName());
+        response.setPatientPhone(appointment.getPatient().getPhone());
+        response.setDoctorId(appointment.getDoctor().getId());
+        response.setDoctorName(appointment.getDoctor().getFullName());
+        response.setDoctorSpecialization(appointment.getDoctor().getSpecialization());
+        response.setAppointmentDate(appointment.getAppointmentDate());
+        response.setAppointmentTime(appointment.getAppointmentTime());
+        response.setStatus(appointment.getStatus().name());
+        response.setNotes(appointment.getNotes());
+        response.setCreatedAt(appointment.getCreatedAt());
+        response.setUpdatedAt(appointment.getUpdatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,27 @@
+package com.doctorbooking.backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResponse {
+    private List<Item> responses;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private String id;
+        private int status;
+
+        // Sub-response body, already JSON; null when the sub-request produced no body
+        @JsonRawValue
+        private String body;
+    }
+}
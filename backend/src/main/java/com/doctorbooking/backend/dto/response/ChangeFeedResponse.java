@@ -0,0 +1,26 @@
+package com.doctorbooking.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedResponse<T> {
+    private List<T> changes;          // inserted or updated rows, ordered by (updatedAt, id)
+    private List<Deleted> deleted;    // tombstones, ordered by deletion
+    private String cursor;            // pass back as ?cursor= to resume after this page
+    private boolean hasMore;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Deleted {
+        private Long id;
+        private LocalDateTime deletedAt;
+    }
+}
@@ -0,0 +1,25 @@
+package com.doctorbooking.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorAgendaResponse {
+    private LocalDate date;
+    private List<AppointmentResponse> today;          // every appointment today, by time
+    private List<AppointmentResponse> pendingQueue;   // oldest PENDING from today on, capped
+    private long pendingCount;
+    private long upcomingCount;                       // PENDING + CONFIRMED from today on
+    private Map<String, Long> upcomingByStatus;       // every AppointmentStatus from today on
+    private List<TreatmentResponse> recentTreatments;
+    private long totalTreatments;
+    private LocalDateTime generatedAt;
+}
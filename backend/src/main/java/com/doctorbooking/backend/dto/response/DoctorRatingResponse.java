@@ -0,0 +1,25 @@
+package com.doctorbooking.backend.dto.response;
+
+import com.doctorbooking.backend.model.DoctorRating;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorRatingResponse {
+    private Long doctorId;
+    private long count;
+    private double average;
+    private long[] histogram; // ratings of 1..5 stars
+
+    public static DoctorRatingResponse fromEntity(DoctorRating rating) {
+        return new DoctorRatingResponse(rating.getDoctorId(), rating.getRatingCount(), rating.getAverage(),
+                rating.getHistogram());
+    }
+
+    public static DoctorRatingResponse empty(Long doctorId) {
+        return new DoctorRatingResponse(doctorId, 0, 0.0, new long[5]);
+    }
+}
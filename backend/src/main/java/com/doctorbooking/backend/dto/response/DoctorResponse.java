@@ -1,16 +1,25 @@
 package com.doctorbooking.backend.dto.response;
 
 import com.doctorbooking.backend.model.Doctor;
+import com.doctorbooking.backend.util.SparseFields;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Data
+@JsonFilter(SparseFields.FILTER_ID)
 @NoArgsConstructor
 @AllArgsConstructor
 public class DoctorResponse {
+    // Whitelist for the fields= query parameter on list endpoints
+    public static final Set<String> SPARSE_FIELDS = Set.of(
+            "id", "userId", "username", "email", "fullName", "specialization", "qualification", "experience",
+            "phone", "address", "bio", "status", "createdAt", "updatedAt");
+
     private Long id;
     private Long userId;
     private String username;
@@ -0,0 +1,18 @@
+package com.doctorbooking.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorSuggestion {
+    private Long id;
+    private String fullName;
+    private String specialization;
+
+    public static DoctorSuggestion fromResponse(DoctorResponse doctor) {
+        return new DoctorSuggestion(doctor.getId(), doctor.getFullName(), doctor.getSpecialization());
+    }
+}
@@ -0,0 +1,50 @@
+package com.doctorbooking.backend.dto.response;
+
+import com.doctorbooking.backend.model.DoctorUtilization;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorUtilizationResponse {
+    private String month;
+    private Long doctorId;
+    private String doctorName;
+    private String specialization;
+    private int availableSlots;
+    private int appointments;
+    private int booked;
+    private int completed;
+    private int cancelled;
+    private int followUps;
+    private double utilization;
+    private double cancellationRate;
+    private double completionRate;
+    private double followUpRate;
+    private LocalDateTime generatedAt;
+
+    public static DoctorUtilizationResponse fromEntity(DoctorUtilization row) {
+        DoctorUtilizationResponse response = new DoctorUtilizationResponse();
+        response.setMonth(YearMonth.from(row.getReportMonth()).toString());
+        response.setDoctorId(row.getDoctorId());
+        response.setDoctorName(row.getDoctorName());
+        response.setSpecialization(row.getSpecialization());
+        response.setAvailableSlots(row.getAvailableSlots());
+        response.setAppointments(row.getAppointments());
+        response.setBooked(row.getBooked());
+        response.setCompleted(row.getCompleted());
+        response.setCancelled(row.getCancelled());
+        response.setFollowUps(row.getFollowUps());
+        response.setUtilization(row.getUtilization());
+        response.setCancellationRate(row.getCancellationRate());
+        response.setCompletionRate(row.getCompletionRate());
+        response.setFollowUpRate(row.getFollowUpRate());
+        response.setGeneratedAt(row.getGeneratedAt());
+        return response;
+    }
+}
@@ -1,6 +1,8 @@
 package com.doctorbooking.backend.dto.response;
 
 import com.doctorbooking.backend.model.Patient;
+import com.doctorbooking.backend.util.SparseFields;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,11 +10,18 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @Data
+@JsonFilter(SparseFields.FILTER_ID)
 @NoArgsConstructor
 @AllArgsConstructor
 public class PatientResponse {
+    // Whitelist for the fields= query parameter on list endpoints
+    public static final Set<String> SPARSE_FIELDS = Set.of(
+            "id", "userId", "username", "email", "fullName", "dateOfBirth", "gender", "phone", "address",
+            "emergencyContact", "emergencyPhone", "createdAt", "updatedAt");
+
     private Long id;
     private Long userId;
     private String username;
@@ -0,0 +1,28 @@
+package com.doctorbooking.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Directory entry with the figures it was ranked by
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankedDoctorResponse {
+    private Long id;
+    private String fullName;
+    private String specialization;
+    private String qualification;
+    private Integer experience;
+    private String phone;
+    private double averageRating;
+    private long ratingCount;
+    private long bookings;
+
+    public static RankedDoctorResponse of(DoctorResponse doctor, double averageRating, long ratingCount,
+                                          long bookings) {
+        return new RankedDoctorResponse(doctor.getId(), doctor.getFullName(), doctor.getSpecialization(),
+                doctor.getQualification(), doctor.getExperience(), doctor.getPhone(), averageRating, ratingCount,
+                bookings);
+    }
+}
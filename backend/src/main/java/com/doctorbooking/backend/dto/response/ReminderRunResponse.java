@@ -0,0 +1,22 @@
+package com.doctorbooking.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReminderRunResponse {
+    private LocalDate appointmentDate;
+    private boolean running;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt; // null while running
+    private long scanned;  // CONFIRMED appointments read
+    private long sent;
+    private long skipped;  // already sent, out of attempts, or claimed by another run
+    private long failed;
+}
@@ -0,0 +1,29 @@
+package com.doctorbooking.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Approximate most frequent diagnoses; each count overestimates by at most errorBound with the given confidence
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopDiagnosesResponse {
+    private String specialization; // null for all specializations
+    private String from;
+    private String to;
+    private long treatments;
+    private long errorBound;
+    private double confidence;
+    private List<Item> diagnoses;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private String diagnosis;
+        private long count;
+    }
+}
@@ -0,0 +1,36 @@
+package com.doctorbooking.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Flat row selected straight into the export stream; no entities are loaded
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TreatmentExportRow {
+
+    public static final String[] CSV_HEADER = {"id", "createdAt", "doctorId", "doctorName", "patientId",
+            "patientName", "appointmentId", "diagnosis", "prescription", "treatmentNotes", "followUpDate", "updatedAt"};
+
+    private Long id;
+    private LocalDateTime createdAt;
+    private Long doctorId;
+    private String doctorName;
+    private Long patientId;
+    private String patientName;
+    private Long appointmentId;
+    private String diagnosis;
+    private String prescription;
+    private String treatmentNotes;
+    private LocalDate followUpDate;
+    private LocalDateTime updatedAt;
+
+    public Object[] csvValues() {
+        return new Object[]{id, createdAt, doctorId, doctorName, patientId, patientName, appointmentId,
+                diagnosis, prescription, treatmentNotes, followUpDate, updatedAt};
+    }
+}
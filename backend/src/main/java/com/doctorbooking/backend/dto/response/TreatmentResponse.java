@@ -1,6 +1,7 @@
 package com.doctorbooking.backend.dto.response;
 
 import com.doctorbooking.backend.model.Treatment;
+import com.doctorbooking.backend.util.ColumnarEncoder;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,6 +13,21 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class TreatmentResponse {
+    // Column layout for the columnar list format (see ColumnarEncoder)
+    public static final ColumnarEncoder<TreatmentResponse> COLUMNAR = new ColumnarEncoder<TreatmentResponse>()
+            .ids("id", TreatmentResponse::getId)
+            .ids("appointmentId", TreatmentResponse::getAppointmentId)
+            .ids("doctorId", TreatmentResponse::getDoctorId)
+            .dictionary("doctorName", TreatmentResponse::getDoctorName)
+            .ids("patientId", TreatmentResponse::getPatientId)
+            .dictionary("patientName", TreatmentResponse::getPatientName)
+            .dictionary("diagnosis", TreatmentResponse::getDiagnosis)
+            .strings("prescription", TreatmentResponse::getPrescription)
+            .strings("treatmentNotes", TreatmentResponse::getTreatmentNotes)
+            .dates("followUpDate", TreatmentResponse::getFollowUpDate)
+            .timestamps("createdAt", TreatmentResponse::getCreatedAt)
+            .timestamps("updatedAt", TreatmentResponse::getUpdatedAt);
+
     private Long id;
     private Long appointmentId;
     private Long doctorId;
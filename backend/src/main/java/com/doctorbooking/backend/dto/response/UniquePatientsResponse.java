@@ -0,0 +1,20 @@
+package com.doctorbooking.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// Approximate distinct patients of one doctor; the total is the union over the months, not their sum
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UniquePatientsResponse {
+    private Long doctorId;
+    private String from;
+    private String to;
+    private long uniquePatients;
+    private Map<String, Long> months;
+    private double relativeError; // standard error of each estimate, e.g. 0.016
+}
@@ -0,0 +1,35 @@
+package com.doctorbooking.backend.event;
+
+import com.doctorbooking.backend.model.Appointment;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Published by AppointmentService when an appointment is booked or changes status.
+ * Counters and per-day views listen for it after the transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class AppointmentChangedEvent {
+
+    private final Long appointmentId;
+    private final Long doctorId;
+    private final Long patientId;
+    private final LocalDate appointmentDate;
+    private final LocalTime appointmentTime;
+    private final Appointment.AppointmentStatus previousStatus; // null when the appointment was just created
+    private final Appointment.AppointmentStatus status;
+
+    public static AppointmentChangedEvent of(Appointment appointment, Appointment.AppointmentStatus previousStatus) {
+        return new AppointmentChangedEvent(appointment.getId(), appointment.getDoctor().getId(),
+                appointment.getPatient().getId(), appointment.getAppointmentDate(),
+                appointment.getAppointmentTime(), previousStatus, appointment.getStatus());
+    }
+
+    public boolean isCreated() {
+        return previousStatus == null;
+    }
+}
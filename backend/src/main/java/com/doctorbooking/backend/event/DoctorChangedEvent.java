@@ -0,0 +1,30 @@
+package com.doctorbooking.backend.event;
+
+import com.doctorbooking.backend.dto.response.DoctorResponse;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by DoctorService whenever a doctor row is created, updated or deleted.
+ * In-memory views of the doctor directory listen for it after the transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class DoctorChangedEvent {
+
+    private final Long doctorId;
+    private final ChangeType type;
+    private final DoctorResponse doctor; // null when type == DELETED
+
+    public static DoctorChangedEvent saved(DoctorResponse doctor, boolean created) {
+        return new DoctorChangedEvent(doctor.getId(), created ? ChangeType.CREATED : ChangeType.UPDATED, doctor);
+    }
+
+    public static DoctorChangedEvent deleted(Long doctorId) {
+        return new DoctorChangedEvent(doctorId, ChangeType.DELETED, null);
+    }
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,32 @@
+package com.doctorbooking.backend.event;
+
+import com.doctorbooking.backend.model.Feedback;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by FeedbackService when feedback is submitted or its status changes.
+ */
+@Getter
+@AllArgsConstructor
+public class FeedbackChangedEvent {
+
+    private final Long feedbackId;
+    private final Long patientId;
+    private final Long appointmentId; // null for feedback not tied to an appointment
+    private final Long doctorId;      // doctor of that appointment
+    private final Integer rating;
+    private final Feedback.FeedbackStatus previousStatus; // null when the feedback was just created
+    private final Feedback.FeedbackStatus status;
+
+    public static FeedbackChangedEvent of(Feedback feedback, Feedback.FeedbackStatus previousStatus) {
+        return new FeedbackChangedEvent(feedback.getId(), feedback.getPatient().getId(),
+                feedback.getAppointment() != null ? feedback.getAppointment().getId() : null,
+                feedback.getAppointment() != null ? feedback.getAppointment().getDoctor().getId() : null,
+                feedback.getRating(), previousStatus, feedback.getStatus());
+    }
+
+    public boolean isCreated() {
+        return previousStatus == null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.doctorbooking.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by AuthService when a new patient account is registered.
+ */
+@Getter
+@AllArgsConstructor
+public class PatientRegisteredEvent {
+
+    private final Long patientId;
+}
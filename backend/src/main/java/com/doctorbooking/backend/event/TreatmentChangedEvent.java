@@ -0,0 +1,27 @@
+package com.doctorbooking.backend.event;
+
+import com.doctorbooking.backend.model.Treatment;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by TreatmentService whenever a treatment is created, updated or deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class TreatmentChangedEvent {
+
+    private final Long treatmentId;
+    private final Long doctorId;
+    private final Long patientId;
+    private final ChangeType type;
+
+    public static TreatmentChangedEvent of(Treatment treatment, ChangeType type) {
+        return new TreatmentChangedEvent(treatment.getId(), treatment.getDoctor().getId(),
+                treatment.getPatient().getId(), type);
+    }
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+}
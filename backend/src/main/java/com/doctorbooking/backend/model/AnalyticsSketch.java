@@ -0,0 +1,49 @@
+package com.doctorbooking.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A persisted probabilistic sketch for one scope and month: a HyperLogLog of patient ids per
+ * doctor, or the diagnosis heavy hitters per specialization. Nodes merge their local sketches
+ * into the row under a row lock; data is the deflated serialized sketch.
+ */
+@Entity
+@Table(name = "analytics_sketches",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"kind", "scope_key", "period"}),
+        indexes = @Index(name = "idx_sketches_kind_period", columnList = "kind, period"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsSketch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Kind kind;
+
+    // Doctor id for UNIQUE_PATIENTS, folded specialization for DIAGNOSES
+    @Column(name = "scope_key", nullable = false, length = 100)
+    private String scopeKey;
+
+    // yyyy-MM
+    @Column(nullable = false, length = 7)
+    private String period;
+
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private byte[] data;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Kind {
+        UNIQUE_PATIENTS, DIAGNOSES
+    }
+}
@@ -13,7 +13,12 @@ import java.time.LocalTime;
 @Table(name = "appointments",
         uniqueConstraints = @UniqueConstraint(
                 columnNames = {"doctor_id", "appointment_date", "appointment_time"}
-        ))
+        ),
+        indexes = {
+                @Index(name = "idx_appointments_date_status", columnList = "appointment_date, status"),
+                @Index(name = "idx_appointments_patient_date", columnList = "patient_id, appointment_date"),
+                @Index(name = "idx_appointments_updated", columnList = "updated_at, id")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,60 @@
+package com.doctorbooking.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Delivery record of one reminder for one appointment on one channel. The unique key is what
+ * makes the reminder job safe to rerun: a reminder is claimed by inserting this row, so two runs
+ * (or two nodes) never send the same reminder twice.
+ */
+@Entity
+@Table(name = "appointment_reminders",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"appointment_id", "channel"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentReminder {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "appointment_id", nullable = false)
+    private Long appointmentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Channel channel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status = Status.PENDING;
+
+    @Column(length = 100)
+    private String recipient;
+
+    @Column(nullable = false)
+    private Integer attempts = 1;
+
+    @Column(name = "claimed_at", nullable = false)
+    private LocalDateTime claimedAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    public enum Channel {
+        EMAIL, SMS
+    }
+
+    public enum Status {
+        PENDING, SENT, FAILED
+    }
+}
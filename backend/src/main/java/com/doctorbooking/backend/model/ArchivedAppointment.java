@@ -0,0 +1,61 @@
+package com.doctorbooking.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A closed appointment moved out of {@code appointments} by AppointmentArchiveService. Rows keep
+ * their original id and timestamps and are never updated; they are only written by the archive
+ * job's INSERT ... SELECT, hence no id generation and no lifecycle callbacks.
+ */
+@Entity
+@Table(name = "appointments_archive",
+        indexes = {
+                @Index(name = "idx_appointments_archive_patient_date", columnList = "patient_id, appointment_date"),
+                @Index(name = "idx_appointments_archive_doctor_date", columnList = "doctor_id, appointment_date"),
+                @Index(name = "idx_appointments_archive_date", columnList = "appointment_date")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedAppointment {
+
+    @Id
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "patient_id", nullable = false)
+    private Patient patient;
+
+    @ManyToOne
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor;
+
+    @Column(name = "appointment_date", nullable = false)
+    private LocalDate appointmentDate;
+
+    @Column(name = "appointment_time", nullable = false)
+    private LocalTime appointmentTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Appointment.AppointmentStatus status;
+
+    @Column(columnDefinition = "TEXT")
+    private String notes;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
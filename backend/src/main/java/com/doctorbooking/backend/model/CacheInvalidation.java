@@ -0,0 +1,40 @@
+package com.doctorbooking.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One batched cache-invalidation message: every id of one type touched by a transaction.
+ * Other nodes poll these rows past their high-water mark and drop the matching cache entries.
+ * Rows are only written by CacheInvalidationRepository.insert and never updated.
+ */
+@Entity
+@Table(name = "cache_invalidations", indexes = @Index(name = "idx_cache_invalidations_created", columnList = "created_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 40)
+    private String type;
+
+    // Comma-separated entity ids
+    @Column(name = "entity_ids", columnDefinition = "TEXT", nullable = false)
+    private String entityIds;
+
+    // NodeId of the writer, which already updated its own caches
+    @Column(nullable = false, length = 100)
+    private String origin;
+
+    // Database time (NOW(3)), set by CacheInvalidationRepository.insert
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
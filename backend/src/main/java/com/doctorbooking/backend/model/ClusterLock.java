@@ -0,0 +1,40 @@
+package com.doctorbooking.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Named lease used to elect one node to run a cluster-wide job. The token grows by one on every
+ * change of ownership, so work stamped with an older token can be recognized as stale.
+ */
+@Entity
+@Table(name = "cluster_locks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClusterLock {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(length = 100)
+    private String owner; // NodeId of the holder, null when released
+
+    @Column(nullable = false)
+    private Long token;
+
+    // Database time; the holder must renew before this or lose the lock
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "acquired_at")
+    private LocalDateTime acquiredAt;
+
+    @Column(name = "renewed_at")
+    private LocalDateTime renewedAt;
+}
@@ -0,0 +1,77 @@
+package com.doctorbooking.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One doctor's utilization for one month, as computed by the utilization report. Rows are
+ * snapshots: doctor name and specialization are copied at generation time and there is no
+ * foreign key, so reports outlive the doctors they describe.
+ * <p>
+ * Rates: utilization = booked / available slots, cancellation = cancelled / all appointments,
+ * completion = completed / booked, follow-up = completed with a follow-up date / completed.
+ * Booked means not cancelled.
+ */
+@Entity
+@Table(name = "doctor_utilization",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"report_month", "doctor_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DoctorUtilization {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // First day of the month
+    @Column(name = "report_month", nullable = false)
+    private LocalDate reportMonth;
+
+    @Column(name = "doctor_id", nullable = false)
+    private Long doctorId;
+
+    @Column(name = "doctor_name", length = 100)
+    private String doctorName;
+
+    @Column(length = 100)
+    private String specialization;
+
+    @Column(name = "available_slots", nullable = false)
+    private int availableSlots;
+
+    @Column(nullable = false)
+    private int appointments;
+
+    @Column(nullable = false)
+    private int booked;
+
+    @Column(nullable = false)
+    private int completed;
+
+    @Column(nullable = false)
+    private int cancelled;
+
+    @Column(name = "follow_ups", nullable = false)
+    private int followUps;
+
+    @Column(nullable = false)
+    private double utilization;
+
+    @Column(name = "cancellation_rate", nullable = false)
+    private double cancellationRate;
+
+    @Column(name = "completion_rate", nullable = false)
+    private double completionRate;
+
+    @Column(name = "follow_up_rate", nullable = false)
+    private double followUpRate;
+
+    @Column(name = "generated_at", nullable = false)
+    private LocalDateTime generatedAt;
+}
@@ -1,15 +1,24 @@
 package com.doctorbooking.backend.model;
 
+import com.doctorbooking.backend.util.TextNormalizer;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
-@Table(name = "patients")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "patients", indexes = @Index(name = "idx_patients_phone_normalized", columnList = "phone_normalized"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -44,6 +53,19 @@ public class Patient {
     @Column(name = "emergency_phone", length = 20)
     private String emergencyPhone;
 
+    // Lookup keys, kept in sync by setFullName/setPhone
+    @Column(name = "phone_normalized", length = 20)
+    private String phoneNormalized;
+
+    @ElementCollection
+    @CollectionTable(name = "patient_name_keys",
+            joinColumns = @JoinColumn(name = "patient_id"),
+            indexes = @Index(name = "idx_patient_name_keys_key", columnList = "name_key"))
+    @Column(name = "name_key", length = 100)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Set<String> nameKeys = new HashSet<>();
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
@@ -61,6 +83,18 @@ public class Patient {
         updatedAt = LocalDateTime.now();
     }
 
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+        // Mutate in place so Hibernate tracks the managed collection
+        nameKeys.clear();
+        nameKeys.addAll(TextNormalizer.wordSuffixes(fullName));
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+        this.phoneNormalized = TextNormalizer.normalizePhone(phone);
+    }
+
     public enum Gender {
         MALE, FEMALE, OTHER
     }
@@ -0,0 +1,59 @@
+package com.doctorbooking.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Record of a hard delete, kept so delta-sync clients learn about rows that no longer exist.
+ * Written in the same transaction as the delete and purged after the sync retention period.
+ */
+@Entity
+@Table(name = "tombstones", indexes = @Index(name = "idx_tombstones_type_id", columnList = "entity_type, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Tombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    // Owners of the deleted row, so scoped feeds only see their own deletes
+    @Column(name = "doctor_id")
+    private Long doctorId;
+
+    @Column(name = "patient_id")
+    private Long patientId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public static Tombstone of(EntityType entityType, Long entityId, Long doctorId, Long patientId) {
+        Tombstone tombstone = new Tombstone();
+        tombstone.setEntityType(entityType);
+        tombstone.setEntityId(entityId);
+        tombstone.setDoctorId(doctorId);
+        tombstone.setPatientId(patientId);
+        return tombstone;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        deletedAt = LocalDateTime.now();
+    }
+
+    public enum EntityType {
+        APPOINTMENT, TREATMENT, FEEDBACK, DOCTOR
+    }
+}
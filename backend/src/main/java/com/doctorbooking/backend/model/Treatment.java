@@ -9,7 +9,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "treatments")
+@Table(name = "treatments", indexes = {
+        @Index(name = "idx_treatments_doctor_created", columnList = "doctor_id, created_at"),
+        @Index(name = "idx_treatments_updated", columnList = "updated_at, id"),
+        @Index(name = "idx_treatments_created", columnList = "created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,46 @@
+package com.doctorbooking.backend.repository;
+
+import com.doctorbooking.backend.model.AnalyticsSketch;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AnalyticsSketchRepository extends JpaRepository<AnalyticsSketch, Long> {
+
+    // Makes sure the row exists before it is locked, so concurrent first flushes do not collide on insert
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "analytics_sketches"))
+    @Query(value = "INSERT IGNORE INTO analytics_sketches (kind, scope_key, period, updated_at) " +
+                   "VALUES (:kind, :scopeKey, :period, NOW(3))",
+           nativeQuery = true)
+    int createIfAbsent(@Param("kind") String kind, @Param("scopeKey") String scopeKey, @Param("period") String period);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AnalyticsSketch s WHERE s.kind = :kind AND s.scopeKey = :scopeKey AND s.period = :period")
+    Optional<AnalyticsSketch> lock(@Param("kind") AnalyticsSketch.Kind kind, @Param("scopeKey") String scopeKey,
+                                   @Param("period") String period);
+
+    // Periods are yyyy-MM, so string order is month order
+    @Query("SELECT s FROM AnalyticsSketch s WHERE s.kind = :kind AND s.period BETWEEN :from AND :to " +
+           "AND (:scopeKey IS NULL OR s.scopeKey = :scopeKey) ORDER BY s.scopeKey, s.period")
+    List<AnalyticsSketch> findInRange(@Param("kind") AnalyticsSketch.Kind kind, @Param("scopeKey") String scopeKey,
+                                      @Param("from") String from, @Param("to") String to);
+
+    @Modifying
+    @Query("DELETE FROM AnalyticsSketch s WHERE s.kind = :kind AND s.period BETWEEN :from AND :to " +
+           "AND s.id NOT IN :keepIds")
+    int deleteInRangeExcept(@Param("kind") AnalyticsSketch.Kind kind, @Param("from") String from,
+                            @Param("to") String to, @Param("keepIds") Collection<Long> keepIds);
+}
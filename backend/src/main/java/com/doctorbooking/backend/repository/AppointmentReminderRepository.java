@@ -0,0 +1,32 @@
+package com.doctorbooking.backend.repository;
+
+import com.doctorbooking.backend.model.AppointmentReminder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AppointmentReminderRepository extends JpaRepository<AppointmentReminder, Long> {
+
+    List<AppointmentReminder> findByAppointmentIdIn(Collection<Long> appointmentIds);
+
+    // Re-claims a reminder that failed, or whose sender died mid-flight; returns 0 if someone else holds it
+    @Modifying
+    @Query("UPDATE AppointmentReminder r SET r.status = 'PENDING', r.attempts = r.attempts + 1, r.claimedAt = :now " +
+           "WHERE r.id = :id AND (r.status = 'FAILED' OR (r.status = 'PENDING' AND r.claimedAt < :staleBefore))")
+    int reclaim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Query("UPDATE AppointmentReminder r SET r.status = 'SENT', r.sentAt = :now, r.lastError = NULL WHERE r.id = :id")
+    int markSent(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE AppointmentReminder r SET r.status = 'FAILED', r.lastError = :error WHERE r.id = :id")
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+}
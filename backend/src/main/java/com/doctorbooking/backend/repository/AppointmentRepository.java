@@ -1,18 +1,34 @@
 package com.doctorbooking.backend.repository;
 
+import com.doctorbooking.backend.dto.response.AppointmentExportRow;
+import com.doctorbooking.backend.dto.response.AppointmentFactRow;
 import com.doctorbooking.backend.model.Appointment;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, AppointmentRepositoryCustom {
+
+    // Integer.MIN_VALUE makes MySQL Connector/J stream rows one at a time instead of buffering the result
+    String STREAMING_FETCH_SIZE = "-2147483648";
+
     // Use JOIN FETCH to eagerly load patient and doctor
     @Query("SELECT DISTINCT a FROM Appointment a JOIN FETCH a.patient JOIN FETCH a.doctor WHERE a.patient.id = :patientId")
     List<Appointment> findByPatientId(@Param("patientId") Long patientId);
@@ -25,6 +41,11 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     
     @Query("SELECT DISTINCT a FROM Appointment a JOIN FETCH a.patient JOIN FETCH a.doctor WHERE a.id = :id")
     Optional<Appointment> findByIdWithRelations(@Param("id") Long id);
+
+    // Serializes feedback submissions for one appointment until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Appointment a WHERE a.id = :id")
+    Optional<Appointment> lockById(@Param("id") Long id);
     
     @Query("SELECT a FROM Appointment a JOIN FETCH a.patient JOIN FETCH a.doctor WHERE a.appointmentDate = :date")
     List<Appointment> findByAppointmentDate(@Param("date") LocalDate date);
@@ -44,5 +65,118 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     
     @Query("SELECT a FROM Appointment a JOIN FETCH a.patient JOIN FETCH a.doctor WHERE a.patient.id = :patientId ORDER BY a.appointmentDate DESC, a.appointmentTime DESC")
     List<Appointment> findByPatientIdOrderByDateDesc(@Param("patientId") Long patientId);
-}
 
+    // Range scan on idx_appointments_patient_date
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.patient JOIN FETCH a.doctor WHERE a.patient.id = :patientId " +
+           "AND a.appointmentDate >= :from ORDER BY a.appointmentDate DESC, a.appointmentTime DESC")
+    List<Appointment> findByPatientIdFrom(@Param("patientId") Long patientId, @Param("from") LocalDate from);
+
+    // Booking popularity per doctor: [doctorId, count]
+    @Query("SELECT a.doctor.id, COUNT(a) FROM Appointment a WHERE a.status <> 'CANCELLED' GROUP BY a.doctor.id")
+    List<Object[]> countBookingsByDoctor();
+
+    // Status breakdown for one day: [status, count]; covered by idx_appointments_date_status
+    @Query("SELECT a.status, COUNT(a) FROM Appointment a WHERE a.appointmentDate = :date GROUP BY a.status")
+    List<Object[]> countByStatusOnDate(@Param("date") LocalDate date);
+
+    // Doctor agenda queries; all are range scans on the (doctor_id, appointment_date, appointment_time) key
+
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.patient JOIN FETCH a.doctor WHERE a.doctor.id = :doctorId AND " +
+           "a.appointmentDate >= :from AND a.status = :status ORDER BY a.appointmentDate, a.appointmentTime")
+    List<Appointment> findByDoctorAndStatusFrom(@Param("doctorId") Long doctorId,
+                                               @Param("status") Appointment.AppointmentStatus status,
+                                               @Param("from") LocalDate from,
+                                               Pageable pageable);
+
+    // [status, count] for a doctor's appointments on or after a date
+    @Query("SELECT a.status, COUNT(a) FROM Appointment a WHERE a.doctor.id = :doctorId AND a.appointmentDate >= :from " +
+           "GROUP BY a.status")
+    List<Object[]> countByDoctorAndStatusFrom(@Param("doctorId") Long doctorId, @Param("from") LocalDate from);
+
+    // Keyset chunk of one day's appointments in a status, in id order; seeks idx_appointments_date_status,
+    // whose entries already carry the primary key, so each chunk starts where the last one ended
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.patient p JOIN FETCH p.user JOIN FETCH a.doctor " +
+           "WHERE a.appointmentDate = :date AND a.status = :status AND a.id > :afterId ORDER BY a.id")
+    List<Appointment> findChunkOnDate(@Param("date") LocalDate date,
+                                      @Param("status") Appointment.AppointmentStatus status,
+                                      @Param("afterId") Long afterId,
+                                      Pageable pageable);
+
+    // Archival queries (see AppointmentArchiveService)
+
+    @Query("SELECT MIN(a.appointmentDate) FROM Appointment a WHERE a.appointmentDate < :before AND a.status IN :statuses")
+    Optional<LocalDate> findEarliestDate(@Param("before") LocalDate before,
+                                         @Param("statuses") Collection<Appointment.AppointmentStatus> statuses);
+
+    // [id, patientId] keyset chunk of one day's appointments in a status that no treatment or feedback
+    // references; seeks idx_appointments_date_status like findChunkOnDate
+    @Query("SELECT a.id, a.patient.id FROM Appointment a WHERE a.appointmentDate = :date AND a.status = :status " +
+           "AND a.id > :afterId AND NOT EXISTS (SELECT 1 FROM Treatment t WHERE t.appointment = a) " +
+           "AND NOT EXISTS (SELECT 1 FROM Feedback f WHERE f.appointment = a) ORDER BY a.id")
+    List<Object[]> findArchivableOnDate(@Param("date") LocalDate date,
+                                        @Param("status") Appointment.AppointmentStatus status,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Appointment a WHERE a.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Export rows in date order, streamed; the caller must hold a (read-only) transaction and close the stream
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.doctorbooking.backend.dto.response.AppointmentExportRow(a.id, a.appointmentDate, " +
+           "a.appointmentTime, a.status, d.id, d.fullName, d.specialization, p.id, p.fullName, a.notes, " +
+           "a.createdAt, a.updatedAt) FROM Appointment a JOIN a.doctor d JOIN a.patient p " +
+           "WHERE (:from IS NULL OR a.appointmentDate >= :from) AND (:to IS NULL OR a.appointmentDate <= :to) " +
+           "AND (:doctorId IS NULL OR d.id = :doctorId) ORDER BY a.appointmentDate, a.appointmentTime, a.id")
+    Stream<AppointmentExportRow> streamForExport(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                 @Param("doctorId") Long doctorId);
+
+    // Analytics snapshot queries; months are returned as [year, month]
+
+    // Range scan on idx_appointments_updated
+    @Query("SELECT DISTINCT YEAR(a.appointmentDate), MONTH(a.appointmentDate) FROM Appointment a " +
+           "WHERE a.updatedAt >= :since")
+    List<Object[]> findMonthsUpdatedSince(@Param("since") LocalDateTime since);
+
+    // Months holding appointments of doctors whose profile (specialization) changed
+    @Query("SELECT DISTINCT YEAR(a.appointmentDate), MONTH(a.appointmentDate) FROM Appointment a JOIN a.doctor d " +
+           "WHERE d.updatedAt >= :since")
+    List<Object[]> findMonthsOfDoctorsUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT DISTINCT YEAR(a.appointmentDate), MONTH(a.appointmentDate) FROM Appointment a " +
+           "WHERE a.doctor.id = :doctorId AND a.patient.id = :patientId")
+    List<Object[]> findMonthsOfDoctorAndPatient(@Param("doctorId") Long doctorId, @Param("patientId") Long patientId);
+
+    // [year, month, count]; reads only idx_appointments_date_status
+    @Query("SELECT YEAR(a.appointmentDate), MONTH(a.appointmentDate), COUNT(a) FROM Appointment a " +
+           "GROUP BY YEAR(a.appointmentDate), MONTH(a.appointmentDate)")
+    List<Object[]> countByMonth();
+
+    // Snapshot rows for appointments in [from, to), one per treatment; streamed like streamForExport
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.doctorbooking.backend.dto.response.AppointmentFactRow(a.id, a.appointmentDate, " +
+           "a.appointmentTime, a.status, d.id, d.specialization, a.patient.id, a.createdAt, a.updatedAt, t.id, " +
+           "t.followUpDate, t.createdAt) FROM Appointment a JOIN a.doctor d LEFT JOIN Treatment t ON t.appointment = a " +
+           "WHERE a.appointmentDate >= :from AND a.appointmentDate < :to " +
+           "ORDER BY a.appointmentDate, a.appointmentTime, a.id, t.id")
+    Stream<AppointmentFactRow> streamFacts(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // [status, has follow-up] for one doctor's appointments in [from, to), streamed; a range scan on the
+    // (doctor_id, appointment_date, appointment_time) key
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.status, CASE WHEN EXISTS (SELECT 1 FROM Treatment t WHERE t.appointment = a " +
+           "AND t.followUpDate IS NOT NULL) THEN true ELSE false END FROM Appointment a " +
+           "WHERE a.doctor.id = :doctorId AND a.appointmentDate >= :from AND a.appointmentDate < :to")
+    Stream<Object[]> streamUtilization(@Param("doctorId") Long doctorId, @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to);
+}
@@ -0,0 +1,12 @@
+package com.doctorbooking.backend.repository;
+
+import com.doctorbooking.backend.dto.response.AppointmentResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+public interface AppointmentRepositoryCustom {
+    // Selects only the requested AppointmentResponse fields (null = all); date is optional
+    List<AppointmentResponse> findSparse(Set<String> fields, LocalDate date);
+}
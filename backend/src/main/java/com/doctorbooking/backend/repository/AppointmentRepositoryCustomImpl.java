@@ -0,0 +1,47 @@
+package com.doctorbooking.backend.repository;
+
+import com.doctorbooking.backend.dto.response.AppointmentResponse;
+import com.doctorbooking.backend.model.Appointment;
+import com.doctorbooking.backend.model.Doctor;
+import com.doctorbooking.backend.model.Patient;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+public class AppointmentRepositoryCustomImpl implements AppointmentRepositoryCustom {
+
+    static final SparseProjection<Appointment, AppointmentResponse> PROJECTION =
+            new SparseProjection<>(Appointment.class, AppointmentResponse::new)
+                    .<Long>column("id", a -> a.get("id"), AppointmentResponse::setId)
+                    .<Long>column("patientId", a -> a.<Patient>get("patient").get("id"), AppointmentResponse::setPatientId)
+                    .<String>column("patientName", a -> a.<Patient>get("patient").get("fullName"), AppointmentResponse::setPatientName)
+                    .<String>column("patientPhone", a -> a.<Patient>get("patient").get("phone"), AppointmentResponse::setPatientPhone)
+                    .<Long>column("doctorId", a -> a.<Doctor>get("doctor").get("id"), AppointmentResponse::setDoctorId)
+                    .<String>column("doctorName", a -> a.<Doctor>get("doctor").get("fullName"), AppointmentResponse::setDoctorName)
+                    .<String>column("doctorSpecialization", a -> a.<Doctor>get("doctor").get("specialization"),
+                            AppointmentResponse::setDoctorSpecialization)
+                    .<LocalDate>column("appointmentDate", a -> a.get("appointmentDate"), AppointmentResponse::setAppointmentDate)
+                    .<LocalTime>column("appointmentTime", a -> a.get("appointmentTime"), AppointmentResponse::setAppointmentTime)
+                    .<Appointment.AppointmentStatus>column("status", a -> a.get("status"),
+                            (dto, status) -> dto.setStatus(status.name()))
+                    .<String>column("notes", a -> a.get("notes"), AppointmentResponse::setNotes)
+                    .<LocalDateTime>column("createdAt", a -> a.get("createdAt"), AppointmentResponse::setCreatedAt)
+                    .<LocalDateTime>column("updatedAt", a -> a.get("updatedAt"), AppointmentResponse::setUpdatedAt);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AppointmentResponse> findSparse(Set<String> fields, LocalDate date) {
+        Specification<Appointment> where = date == null ? null
+                : (root, query, cb) -> cb.equal(root.get("appointmentDate"), date);
+        return PROJECTION.list(entityManager, fields, where, Sort.by("id"));
+    }
+}
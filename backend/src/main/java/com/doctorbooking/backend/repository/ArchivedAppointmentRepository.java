@@ -0,0 +1,90 @@
+package com.doctorbooking.backend.repository;
+
+import com.doctorbooking.backend.dto.response.AppointmentExportRow;
+import com.doctorbooking.backend.dto.response.AppointmentFactRow;
+import com.doctorbooking.backend.model.ArchivedAppointment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.doctorbooking.backend.repository.AppointmentRepository.STREAMING_FETCH_SIZE;
+
+// Queries mirror their AppointmentRepository counterparts so callers can combine both tables
+@Repository
+public interface ArchivedAppointmentRepository extends JpaRepository<ArchivedAppointment, Long> {
+
+    // Copies appointments into the archive; the caller deletes them from appointments in the same transaction
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "appointments_archive"))
+    @Query(value = "INSERT INTO appointments_archive (id, patient_id, doctor_id, appointment_date, appointment_time, " +
+                   "status, notes, created_at, updated_at, archived_at) " +
+                   "SELECT id, patient_id, doctor_id, appointment_date, appointment_time, status, notes, created_at, " +
+                   "updated_at, :archivedAt FROM appointments WHERE id IN (:ids)",
+           nativeQuery = true)
+    int copyFromAppointments(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    // Latest archived date, read from the end of idx_appointments_archive_date
+    @Query("SELECT MAX(a.appointmentDate) FROM ArchivedAppointment a")
+    Optional<LocalDate> findLatestDate();
+
+    @Query("SELECT a FROM ArchivedAppointment a JOIN FETCH a.patient JOIN FETCH a.doctor WHERE a.id = :id")
+    Optional<ArchivedAppointment> findByIdWithRelations(@Param("id") Long id);
+
+    // Range scan on idx_appointments_archive_patient_date
+    @Query("SELECT a FROM ArchivedAppointment a JOIN FETCH a.patient JOIN FETCH a.doctor WHERE a.patient.id = :patientId " +
+           "AND a.appointmentDate >= :from ORDER BY a.appointmentDate DESC, a.appointmentTime DESC")
+    List<ArchivedAppointment> findByPatientIdFrom(@Param("patientId") Long patientId, @Param("from") LocalDate from);
+
+    @Query("SELECT a.doctor.id, COUNT(a) FROM ArchivedAppointment a WHERE a.status <> 'CANCELLED' GROUP BY a.doctor.id")
+    List<Object[]> countBookingsByDoctor();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.doctorbooking.backend.dto.response.AppointmentExportRow(a.id, a.appointmentDate, " +
+           "a.appointmentTime, a.status, d.id, d.fullName, d.specialization, p.id, p.fullName, a.notes, " +
+           "a.createdAt, a.updatedAt) FROM ArchivedAppointment a JOIN a.doctor d JOIN a.patient p " +
+           "WHERE (:from IS NULL OR a.appointmentDate >= :from) AND (:to IS NULL OR a.appointmentDate <= :to) " +
+           "AND (:doctorId IS NULL OR d.id = :doctorId) ORDER BY a.appointmentDate, a.appointmentTime, a.id")
+    Stream<AppointmentExportRow> streamForExport(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                 @Param("doctorId") Long doctorId);
+
+    // [year, month, count]
+    @Query("SELECT YEAR(a.appointmentDate), MONTH(a.appointmentDate), COUNT(a) FROM ArchivedAppointment a " +
+           "GROUP BY YEAR(a.appointmentDate), MONTH(a.appointmentDate)")
+    List<Object[]> countByMonth();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.doctorbooking.backend.dto.response.AppointmentFactRow(a.id, a.appointmentDate, " +
+           "a.appointmentTime, a.status, d.id, d.specialization, a.patient.id, a.createdAt, a.updatedAt) " +
+           "FROM ArchivedAppointment a JOIN a.doctor d " +
+           "WHERE a.appointmentDate >= :from AND a.appointmentDate < :to " +
+           "ORDER BY a.appointmentDate, a.appointmentTime, a.id")
+    Stream<AppointmentFactRow> streamFacts(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // [status, has follow-up]; archived appointments never have treatments
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a.status, false FROM ArchivedAppointment a " +
+           "WHERE a.doctor.id = :doctorId AND a.appointmentDate >= :from AND a.appointmentDate < :to")
+    Stream<Object[]> streamUtilization(@Param("doctorId") Long doctorId, @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to);
+}
@@ -0,0 +1,68 @@
+package com.doctorbooking.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset query over an entity's {@code (updatedAt, id)} for delta sync: rows strictly after a
+ * position and strictly before an upper bound, oldest first. Associations listed in
+ * {@code fetches} are join-fetched so the DTO mapping does not issue one query per row.
+ */
+public final class ChangeFeedQuery<E> {
+
+    private static final String UPDATED_AT = "updatedAt";
+    private static final String ID = "id";
+
+    private final Class<E> entityType;
+    private final List<String> fetches = new ArrayList<>();
+    private final List<String> optionalFetches = new ArrayList<>();
+
+    public ChangeFeedQuery(Class<E> entityType) {
+        this.entityType = entityType;
+    }
+
+    public ChangeFeedQuery<E> fetch(String association) {
+        fetches.add(association);
+        return this;
+    }
+
+    public ChangeFeedQuery<E> fetchOptional(String association) {
+        optionalFetches.add(association);
+        return this;
+    }
+
+    public List<E> after(EntityManager entityManager, Specification<E> scope,
+                         LocalDateTime updatedAt, long id, LocalDateTime before, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<E> query = cb.createQuery(entityType);
+        Root<E> root = query.from(entityType);
+        fetches.forEach(association -> root.fetch(association, JoinType.INNER));
+        optionalFetches.forEach(association -> root.fetch(association, JoinType.LEFT));
+
+        Path<LocalDateTime> updated = root.get(UPDATED_AT);
+        Path<Long> rowId = root.get(ID);
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.or(
+                cb.greaterThan(updated, updatedAt),
+                cb.and(cb.equal(updated, updatedAt), cb.greaterThan(rowId, id))));
+        where.add(cb.lessThan(updated, before));
+        if (scope != null) {
+            Predicate scoped = scope.toPredicate(root, query, cb);
+            if (scoped != null) {
+                where.add(scoped);
+            }
+        }
+        query.select(root)
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.asc(updated), cb.asc(rowId));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
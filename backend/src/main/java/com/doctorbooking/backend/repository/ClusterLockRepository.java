@@ -0,0 +1,63 @@
+package com.doctorbooking.backend.repository;
+
+import com.doctorbooking.backend.model.ClusterLock;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+// Leases are compared against the database clock (NOW(3)), so clock skew between nodes does not matter.
+// The updates name their query space: a native statement without one evicts every second-level cache region.
+@Repository
+public interface ClusterLockRepository extends JpaRepository<ClusterLock, String> {
+
+    String CLUSTER_LOCKS = "cluster_locks";
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CLUSTER_LOCKS))
+    @Query(value = "INSERT IGNORE INTO cluster_locks (name, token, lease_until) VALUES (:name, 0, '1970-01-01 00:00:00')",
+           nativeQuery = true)
+    int createIfAbsent(@Param("name") String name);
+
+    // Takes the lock if it is free, expired, or already ours; either way ownership gets a new token
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CLUSTER_LOCKS))
+    @Query(value = "UPDATE cluster_locks SET owner = :owner, token = token + 1, " +
+                   "lease_until = DATE_ADD(NOW(3), INTERVAL :leaseMicros MICROSECOND), " +
+                   "acquired_at = NOW(3), renewed_at = NOW(3) " +
+                   "WHERE name = :name AND (owner IS NULL OR owner = :owner OR lease_until < NOW(3))",
+           nativeQuery = true)
+    int acquire(@Param("name") String name, @Param("owner") String owner, @Param("leaseMicros") long leaseMicros);
+
+    // Extends a lease that is still live; fails once it lapsed, even if nobody has taken it yet
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CLUSTER_LOCKS))
+    @Query(value = "UPDATE cluster_locks SET lease_until = DATE_ADD(NOW(3), INTERVAL :leaseMicros MICROSECOND), " +
+                   "renewed_at = NOW(3) " +
+                   "WHERE name = :name AND owner = :owner AND token = :token AND lease_until >= NOW(3)",
+           nativeQuery = true)
+    int renew(@Param("name") String name, @Param("owner") String owner, @Param("token") long token,
+              @Param("leaseMicros") long leaseMicros);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = CLUSTER_LOCKS))
+    @Query(value = "UPDATE cluster_locks SET owner = NULL, lease_until = NOW(3) " +
+                   "WHERE name = :name AND owner = :owner AND token = :token",
+           nativeQuery = true)
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("token") long token);
+
+    @Query(value = "SELECT token FROM cluster_locks WHERE name = :name AND owner = :owner", nativeQuery = true)
+    Optional<Long> findToken(@Param("name") String name, @Param("owner") String owner);
+
+    // Row lock held to the end of the caller's transaction; acquire on another node waits for it
+    @Query(value = "SELECT COUNT(*) FROM cluster_locks " +
+                   "WHERE name = :name AND owner = :owner AND token = :token AND lease_until >= NOW(3) FOR UPDATE",
+           nativeQuery = true)
+    long lockIfHeld(@Param("name") String name, @Param("owner") String owner, @Param("token") long token);
+}
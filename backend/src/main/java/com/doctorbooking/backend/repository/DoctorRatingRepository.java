@@ -0,0 +1,41 @@
+package com.doctorbooking.backend.repository;
+
+import com.doctorbooking.backend.model.DoctorRating;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DoctorRatingRepository extends JpaRepository<DoctorRating, Long> {
+
+    // Adds one rating in a single statement; concurrent submissions for a doctor serialize on its row
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "doctor_ratings"))
+    @Query(value = "INSERT INTO doctor_ratings (doctor_id, rating_count, rating_sum, stars1, stars2, stars3, stars4, " +
+                   "stars5, updated_at) VALUES (:doctorId, 1, :rating, :rating = 1, :rating = 2, :rating = 3, " +
+                   ":rating = 4, :rating = 5, NOW(3)) ON DUPLICATE KEY UPDATE rating_count = rating_count + 1, " +
+                   "rating_sum = rating_sum + :rating, stars1 = stars1 + (:rating = 1), stars2 = stars2 + (:rating = 2), " +
+                   "stars3 = stars3 + (:rating = 3), stars4 = stars4 + (:rating = 4), stars5 = stars5 + (:rating = 5), " +
+                   "updated_at = NOW(3)",
+           nativeQuery = true)
+    int record(@Param("doctorId") Long doctorId, @Param("rating") int rating);
+
+    // Recomputes every row from the feedback table; run after deleteAllInBatch in the same transaction.
+    // Only the first rating a patient left on their own appointment counts, as in FeedbackService.createFeedback
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "doctor_ratings"))
+    @Query(value = "INSERT INTO doctor_ratings (doctor_id, rating_count, rating_sum, stars1, stars2, stars3, stars4, " +
+                   "stars5, updated_at) SELECT a.doctor_id, COUNT(*), SUM(f.rating), SUM(f.rating = 1), " +
+                   "SUM(f.rating = 2), SUM(f.rating = 3), SUM(f.rating = 4), SUM(f.rating = 5), NOW(3) " +
+                   "FROM (SELECT MIN(id) AS id FROM feedbacks WHERE appointment_id IS NOT NULL " +
+                   "AND rating BETWEEN 1 AND 5 GROUP BY appointment_id, patient_id) rated " +
+                   "JOIN feedbacks f ON f.id = rated.id JOIN appointments a ON a.id = f.appointment_id " +
+                   "WHERE f.patient_id = a.patient_id GROUP BY a.doctor_id",
+           nativeQuery = true)
+    int rebuildFromFeedback();
+}
@@ -1,9 +1,11 @@
 package com.doctorbooking.backend.repository;
 
 import com.doctorbooking.backend.model.Doctor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,12 +13,12 @@ import java.util.Optional;
 
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Doctor> findByUserId(Long userId);
     List<Doctor> findByStatus(Doctor.DoctorStatus status);
-    
-    @Query("SELECT d FROM Doctor d WHERE " +
-           "LOWER(d.fullName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "LOWER(d.specialization) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<Doctor> searchDoctors(@Param("keyword") String keyword);
+
+    // Used to (re)build the in-memory search index in one query
+    @Query("SELECT d FROM Doctor d JOIN FETCH d.user")
+    List<Doctor> findAllWithUser();
 }
 
@@ -0,0 +1,28 @@
+package com.doctorbooking.backend.repository;
+
+import com.doctorbooking.backend.model.DoctorUtilization;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DoctorUtilizationRepository extends JpaRepository<DoctorUtilization, Long> {
+
+    List<DoctorUtilization> findByReportMonthOrderByDoctorName(LocalDate reportMonth);
+
+    List<DoctorUtilization> findByDoctorIdAndReportMonthBetweenOrderByReportMonth(Long doctorId, LocalDate from,
+                                                                                  LocalDate to);
+
+    @Query("SELECT DISTINCT u.reportMonth FROM DoctorUtilization u ORDER BY u.reportMonth DESC")
+    List<LocalDate> findReportMonths();
+
+    @Modifying
+    @Query("DELETE FROM DoctorUtilization u WHERE u.reportMonth IN :months")
+    int deleteByReportMonthIn(@Param("months") Collection<LocalDate> months);
+}
@@ -10,5 +10,7 @@ import java.util.List;
 public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
     List<Feedback> findByPatientId(Long patientId);
     List<Feedback> findByStatus(Feedback.FeedbackStatus status);
+    long countByStatus(Feedback.FeedbackStatus status);
+    boolean existsByPatientIdAndAppointmentId(Long patientId, Long appointmentId);
 }
 
@@ -0,0 +1,70 @@
+package com.doctorbooking.backend.repository;
+
+import com.doctorbooking.backend.model.Job;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface JobRepository extends JpaRepository<Job, Long> {
+
+    // Locks due jobs of one lane; rows another node is claiming are skipped, not waited on
+    @Query(value = "SELECT * FROM jobs WHERE status = 'QUEUED' AND lane = :lane AND run_at <= :now " +
+                   "ORDER BY run_at, id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Job> lockDue(@Param("lane") String lane, @Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Completion updates only apply while this node still holds the job, so a job whose lease
+    // expired and was handed to another node cannot be overwritten by the late original run
+
+    @Modifying
+    @Query("UPDATE Job j SET j.status = 'SUCCEEDED', j.finishedAt = :now, j.lockedBy = NULL, j.lockedUntil = NULL, " +
+           "j.lastError = NULL WHERE j.id = :id AND j.status = 'RUNNING' AND j.lockedBy = :node")
+    int markSucceeded(@Param("id") Long id, @Param("node") String node, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.status = 'QUEUED', j.runAt = :runAt, j.lockedBy = NULL, j.lockedUntil = NULL, " +
+           "j.lastError = :error WHERE j.id = :id AND j.status = 'RUNNING' AND j.lockedBy = :node")
+    int reschedule(@Param("id") Long id, @Param("node") String node, @Param("runAt") LocalDateTime runAt,
+                   @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.status = 'DEAD', j.finishedAt = :now, j.lockedBy = NULL, j.lockedUntil = NULL, " +
+           "j.lastError = :error WHERE j.id = :id AND j.status = 'RUNNING' AND j.lockedBy = :node")
+    int markDead(@Param("id") Long id, @Param("node") String node, @Param("now") LocalDateTime now,
+                 @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.lockedUntil = :until WHERE j.id IN :ids AND j.status = 'RUNNING' AND j.lockedBy = :node")
+    int renewLeases(@Param("ids") Collection<Long> ids, @Param("node") String node, @Param("until") LocalDateTime until);
+
+    // Jobs whose node stopped renewing: retry them, or bury them if they are out of attempts
+    @Modifying
+    @Query("UPDATE Job j SET j.status = 'QUEUED', j.lockedBy = NULL, j.lockedUntil = NULL, " +
+           "j.lastError = 'Lease expired' WHERE j.status = 'RUNNING' AND j.lockedUntil < :now AND j.attempts < j.maxAttempts")
+    int requeueExpired(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Job j SET j.status = 'DEAD', j.finishedAt = :now, j.lockedBy = NULL, j.lockedUntil = NULL, " +
+           "j.lastError = 'Lease expired' WHERE j.status = 'RUNNING' AND j.lockedUntil < :now AND j.attempts >= j.maxAttempts")
+    int buryExpired(@Param("now") LocalDateTime now);
+
+    long countByTypeAndStatusIn(String type, Collection<Job.Status> statuses);
+
+    // [type, status, count]
+    @Query("SELECT j.type, j.status, COUNT(j) FROM Job j GROUP BY j.type, j.status")
+    List<Object[]> countByTypeAndStatus();
+
+    @Query("SELECT MIN(j.runAt) FROM Job j WHERE j.status = 'QUEUED' AND j.lane = :lane")
+    LocalDateTime findOldestDue(@Param("lane") Job.Lane lane);
+
+    @Modifying
+    @Query("DELETE FROM Job j WHERE j.status = 'SUCCEEDED' AND j.finishedAt < :before")
+    int deleteSucceededBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,34 @@
+package com.doctorbooking.backend.repository;
+
+import com.doctorbooking.backend.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Locks the next deliverable events. Only the oldest pending event of each aggregate qualifies,
+    // so two dispatchers never deliver events of the same aggregate out of order; rows locked by
+    // another dispatcher are skipped rather than waited on.
+    @Query(value = "SELECT * FROM outbox_events o WHERE o.status = 'PENDING' AND o.available_at <= :now " +
+                   "AND NOT EXISTS (SELECT 1 FROM outbox_events e WHERE e.aggregate_type = o.aggregate_type " +
+                   "AND e.aggregate_id = o.aggregate_id AND e.status = 'PENDING' AND e.id < o.id) " +
+                   "ORDER BY o.id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    long countByStatus(OutboxEvent.Status status);
+
+    @Query("SELECT MIN(o.createdAt) FROM OutboxEvent o WHERE o.status = 'PENDING'")
+    LocalDateTime findOldestPendingCreatedAt();
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.status = 'DONE' AND o.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
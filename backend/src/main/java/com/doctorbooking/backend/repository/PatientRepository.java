@@ -1,8 +1,13 @@
 package com.doctorbooking.backend.repository;
 
 import com.doctorbooking.backend.model.Patient;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -10,12 +15,27 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PatientRepository extends JpaRepository<Patient, Long> {
+public interface PatientRepository extends JpaRepository<Patient, Long>, PatientRepositoryCustom {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Patient> findByUserId(Long userId);
-    
-    @Query("SELECT p FROM Patient p WHERE " +
-           "LOWER(p.fullName) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "CAST(p.id AS string) LIKE CONCAT('%', :keyword, '%')")
-    List<Patient> searchPatients(@Param("keyword") String keyword);
-}
 
+    // Exact match on the indexed, digits-only phone column
+    @Query("SELECT p FROM Patient p JOIN FETCH p.user WHERE p.phoneNormalized = :phone")
+    List<Patient> findByPhoneNormalized(@Param("phone") String phone);
+
+    // Prefix match on indexed name keys (see TextNormalizer.wordSuffixes); no leading wildcard
+    @Query(value = "SELECT DISTINCT p FROM Patient p JOIN FETCH p.user JOIN p.nameKeys k " +
+                   "WHERE k LIKE CONCAT(:prefix, '%')",
+           countQuery = "SELECT COUNT(DISTINCT p) FROM Patient p JOIN p.nameKeys k " +
+                        "WHERE k LIKE CONCAT(:prefix, '%')")
+    Page<Patient> searchByNamePrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    @Query(value = "SELECT p FROM Patient p JOIN FETCH p.user",
+           countQuery = "SELECT COUNT(p) FROM Patient p")
+    Page<Patient> findAllWithUser(Pageable pageable);
+
+    // Rows created before name keys existed, in id order after afterId; backfilled at startup. A name
+    // that folds to no keys stays empty after the backfill, so callers walk by id rather than re-reading
+    @Query("SELECT p FROM Patient p WHERE p.id > :afterId AND p.nameKeys IS EMPTY ORDER BY p.id")
+    List<Patient> findWithoutNameKeys(@Param("afterId") Long afterId, Pageable pageable);
+}
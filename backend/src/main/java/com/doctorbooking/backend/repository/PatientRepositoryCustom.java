@@ -0,0 +1,16 @@
+package com.doctorbooking.backend.repository;
+
+import com.doctorbooking.backend.dto.response.PatientResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Set;
+
+// Sparse-fieldset variants of the patient lookups; fields == null selects every column
+public interface PatientRepositoryCustom {
+    Page<PatientResponse> findSparseAll(Set<String> fields, Pageable pageable);
+
+    Page<PatientResponse> findSparseByIdOrPhone(Set<String> fields, Long id, String phone, Pageable pageable);
+
+    Page<PatientResponse> findSparseByNamePrefix(Set<String> fields, String prefix, Pageable pageable);
+}
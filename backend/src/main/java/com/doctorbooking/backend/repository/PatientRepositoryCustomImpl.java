@@ -0,0 +1,65 @@
+package com.doctorbooking.backend.repository;
+
+import com.doctorbooking.backend.dto.response.PatientResponse;
+import com.doctorbooking.backend.model.Patient;
+import com.doctorbooking.backend.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+public class PatientRepositoryCustomImpl implements PatientRepositoryCustom {
+
+    static final SparseProjection<Patient, PatientResponse> PROJECTION =
+            new SparseProjection<>(Patient.class, PatientResponse::new)
+                    .<Long>column("id", p -> p.get("id"), PatientResponse::setId)
+                    .<Long>column("userId", p -> p.<User>get("user").get("id"), PatientResponse::setUserId)
+                    .<String>column("username", p -> p.<User>get("user").get("username"), PatientResponse::setUsername)
+                    .<String>column("email", p -> p.<User>get("user").get("email"), PatientResponse::setEmail)
+                    .<String>column("fullName", p -> p.get("fullName"), PatientResponse::setFullName)
+                    .<LocalDate>column("dateOfBirth", p -> p.get("dateOfBirth"), PatientResponse::setDateOfBirth)
+                    .<Patient.Gender>column("gender", p -> p.get("gender"), (dto, gender) -> dto.setGender(gender.name()))
+                    .<String>column("phone", p -> p.get("phone"), PatientResponse::setPhone)
+                    .<String>column("address", p -> p.get("address"), PatientResponse::setAddress)
+                    .<String>column("emergencyContact", p -> p.get("emergencyContact"), PatientResponse::setEmergencyContact)
+                    .<String>column("emergencyPhone", p -> p.get("emergencyPhone"), PatientResponse::setEmergencyPhone)
+                    .<LocalDateTime>column("createdAt", p -> p.get("createdAt"), PatientResponse::setCreatedAt)
+                    .<LocalDateTime>column("updatedAt", p -> p.get("updatedAt"), PatientResponse::setUpdatedAt);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<PatientResponse> findSparseAll(Set<String> fields, Pageable pageable) {
+        return PROJECTION.page(entityManager, fields, null, pageable);
+    }
+
+    @Override
+    public Page<PatientResponse> findSparseByIdOrPhone(Set<String> fields, Long id, String phone, Pageable pageable) {
+        Specification<Patient> where = (root, query, cb) -> id == null
+                ? cb.equal(root.get("phoneNormalized"), phone)
+                : cb.or(cb.equal(root.get("id"), id), cb.equal(root.get("phoneNormalized"), phone));
+        return PROJECTION.page(entityManager, fields, where, pageable);
+    }
+
+    @Override
+    public Page<PatientResponse> findSparseByNamePrefix(Set<String> fields, String prefix, Pageable pageable) {
+        // EXISTS instead of a join so a patient matching several name keys is selected once
+        Specification<Patient> where = (root, query, cb) -> {
+            Subquery<Integer> keys = query.subquery(Integer.class);
+            Root<Patient> correlated = keys.correlate(root);
+            Join<Patient, String> key = correlated.join("nameKeys");
+            keys.select(cb.literal(1)).where(cb.like(key, prefix + "%"));
+            return cb.exists(keys);
+        };
+        return PROJECTION.page(entityManager, fields, where, pageable);
+    }
+}
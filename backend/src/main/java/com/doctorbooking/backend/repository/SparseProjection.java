@@ -0,0 +1,116 @@
+package com.doctorbooking.backend.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Maps DTO field names to entity paths so a list query can SELECT only the columns a client
+ * asked for (tuple query) and fill a partially populated DTO from them. Fields that were not
+ * requested stay null and are dropped from the JSON by the sparse-fields filter.
+ */
+public final class SparseProjection<E, D> {
+
+    private final Class<E> entityType;
+    private final Supplier<D> factory;
+    private final Map<String, Column<E, D>> columns = new LinkedHashMap<>();
+
+    public SparseProjection(Class<E> entityType, Supplier<D> factory) {
+        this.entityType = entityType;
+        this.factory = factory;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> SparseProjection<E, D> column(String field, Function<Root<E>, Path<T>> path, BiConsumer<D, T> setter) {
+        columns.put(field, new Column<>(path::apply, (dto, value) -> setter.accept(dto, (T) value)));
+        return this;
+    }
+
+    public Set<String> fields() {
+        return Collections.unmodifiableSet(columns.keySet());
+    }
+
+    public List<D> list(EntityManager entityManager, Set<String> fields, Specification<E> where, Sort sort) {
+        List<Column<E, D>> selected = select(fields);
+        return map(entityManager.createQuery(tupleQuery(entityManager, selected, where, sort)), selected);
+    }
+
+    public Page<D> page(EntityManager entityManager, Set<String> fields, Specification<E> where, Pageable pageable) {
+        List<Column<E, D>> selected = select(fields);
+        TypedQuery<Tuple> query = entityManager.createQuery(tupleQuery(entityManager, selected, where, pageable.getSort()))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize());
+        List<D> content = map(query, selected);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        Root<E> countRoot = countQuery.from(entityType);
+        countQuery.select(cb.count(countRoot));
+        if (where != null) {
+            countQuery.where(where.toPredicate(countRoot, countQuery, cb));
+        }
+        long total = entityManager.createQuery(countQuery).getSingleResult();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private CriteriaQuery<Tuple> tupleQuery(EntityManager entityManager, List<Column<E, D>> selected,
+                                            Specification<E> where, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entityType);
+        List<Selection<?>> selections = new ArrayList<>(selected.size());
+        for (Column<E, D> column : selected) {
+            selections.add(column.path().apply(root));
+        }
+        query.multiselect(selections);
+        if (where != null) {
+            query.where(where.toPredicate(root, query, cb));
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return query;
+    }
+
+    private List<Column<E, D>> select(Set<String> fields) {
+        Collection<String> names = fields == null ? columns.keySet() : fields;
+        List<Column<E, D>> selected = new ArrayList<>(names.size());
+        for (String name : names) {
+            Column<E, D> column = columns.get(name);
+            if (column == null) {
+                throw new IllegalArgumentException("Field is not selectable: " + name);
+            }
+            selected.add(column);
+        }
+        return selected;
+    }
+
+    private List<D> map(TypedQuery<Tuple> query, List<Column<E, D>> selected) {
+        List<Tuple> rows = query.getResultList();
+        List<D> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            D dto = factory.get();
+            for (int i = 0; i < selected.size(); i++) {
+                Object value = row.get(i);
+                if (value != null) {
+                    selected.get(i).setter().accept(dto, value);
+                }
+            }
+            result.add(dto);
+        }
+        return result;
+    }
+
+    private record Column<E, D>(Function<Root<E>, Path<?>> path, BiConsumer<D, Object> setter) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.doctorbooking.backend.repository;
+
+import com.doctorbooking.backend.model.Tombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    // Deletes after a cursor position; null owner ids mean "any"
+    @Query("SELECT t FROM Tombstone t WHERE t.entityType = :type AND t.id > :afterId AND t.deletedAt < :before " +
+           "AND (:doctorId IS NULL OR t.doctorId = :doctorId) AND (:patientId IS NULL OR t.patientId = :patientId) " +
+           "ORDER BY t.id")
+    List<Tombstone> findAfter(@Param("type") Tombstone.EntityType type,
+                              @Param("afterId") long afterId,
+                              @Param("before") LocalDateTime before,
+                              @Param("doctorId") Long doctorId,
+                              @Param("patientId") Long patientId,
+                              Pageable pageable);
+
+    List<Tombstone> findByEntityTypeAndDeletedAtGreaterThanEqual(Tombstone.EntityType entityType, LocalDateTime since);
+
+    @Modifying
+    @Query("DELETE FROM Tombstone t WHERE t.deletedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
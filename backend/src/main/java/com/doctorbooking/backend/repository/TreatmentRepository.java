@@ -1,15 +1,47 @@
 package com.doctorbooking.backend.repository;
 
+import com.doctorbooking.backend.dto.response.TreatmentExportRow;
 import com.doctorbooking.backend.model.Treatment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TreatmentRepository extends JpaRepository<Treatment, Long> {
     List<Treatment> findByPatientId(Long patientId);
     List<Treatment> findByDoctorId(Long doctorId);
     List<Treatment> findByAppointmentId(Long appointmentId);
-}
+    long countByDoctorId(Long doctorId);
+
+    // Latest treatments by a doctor, newest first; uses idx_treatments_doctor_created
+    @Query("SELECT t FROM Treatment t JOIN FETCH t.patient JOIN FETCH t.doctor LEFT JOIN FETCH t.appointment " +
+           "WHERE t.doctor.id = :doctorId ORDER BY t.createdAt DESC, t.id DESC")
+    List<Treatment> findRecentByDoctorId(@Param("doctorId") Long doctorId, Pageable pageable);
 
+    // Export rows created in [from, to), streamed; same contract as AppointmentRepository.streamForExport
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = AppointmentRepository.STREAMING_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.doctorbooking.backend.dto.response.TreatmentExportRow(t.id, t.createdAt, d.id, " +
+           "d.fullName, p.id, p.fullName, a.id, t.diagnosis, t.prescription, t.treatmentNotes, t.followUpDate, " +
+           "t.updatedAt) FROM Treatment t JOIN t.doctor d JOIN t.patient p LEFT JOIN t.appointment a " +
+           "WHERE (:from IS NULL OR t.createdAt >= :from) AND (:to IS NULL OR t.createdAt < :to) " +
+           "AND (:doctorId IS NULL OR d.id = :doctorId) ORDER BY t.createdAt, t.id")
+    Stream<TreatmentExportRow> streamForExport(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                               @Param("doctorId") Long doctorId);
+
+    // [year, month] of the appointments behind treatments changed since; range scan on idx_treatments_updated
+    @Query("SELECT DISTINCT YEAR(a.appointmentDate), MONTH(a.appointmentDate) FROM Treatment t JOIN t.appointment a " +
+           "WHERE t.updatedAt >= :since")
+    List<Object[]> findAppointmentMonthsUpdatedSince(@Param("since") LocalDateTime since);
+}
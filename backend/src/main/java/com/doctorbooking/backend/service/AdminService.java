@@ -6,7 +6,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -15,13 +18,35 @@ public class AdminService {
     private final DoctorService doctorService;
     private final PatientService patientService;
     private final AppointmentService appointmentService;
+    private final AppointmentArchiveService appointmentArchiveService;
     private final FeedbackService feedbackService;
+    private final CacheStatisticsService cacheStatisticsService;
+    private final AdminSummaryCache adminSummaryCache;
+    private final OutboxDispatcher outboxDispatcher;
+    private final AppointmentReminderService appointmentReminderService;
+    private final JobRunner jobRunner;
+    private final LeaderElection leaderElection;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ExportService exportService;
+    private final AnalyticsSnapshotService analyticsSnapshotService;
+    private final AnalyticsSketchService analyticsSketchService;
+    private final UtilizationReportService utilizationReportService;
+    private final DoctorRankingIndex doctorRankingIndex;
+
+    // Dashboard
+    public AdminSummaryResponse getSummary() {
+        return adminSummaryCache.getSummary();
+    }
 
     // Doctor Management
     public List<DoctorResponse> getAllDoctors() {
         return doctorService.getAllDoctors();
     }
 
+    public DoctorDirectorySnapshot.Snapshot getDoctorDirectory() {
+        return doctorService.getDirectorySnapshot();
+    }
+
     public List<DoctorResponse> searchDoctors(String keyword) {
         if (keyword == null || keyword.trim().isEmpty()) {
             return getAllDoctors();
@@ -46,8 +71,8 @@ public class AdminService {
     }
 
     // Patient Management
-    public List<PatientResponse> searchPatients(String keyword) {
-        return patientService.searchPatients(keyword);
+    public PageResponse<PatientResponse> searchPatients(String keyword, int page, int size, Set<String> fields) {
+        return patientService.searchPatients(keyword, page, size, fields);
     }
 
     public PatientResponse getPatientById(Long id) {
@@ -55,7 +80,10 @@ public class AdminService {
     }
 
     // Appointment Management
-    public List<AppointmentResponse> getAllAppointments(LocalDate date) {
+    public List<AppointmentResponse> getAllAppointments(LocalDate date, Set<String> fields) {
+        if (fields != null) {
+            return appointmentService.getAppointmentsSparse(date, fields);
+        }
         if (date != null) {
             return appointmentService.getAppointmentsByDate(date);
         }
@@ -66,6 +94,32 @@ public class AdminService {
         return appointmentService.getAppointmentById(id);
     }
 
+    public Long requestAppointmentArchive() {
+        return appointmentArchiveService.enqueue();
+    }
+
+    public Map<String, Object> getAppointmentArchiveStatus() {
+        return appointmentArchiveService.getStatus();
+    }
+
+    // Export
+    public ExportService.Export exportAppointments(String format, LocalDate from, LocalDate to, Long doctorId, boolean gzip) {
+        return exportService.exportAppointments(ExportService.Format.fromName(format),
+                new ExportService.Filter(from, to, doctorId), gzip);
+    }
+
+    public ExportService.Export exportTreatments(String format, LocalDate from, LocalDate to, Long doctorId, boolean gzip) {
+        return exportService.exportTreatments(ExportService.Format.fromName(format),
+                new ExportService.Filter(from, to, doctorId), gzip);
+    }
+
+    // Recomputes the per-doctor rating totals from the feedback table and re-ranks the directory
+    public int rebuildDoctorRatings() {
+        int doctors = doctorRankingIndex.rebuildRatings();
+        doctorRankingIndex.refresh();
+        return doctors;
+    }
+
     // Feedback Management
     public List<FeedbackResponse> getAllFeedbacks(String status) {
         return feedbackService.getFeedbacksByStatus(status);
@@ -78,5 +132,76 @@ public class AdminService {
     public FeedbackResponse markFeedbackAsRead(Long id) {
         return feedbackService.markFeedbackAsRead(id);
     }
-}
 
+    // Reminders
+    public boolean startReminderRun(LocalDate date) {
+        return appointmentReminderService.start(date != null ? date : LocalDate.now().plusDays(1));
+    }
+
+    public ReminderRunResponse getReminderStatus() {
+        return appointmentReminderService.getStatus();
+    }
+
+    // Analytics
+    public Long requestAnalyticsSnapshot(boolean full) {
+        return analyticsSnapshotService.enqueue(full);
+    }
+
+    public Map<String, Object> getAnalyticsSnapshotStatus() {
+        return analyticsSnapshotService.getStatus();
+    }
+
+    public List<UniquePatientsResponse> getUniquePatients(Long doctorId, YearMonth from, YearMonth to) {
+        return analyticsSketchService.getUniquePatients(doctorId, from, to);
+    }
+
+    public TopDiagnosesResponse getTopDiagnoses(String specialization, YearMonth from, YearMonth to, int limit) {
+        return analyticsSketchService.getTopDiagnoses(specialization, from, to, limit);
+    }
+
+    public Long requestSketchRebuild(YearMonth from, YearMonth to) {
+        return analyticsSketchService.enqueueRebuild(from, to);
+    }
+
+    public Map<String, Object> getSketchStatus() {
+        return analyticsSketchService.getStatus();
+    }
+
+    // Reports
+    public Long requestUtilizationReport(YearMonth from, YearMonth to) {
+        return utilizationReportService.enqueue(from, to);
+    }
+
+    public List<DoctorUtilizationResponse> getUtilizationReport(YearMonth month) {
+        return utilizationReportService.getReport(month);
+    }
+
+    public List<DoctorUtilizationResponse> getDoctorUtilization(Long doctorId, YearMonth from, YearMonth to) {
+        return utilizationReportService.getDoctorReport(doctorId, from, to);
+    }
+
+    public List<String> getUtilizationReportMonths() {
+        return utilizationReportService.getReportMonths();
+    }
+
+    // Cache Monitoring
+    public Map<String, Object> getCacheStatistics() {
+        return cacheStatisticsService.getSecondLevelCacheStatistics();
+    }
+
+    public Map<String, Object> getCacheInvalidationStatistics() {
+        return cacheInvalidationBus.getStatistics();
+    }
+
+    public Map<String, Object> getClusterLocks() {
+        return leaderElection.getStatus();
+    }
+
+    public Map<String, Object> getJobStatistics() {
+        return jobRunner.getStatistics();
+    }
+
+    public Map<String, Object> getOutboxStatistics() {
+        return outboxDispatcher.getStatistics();
+    }
+}
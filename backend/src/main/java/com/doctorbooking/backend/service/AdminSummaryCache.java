@@ -0,0 +1,172 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.dto.response.AdminSummaryResponse;
+import com.doctorbooking.backend.event.AppointmentChangedEvent;
+import com.doctorbooking.backend.event.FeedbackChangedEvent;
+import com.doctorbooking.backend.event.PatientRegisteredEvent;
+import com.doctorbooking.backend.model.Appointment;
+import com.doctorbooking.backend.model.Feedback;
+import com.doctorbooking.backend.repository.AppointmentRepository;
+import com.doctorbooking.backend.repository.ArchivedAppointmentRepository;
+import com.doctorbooking.backend.repository.FeedbackRepository;
+import com.doctorbooking.backend.repository.PatientRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts behind the admin dashboard. They are loaded with a handful of aggregate queries, kept
+ * current between loads by adjusting them from write events, and reloaded after a short TTL (or
+ * when the day rolls over) so any drift from missed events is bounded.
+ * <p>
+ * Doctor counts come straight from the in-memory directory snapshot, which is always current.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdminSummaryCache {
+
+    private static final Appointment.AppointmentStatus[] STATUSES = Appointment.AppointmentStatus.values();
+
+    private final PatientRepository patientRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final DoctorDirectorySnapshot doctorDirectorySnapshot;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${admin.summary.ttl-ms:30000}")
+    private long ttlMs;
+
+    private final Object loadLock = new Object();
+    private volatile Counts counts; // fields mutated only while holding the Counts monitor
+
+    public AdminSummaryResponse getSummary() {
+        LocalDate today = LocalDate.now();
+        Counts current = counts;
+        if (isStale(current, today)) {
+            synchronized (loadLock) {
+                current = counts;
+                if (isStale(current, today)) {
+                    current = load(today);
+                    counts = current;
+                }
+            }
+        }
+
+        DoctorDirectorySnapshot.Snapshot directory = doctorDirectorySnapshot.current();
+        synchronized (current) {
+            Map<String, Long> byStatus = new LinkedHashMap<>();
+            long todayTotal = 0;
+            for (Appointment.AppointmentStatus status : STATUSES) {
+                long count = current.todayByStatus[status.ordinal()];
+                byStatus.put(status.name(), count);
+                todayTotal += count;
+            }
+            return new AdminSummaryResponse(
+                    directory.getAllDoctors().size(),
+                    directory.getActiveDoctors().size(),
+                    current.patients,
+                    current.appointments,
+                    current.pendingFeedbacks,
+                    current.date,
+                    todayTotal,
+                    byStatus,
+                    current.computedAt
+            );
+        }
+    }
+
+    // ========== Incremental updates ==========
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        Counts current = counts;
+        if (current == null) {
+            return;
+        }
+        synchronized (current) {
+            if (event.isCreated()) {
+                current.appointments++;
+            }
+            if (current.date.equals(event.getAppointmentDate())) {
+                if (!event.isCreated()) {
+                    current.todayByStatus[event.getPreviousStatus().ordinal()]--;
+                }
+                current.todayByStatus[event.getStatus().ordinal()]++;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        Counts current = counts;
+        if (current == null) {
+            return;
+        }
+        synchronized (current) {
+            if (event.getPreviousStatus() == Feedback.FeedbackStatus.PENDING) {
+                current.pendingFeedbacks--;
+            }
+            if (event.getStatus() == Feedback.FeedbackStatus.PENDING) {
+                current.pendingFeedbacks++;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientRegistered(PatientRegisteredEvent event) {
+        Counts current = counts;
+        if (current == null) {
+            return;
+        }
+        synchronized (current) {
+            current.patients++;
+        }
+    }
+
+    // Counts changed on another node are not worth replaying; reload on the next read
+    @PostConstruct
+    void subscribeToRemoteChanges() {
+        cacheInvalidationBus.subscribe(CacheInvalidationBus.ADMIN_SUMMARY, ids -> counts = null);
+    }
+
+    // ========== Loading ==========
+
+    private boolean isStale(Counts current, LocalDate today) {
+        return current == null
+                || !current.date.equals(today)
+                || System.currentTimeMillis() - current.loadedAt > ttlMs;
+    }
+
+    private Counts load(LocalDate today) {
+        Counts loaded = new Counts(today);
+        loaded.patients = patientRepository.count();
+        loaded.appointments = appointmentRepository.count() + archivedAppointmentRepository.count();
+        loaded.pendingFeedbacks = feedbackRepository.countByStatus(Feedback.FeedbackStatus.PENDING);
+        for (Object[] row : appointmentRepository.countByStatusOnDate(today)) {
+            loaded.todayByStatus[((Appointment.AppointmentStatus) row[0]).ordinal()] = (Long) row[1];
+        }
+        return loaded;
+    }
+
+    private static final class Counts {
+        private final LocalDate date;
+        private final long loadedAt = System.currentTimeMillis();
+        private final LocalDateTime computedAt = LocalDateTime.now();
+        private final long[] todayByStatus = new long[STATUSES.length];
+        private long patients;
+        private long appointments;
+        private long pendingFeedbacks;
+
+        private Counts(LocalDate date) {
+            this.date = date;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.doctorbooking.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Version counters for read-mostly aggregates (a patient's appointments, a doctor's treatments, ...)
+ * used to answer conditional GETs without querying. Services bump a counter on every write; the
+ * bump is deferred until the surrounding transaction commits so a client can never pair a new
+ * version with the old data.
+ * <p>
+ * Counters live in memory and restart from zero, so ETags also carry the boot epoch.
+ */
+@Component
+@RequiredArgsConstructor
+public class AggregateVersions {
+
+    public enum Aggregate {
+        PATIENT_APPOINTMENTS("pa"),
+        PATIENT_TREATMENTS("pt"),
+        // keyed by user id, which the profile endpoint knows without a lookup
+        PATIENT_PROFILE("pp"),
+        DOCTOR_TREATMENTS("dt");
+
+        private final String tag;
+
+        Aggregate(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    public record Version(long value, long lastModified) {
+    }
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final long bootEpoch = System.currentTimeMillis();
+    private final Map<Aggregate, Map<Long, Version>> versions = new ConcurrentHashMap<>();
+
+    // A write on another node must move this node's version too, or it would keep answering 304
+    @PostConstruct
+    void subscribeToRemoteChanges() {
+        for (Aggregate aggregate : Aggregate.values()) {
+            cacheInvalidationBus.subscribe(busType(aggregate), ids -> ids.forEach(id -> bump(aggregate, id)));
+        }
+    }
+
+    public Version current(Aggregate aggregate, Long id) {
+        Version version = counters(aggregate).get(id);
+        return version != null ? version : new Version(0, bootEpoch);
+    }
+
+    public String etag(Aggregate aggregate, Long id) {
+        return etag(aggregate.tag + "-" + id, current(aggregate, id).value());
+    }
+
+    // Weak: the same version is served both gzipped and identity-encoded
+    public String etag(String scope, long version) {
+        return "W/\"" + scope + "-" + Long.toString(bootEpoch, 36) + "-" + version + "\"";
+    }
+
+    public long bootEpoch() {
+        return bootEpoch;
+    }
+
+    public void bump(Aggregate aggregate, Long id) {
+        if (id == null) {
+            return;
+        }
+        cacheInvalidationBus.publish(busType(aggregate), id);
+        Runnable increment = () -> counters(aggregate).compute(id, (key, previous) ->
+                new Version(previous == null ? 1 : previous.value() + 1, System.currentTimeMillis()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment.run();
+                }
+            });
+        } else {
+            increment.run();
+        }
+    }
+
+    private static String busType(Aggregate aggregate) {
+        return "VERSION_" + aggregate.name();
+    }
+
+    private Map<Long, Version> counters(Aggregate aggregate) {
+        return versions.computeIfAbsent(aggregate, a -> new ConcurrentHashMap<>());
+    }
+}
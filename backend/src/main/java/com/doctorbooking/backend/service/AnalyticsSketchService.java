@@ -0,0 +1,406 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.dto.response.AppointmentExportRow;
+import com.doctorbooking.backend.dto.response.TopDiagnosesResponse;
+import com.doctorbooking.backend.dto.response.TreatmentExportRow;
+import com.doctorbooking.backend.dto.response.UniquePatientsResponse;
+import com.doctorbooking.backend.model.AnalyticsSketch;
+import com.doctorbooking.backend.model.Job;
+import com.doctorbooking.backend.repository.AnalyticsSketchRepository;
+import com.doctorbooking.backend.repository.AppointmentRepository;
+import com.doctorbooking.backend.repository.ArchivedAppointmentRepository;
+import com.doctorbooking.backend.repository.DoctorRepository;
+import com.doctorbooking.backend.repository.JobRepository;
+import com.doctorbooking.backend.repository.TreatmentRepository;
+import com.doctorbooking.backend.util.HeavyHitters;
+import com.doctorbooking.backend.util.HyperLogLog;
+import com.doctorbooking.backend.util.TextNormalizer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Approximate operations analytics that would be too expensive as live queries: distinct
+ * patients per doctor per month (HyperLogLog) and the most frequent diagnoses per specialization
+ * per month (count-min sketch with heavy-hitter candidates).
+ * <p>
+ * Bookings and treatments are recorded after their transaction commits into per-node sketches,
+ * which are flushed every {@code sketches.flush-ms} by merging them into the persisted sketch for
+ * the same scope and month under a row lock. Both sketch types merge losslessly, so any number of
+ * nodes can flush into one row and reads merge rows across months. A flush that fails keeps its
+ * sketch for the next one. Reads see what has been flushed.
+ * <p>
+ * Diagnoses are counted once, when the treatment is created, as their folded text.
+ */
+@Service
+@Slf4j
+public class AnalyticsSketchService implements JobHandler<AnalyticsSketchService.Request> {
+
+    public static final String JOB_TYPE = "analytics.sketches.rebuild";
+    private static final int MAX_DIAGNOSIS_LENGTH = 200;
+
+    private final AnalyticsSketchRepository sketchRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+    private final TreatmentRepository treatmentRepository;
+    private final DoctorRepository doctorRepository;
+    private final JobRepository jobRepository;
+    private final JobQueue jobQueue;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${sketches.hll-precision:12}")
+    private int hllPrecision;
+
+    @Value("${sketches.cms-depth:5}")
+    private int cmsDepth;
+
+    @Value("${sketches.cms-width:2048}")
+    private int cmsWidth;
+
+    @Value("${sketches.candidates:100}")
+    private int candidates;
+
+    @Value("${sketches.max-months:24}")
+    private int maxMonths;
+
+    private final Map<Key, HyperLogLog> pendingPatients = new ConcurrentHashMap<>();
+    private final Map<Key, HeavyHitters> pendingDiagnoses = new ConcurrentHashMap<>();
+    private final LongAdder flushFailures = new LongAdder();
+
+    private final Codec<HyperLogLog> patientsCodec = new Codec<>(HyperLogLog::merge, HyperLogLog::write,
+            HyperLogLog::read);
+    private final Codec<HeavyHitters> diagnosesCodec = new Codec<>(HeavyHitters::merge, HeavyHitters::write,
+            HeavyHitters::read);
+
+    public AnalyticsSketchService(AnalyticsSketchRepository sketchRepository,
+                                  AppointmentRepository appointmentRepository,
+                                  ArchivedAppointmentRepository archivedAppointmentRepository,
+                                  TreatmentRepository treatmentRepository,
+                                  DoctorRepository doctorRepository,
+                                  JobRepository jobRepository,
+                                  JobQueue jobQueue,
+                                  PlatformTransactionManager transactionManager) {
+        this.sketchRepository = sketchRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.archivedAppointmentRepository = archivedAppointmentRepository;
+        this.treatmentRepository = treatmentRepository;
+        this.doctorRepository = doctorRepository;
+        this.jobRepository = jobRepository;
+        this.jobQueue = jobQueue;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Rebuilds the sketches of the given months (both inclusive) from the tables
+    public record Request(YearMonth from, YearMonth to) {
+    }
+
+    private record Key(String scopeKey, String period) {
+    }
+
+    // ========== Write path ==========
+
+    public void recordVisit(Long doctorId, Long patientId, LocalDate date) {
+        Key key = new Key(doctorId.toString(), YearMonth.from(date).toString());
+        afterCommit(() -> pendingPatients.compute(key, (k, sketch) -> {
+            HyperLogLog target = sketch != null ? sketch : new HyperLogLog(hllPrecision);
+            target.add(patientId);
+            return target;
+        }));
+    }
+
+    public void recordDiagnosis(String specialization, String diagnosis, LocalDate date) {
+        String normalized = normalizeDiagnosis(diagnosis);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        Key key = new Key(TextNormalizer.fold(specialization), YearMonth.from(date).toString());
+        afterCommit(() -> pendingDiagnoses.compute(key, (k, sketch) -> {
+            HeavyHitters target = sketch != null ? sketch : new HeavyHitters(cmsDepth, cmsWidth, candidates);
+            target.add(normalized);
+            return target;
+        }));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${sketches.flush-ms:10000}", initialDelayString = "${sketches.flush-ms:10000}")
+    @PreDestroy
+    public void flush() {
+        flush(AnalyticsSketch.Kind.UNIQUE_PATIENTS, pendingPatients, patientsCodec);
+        flush(AnalyticsSketch.Kind.DIAGNOSES, pendingDiagnoses, diagnosesCodec);
+    }
+
+    private <S> void flush(AnalyticsSketch.Kind kind, Map<Key, S> pending, Codec<S> codec) {
+        for (Key key : List.copyOf(pending.keySet())) {
+            // Removed atomically with respect to recording, so no update lands in a sketch being flushed
+            S delta = pending.remove(key);
+            if (delta == null) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    AnalyticsSketch row = lockRow(kind, key);
+                    S stored = row.getData() != null ? codec.decode(row.getData()) : null;
+                    if (stored != null) {
+                        codec.merge().accept(stored, delta);
+                    }
+                    row.setData(codec.encode(stored != null ? stored : delta));
+                    row.setUpdatedAt(LocalDateTime.now());
+                });
+            } catch (RuntimeException e) {
+                pending.merge(key, delta, (current, failed) -> {
+                    codec.merge().accept(failed, current);
+                    return failed;
+                });
+                flushFailures.increment();
+                log.warn("Failed to flush {} sketch {}, keeping it for the next flush: {}", kind, key, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private AnalyticsSketch lockRow(AnalyticsSketch.Kind kind, Key key) {
+        sketchRepository.createIfAbsent(kind.name(), key.scopeKey(), key.period());
+        return sketchRepository.lock(kind, key.scopeKey(), key.period())
+                .orElseThrow(() -> new IllegalStateException("Sketch row vanished: " + kind + " " + key));
+    }
+
+    // ========== Reads ==========
+
+    public List<UniquePatientsResponse> getUniquePatients(Long doctorId, YearMonth from, YearMonth to) {
+        validate(from, to);
+        Map<String, HyperLogLog> unions = new HashMap<>();
+        Map<String, Map<String, Long>> months = new HashMap<>();
+        for (AnalyticsSketch row : sketchRepository.findInRange(AnalyticsSketch.Kind.UNIQUE_PATIENTS,
+                doctorId != null ? doctorId.toString() : null, from.toString(), to.toString())) {
+            if (row.getData() == null) {
+                continue;
+            }
+            HyperLogLog sketch = patientsCodec.decode(row.getData());
+            months.computeIfAbsent(row.getScopeKey(), k -> new LinkedHashMap<>()).put(row.getPeriod(), sketch.estimate());
+            unions.merge(row.getScopeKey(), sketch, (union, next) -> {
+                union.merge(next);
+                return union;
+            });
+        }
+        List<UniquePatientsResponse> result = new ArrayList<>();
+        unions.forEach((scopeKey, union) -> result.add(new UniquePatientsResponse(Long.valueOf(scopeKey),
+                from.toString(), to.toString(), union.estimate(), months.get(scopeKey), union.relativeError())));
+        result.sort(Comparator.comparing(UniquePatientsResponse::getDoctorId));
+        return result;
+    }
+
+    public TopDiagnosesResponse getTopDiagnoses(String specialization, YearMonth from, YearMonth to, int limit) {
+        validate(from, to);
+        String scopeKey = specialization != null && !specialization.isBlank() ? TextNormalizer.fold(specialization) : null;
+        HeavyHitters merged = null;
+        for (AnalyticsSketch row : sketchRepository.findInRange(AnalyticsSketch.Kind.DIAGNOSES, scopeKey,
+                from.toString(), to.toString())) {
+            if (row.getData() == null) {
+                continue;
+            }
+            HeavyHitters sketch = diagnosesCodec.decode(row.getData());
+            if (merged == null) {
+                merged = sketch;
+            } else {
+                merged.merge(sketch);
+            }
+        }
+        if (merged == null) {
+            return new TopDiagnosesResponse(scopeKey, from.toString(), to.toString(), 0, 0, 0.0, List.of());
+        }
+        List<TopDiagnosesResponse.Item> items = merged.top(Math.max(1, Math.min(limit, candidates))).stream()
+                .map(entry -> new TopDiagnosesResponse.Item(entry.getKey(), entry.getValue()))
+                .toList();
+        return new TopDiagnosesResponse(scopeKey, from.toString(), to.toString(), merged.getSketch().getTotal(),
+                merged.getSketch().errorBound(), merged.getSketch().getConfidence(), items);
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("pendingPatientSketches", pendingPatients.size());
+        status.put("pendingDiagnosisSketches", pendingDiagnoses.size());
+        status.put("flushFailures", flushFailures.sum());
+        status.put("rebuildJobs", jobRepository.countByTypeAndStatusIn(JOB_TYPE,
+                EnumSet.of(Job.Status.QUEUED, Job.Status.RUNNING)));
+        return status;
+    }
+
+    // ========== Rebuild ==========
+
+    /**
+     * Queues a rebuild of the given months from the tables, e.g. to cover data written before the
+     * sketches existed; returns the job id, or null if a rebuild is already queued or running.
+     */
+    public Long enqueueRebuild(YearMonth from, YearMonth to) {
+        validate(from, to);
+        if (jobRepository.countByTypeAndStatusIn(JOB_TYPE, EnumSet.of(Job.Status.QUEUED, Job.Status.RUNNING)) > 0) {
+            return null;
+        }
+        return jobQueue.enqueue(JOB_TYPE, new Request(from, to), Job.Lane.LOW, null).getId();
+    }
+
+    @Override
+    public String getType() {
+        return JOB_TYPE;
+    }
+
+    @Override
+    public Class<Request> getPayloadType() {
+        return Request.class;
+    }
+
+    @Override
+    public void handle(Request request) {
+        YearMonth from = request.from();
+        YearMonth to = request.to();
+        validate(from, to);
+        // Local deltas land first and are then overwritten by sketches that already include them
+        flush();
+
+        Map<Long, String> specializations = new HashMap<>();
+        doctorRepository.findAll().forEach(doctor ->
+                specializations.put(doctor.getId(), TextNormalizer.fold(doctor.getSpecialization())));
+        Map<Key, HyperLogLog> patients = new HashMap<>();
+        Map<Key, HeavyHitters> diagnoses = new HashMap<>();
+
+        readOnlyTransaction.executeWithoutResult(status -> {
+            List<Supplier<Stream<AppointmentExportRow>>> sources = List.of(
+                    () -> appointmentRepository.streamForExport(from.atDay(1), to.atEndOfMonth(), null),
+                    () -> archivedAppointmentRepository.streamForExport(from.atDay(1), to.atEndOfMonth(), null));
+            for (Supplier<Stream<AppointmentExportRow>> source : sources) {
+                try (Stream<AppointmentExportRow> rows = source.get()) {
+                    rows.forEach(row -> patients.computeIfAbsent(
+                            new Key(row.getDoctorId().toString(), YearMonth.from(row.getAppointmentDate()).toString()),
+                            k -> new HyperLogLog(hllPrecision)).add(row.getPatientId()));
+                }
+            }
+            try (Stream<TreatmentExportRow> rows = treatmentRepository.streamForExport(from.atDay(1).atStartOfDay(),
+                    to.plusMonths(1).atDay(1).atStartOfDay(), null)) {
+                rows.forEach(row -> {
+                    String diagnosis = normalizeDiagnosis(row.getDiagnosis());
+                    if (!diagnosis.isEmpty()) {
+                        diagnoses.computeIfAbsent(new Key(specializations.getOrDefault(row.getDoctorId(), ""),
+                                        YearMonth.from(row.getCreatedAt()).toString()),
+                                k -> new HeavyHitters(cmsDepth, cmsWidth, candidates)).add(diagnosis);
+                    }
+                });
+            }
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            replace(AnalyticsSketch.Kind.UNIQUE_PATIENTS, patients, patientsCodec, from, to);
+            replace(AnalyticsSketch.Kind.DIAGNOSES, diagnoses, diagnosesCodec, from, to);
+        });
+        log.info("Rebuilt analytics sketches for {}..{}: {} doctor-months, {} specialization-months",
+                from, to, patients.size(), diagnoses.size());
+    }
+
+    private <S> void replace(AnalyticsSketch.Kind kind, Map<Key, S> sketches, Codec<S> codec,
+                             YearMonth from, YearMonth to) {
+        List<Long> keep = new ArrayList<>();
+        sketches.forEach((key, sketch) -> {
+            AnalyticsSketch row = lockRow(kind, key);
+            row.setData(codec.encode(sketch));
+            row.setUpdatedAt(LocalDateTime.now());
+            keep.add(row.getId());
+        });
+        // Scopes with nothing left in the range (e.g. a doctor's only booking moved out)
+        sketchRepository.deleteInRangeExcept(kind, from.toString(), to.toString(), keep.isEmpty() ? List.of(-1L) : keep);
+    }
+
+    // ========== Helpers ==========
+
+    private void validate(YearMonth from, YearMonth to) {
+        if (from == null || to == null) {
+            throw new RuntimeException("Both 'from' and 'to' months are required");
+        }
+        if (from.isAfter(to)) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
+        if (from.plusMonths(maxMonths).isBefore(to.plusMonths(1))) {
+            throw new RuntimeException("At most " + maxMonths + " months can be read or rebuilt at once");
+        }
+    }
+
+    private static String normalizeDiagnosis(String diagnosis) {
+        String folded = TextNormalizer.fold(diagnosis).trim();
+        return folded.length() > MAX_DIAGNOSIS_LENGTH ? folded.substring(0, MAX_DIAGNOSIS_LENGTH) : folded;
+    }
+
+    private interface SketchWriter<S> {
+        void write(S sketch, DataOutput out) throws IOException;
+    }
+
+    private interface SketchReader<S> {
+        S read(DataInput in) throws IOException;
+    }
+
+    // Serialized sketches are deflated; count-min counters are mostly zero and shrink several times
+    private record Codec<S>(BiConsumer<S, S> merge, SketchWriter<S> writer, SketchReader<S> reader) {
+
+        byte[] encode(S sketch) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+                writer.write(sketch, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+
+        S decode(byte[] data) {
+            try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+                return reader.read(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.dto.response.AppointmentFactRow;
+import com.doctorbooking.backend.model.Job;
+import com.doctorbooking.backend.model.Tombstone;
+import com.doctorbooking.backend.repository.AppointmentRepository;
+import com.doctorbooking.backend.repository.ArchivedAppointmentRepository;
+import com.doctorbooking.backend.repository.JobRepository;
+import com.doctorbooking.backend.repository.TombstoneRepository;
+import com.doctorbooking.backend.repository.TreatmentRepository;
+import com.doctorbooking.backend.util.AppointmentFactArrowWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Nightly columnar snapshot of appointments for BI, so heavy GROUP BYs run on files instead of
+ * the booking tables. Each month is one LZ4-compressed Arrow IPC file,
+ * {@code <dir>/appointments/month=YYYY-MM/part-0.arrow}, holding appointments (live and archived)
+ * joined with their doctor's specialization and their treatments' follow-up dates.
+ * <p>
+ * Runs are incremental: {@code manifest.json} in the snapshot directory records a watermark, and
+ * only months with appointments, treatments or doctors updated since then are rewritten. Months
+ * whose appointment count no longer matches the manifest are rewritten as well, which catches
+ * appointments moved to another month. Each file is written next to its target and moved into
+ * place, so readers see either the old or the new partition, never a partial one.
+ * <p>
+ * The snapshot directory is local to the node that runs the job; in a multi-node deployment it
+ * should point at storage every node shares.
+ */
+@Service
+@Slf4j
+public class AnalyticsSnapshotService implements JobHandler<AnalyticsSnapshotService.Request> {
+
+    public static final String JOB_TYPE = "analytics.snapshot";
+    private static final String MANIFEST = "manifest.json";
+    private static final String PARTITION_FILE = "part-0.arrow";
+
+    private final AppointmentRepository appointmentRepository;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+    private final TreatmentRepository treatmentRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final JobRepository jobRepository;
+    private final JobQueue jobQueue;
+    private final LeaderElection leaderElection;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${analytics.snapshot-dir:./analytics}")
+    private Path directory;
+
+    @Value("${analytics.batch-rows:8192}")
+    private int batchRows;
+
+    @Value("${analytics.safety-lag-ms:60000}")
+    private long safetyLagMs;
+
+    // Deleted treatments are only known through tombstones, so an older watermark forces a full rebuild
+    @Value("${sync.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    public AnalyticsSnapshotService(AppointmentRepository appointmentRepository,
+                                    ArchivedAppointmentRepository archivedAppointmentRepository,
+                                    TreatmentRepository treatmentRepository,
+                                    TombstoneRepository tombstoneRepository,
+                                    JobRepository jobRepository,
+                                    JobQueue jobQueue,
+                                    LeaderElection leaderElection,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager) {
+        this.appointmentRepository = appointmentRepository;
+        this.archivedAppointmentRepository = archivedAppointmentRepository;
+        this.treatmentRepository = treatmentRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.jobRepository = jobRepository;
+        this.jobQueue = jobQueue;
+        this.leaderElection = leaderElection;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // full = rewrite every month regardless of the watermark
+    public record Request(boolean full) {
+    }
+
+    public record Partition(long appointments, long rows, long bytes, LocalDateTime writtenAt) {
+    }
+
+    public record Manifest(LocalDateTime watermark, LocalDateTime lastRunAt, long lastRunMillis,
+                           Map<String, Partition> partitions) {
+    }
+
+    @Scheduled(cron = "${analytics.snapshot-cron:0 30 2 * * *}")
+    public void scheduleNightly() {
+        leaderElection.runIfLeader("analytics.snapshot", () -> {
+            if (enqueue(false) == null) {
+                log.warn("Skipping nightly analytics snapshot, previous one still queued or running");
+            }
+        });
+    }
+
+    /**
+     * Queues a snapshot on the low-priority lane; returns the job id, or null if a snapshot is
+     * already queued or running.
+     */
+    public Long enqueue(boolean full) {
+        if (jobRepository.countByTypeAndStatusIn(JOB_TYPE, EnumSet.of(Job.Status.QUEUED, Job.Status.RUNNING)) > 0) {
+            return null;
+        }
+        return jobQueue.enqueue(JOB_TYPE, new Request(full), Job.Lane.LOW, null).getId();
+    }
+
+    @Override
+    public String getType() {
+        return JOB_TYPE;
+    }
+
+    @Override
+    public Class<Request> getPayloadType() {
+        return Request.class;
+    }
+
+    @Override
+    public synchronized void handle(Request request) throws IOException {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        Files.createDirectories(directory.resolve("appointments"));
+
+        Manifest previous = readManifest();
+        LocalDateTime since = previous != null ? previous.watermark() : null;
+        boolean full = request.full() || since == null
+                || since.isBefore(startedAt.minusDays(tombstoneRetentionDays));
+        Map<String, Partition> partitions = new TreeMap<>(previous != null ? previous.partitions() : Map.of());
+
+        SortedSet<YearMonth> touched = readOnlyTransaction.execute(status -> touchedMonths(since, full, partitions));
+        for (YearMonth month : touched) {
+            Partition partition = writePartition(month);
+            if (partition != null) {
+                partitions.put(month.toString(), partition);
+            } else {
+                partitions.remove(month.toString());
+            }
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000L;
+        writeManifest(new Manifest(startedAt.minusNanos(safetyLagMs * 1_000_000L), startedAt, millis, partitions));
+        log.info("Analytics snapshot ({}) rewrote {} of {} months in {} ms",
+                full ? "full" : "incremental", touched.size(), partitions.size(), millis);
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("directory", directory.toAbsolutePath().toString());
+        status.put("pendingJobs", jobRepository.countByTypeAndStatusIn(JOB_TYPE,
+                EnumSet.of(Job.Status.QUEUED, Job.Status.RUNNING)));
+        try {
+            status.put("manifest", readManifest());
+        } catch (IOException e) {
+            status.put("manifestError", e.getMessage());
+        }
+        return status;
+    }
+
+    private SortedSet<YearMonth> touchedMonths(LocalDateTime since, boolean full, Map<String, Partition> partitions) {
+        Map<YearMonth, Long> counts = new HashMap<>();
+        // Archival moves rows between the tables, so only the sum tells whether a month changed
+        for (List<Object[]> rows : List.of(appointmentRepository.countByMonth(),
+                archivedAppointmentRepository.countByMonth())) {
+            for (Object[] row : rows) {
+                counts.merge(YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue()),
+                        ((Number) row[2]).longValue(), Long::sum);
+            }
+        }
+
+        SortedSet<YearMonth> touched = new TreeSet<>();
+        // Months that gained or lost appointments, or that the manifest holds but the table no longer does
+        counts.forEach((month, count) -> {
+            Partition partition = partitions.get(month.toString());
+            if (full || partition == null || partition.appointments() != count) {
+                touched.add(month);
+            }
+        });
+        partitions.keySet().forEach(month -> {
+            if (!counts.containsKey(YearMonth.parse(month))) {
+                touched.add(YearMonth.parse(month));
+            }
+        });
+        if (full) {
+            return touched;
+        }
+
+        addMonths(touched, appointmentRepository.findMonthsUpdatedSince(since));
+        addMonths(touched, treatmentRepository.findAppointmentMonthsUpdatedSince(since));
+        addMonths(touched, appointmentRepository.findMonthsOfDoctorsUpdatedSince(since));
+        // A deleted treatment's appointment is gone from the tombstone; its doctor and patient narrow it down
+        for (Tombstone tombstone : tombstoneRepository.findByEntityTypeAndDeletedAtGreaterThanEqual(
+                Tombstone.EntityType.TREATMENT, since)) {
+            addMonths(touched, appointmentRepository.findMonthsOfDoctorAndPatient(
+                    tombstone.getDoctorId(), tombstone.getPatientId()));
+        }
+        return touched;
+    }
+
+    private static void addMonths(Collection<YearMonth> months, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            months.add(YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue()));
+        }
+    }
+
+    // Returns null (and removes the partition) when the month has no appointments left
+    private Partition writePartition(YearMonth month) throws IOException {
+        Path partitionDir = directory.resolve("appointments").resolve("month=" + month);
+        Path target = partitionDir.resolve(PARTITION_FILE);
+        Path temp = partitionDir.resolve(PARTITION_FILE + ".tmp");
+        Files.createDirectories(partitionDir);
+
+        LocalDate from = month.atDay(1);
+        long[] counts = new long[2];
+        try (BufferAllocator allocator = new RootAllocator();
+             FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             AppointmentFactArrowWriter writer = new AppointmentFactArrowWriter(allocator, channel,
+                     Map.of("month", month.toString(), "writtenAt", LocalDateTime.now().toString()), batchRows)) {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                // Live rows, then archived ones; one streaming result set open at a time
+                List<Supplier<Stream<AppointmentFactRow>>> sources = List.of(
+                        () -> appointmentRepository.streamFacts(from, from.plusMonths(1)),
+                        () -> archivedAppointmentRepository.streamFacts(from, from.plusMonths(1)));
+                try {
+                    for (Supplier<Stream<AppointmentFactRow>> source : sources) {
+                        try (Stream<AppointmentFactRow> rows = source.get()) {
+                            long lastAppointmentId = -1;
+                            for (AppointmentFactRow row : (Iterable<AppointmentFactRow>) rows::iterator) {
+                                // Rows arrive grouped by appointment, one per treatment
+                                if (row.getAppointmentId() != lastAppointmentId) {
+                                    lastAppointmentId = row.getAppointmentId();
+                                    counts[0]++;
+                                }
+                                writer.write(row);
+                            }
+                        }
+                    }
+                    writer.finish();
+                    counts[1] = writer.getRows();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(temp);
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        if (counts[0] == 0) {
+            Files.deleteIfExists(temp);
+            Files.deleteIfExists(target);
+            Files.deleteIfExists(partitionDir);
+            return null;
+        }
+        long bytes = Files.size(temp);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new Partition(counts[0], counts[1], bytes, LocalDateTime.now());
+    }
+
+    private Manifest readManifest() throws IOException {
+        Path path = directory.resolve(MANIFEST);
+        return Files.exists(path) ? objectMapper.readValue(path.toFile(), Manifest.class) : null;
+    }
+
+    private void writeManifest(Manifest manifest) throws IOException {
+        Path temp = directory.resolve(MANIFEST + ".tmp");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), manifest);
+        Files.move(temp, directory.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,179 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.model.Appointment;
+import com.doctorbooking.backend.model.Job;
+import com.doctorbooking.backend.repository.AppointmentRepository;
+import com.doctorbooking.backend.repository.ArchivedAppointmentRepository;
+import com.doctorbooking.backend.repository.JobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves closed (COMPLETED or CANCELLED) appointments from whole months older than
+ * {@code archive.horizon-months} into {@code appointments_archive}, so the booking table and its
+ * indexes only hold the recent and still-open part of the history.
+ * <p>
+ * Treatments and feedback reference appointments by foreign key, and ratings, reports and the
+ * analytics snapshot join through that key, so appointments that either references stay in the
+ * live table. The same foreign keys rule out native partitioning of {@code appointments}.
+ * <p>
+ * The job walks the archivable range one day and status at a time, in keyset chunks of
+ * {@code archive.batch-size} that are copied and deleted in one transaction each; a chunk that
+ * loses a race with a new treatment or feedback fails on the foreign key and is retried next run.
+ * Archiving is not a deletion, so no tombstones are written and synced clients keep their copies.
+ */
+@Service
+@Slf4j
+public class AppointmentArchiveService implements JobHandler<AppointmentArchiveService.Request> {
+
+    public static final String JOB_TYPE = "appointments.archive";
+    private static final List<Appointment.AppointmentStatus> CLOSED =
+            List.of(Appointment.AppointmentStatus.COMPLETED, Appointment.AppointmentStatus.CANCELLED);
+
+    private final AppointmentRepository appointmentRepository;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+    private final AggregateVersions aggregateVersions;
+    private final JobRepository jobRepository;
+    private final JobQueue jobQueue;
+    private final LeaderElection leaderElection;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${archive.horizon-months:12}")
+    private int horizonMonths;
+
+    @Value("${archive.batch-size:500}")
+    private int batchSize;
+
+    public AppointmentArchiveService(AppointmentRepository appointmentRepository,
+                                     ArchivedAppointmentRepository archivedAppointmentRepository,
+                                     AggregateVersions aggregateVersions,
+                                     JobRepository jobRepository,
+                                     JobQueue jobQueue,
+                                     LeaderElection leaderElection,
+                                     PlatformTransactionManager transactionManager) {
+        this.appointmentRepository = appointmentRepository;
+        this.archivedAppointmentRepository = archivedAppointmentRepository;
+        this.aggregateVersions = aggregateVersions;
+        this.jobRepository = jobRepository;
+        this.jobQueue = jobQueue;
+        this.leaderElection = leaderElection;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Archives closed appointments dated before 'before'
+    public record Request(LocalDate before) {
+    }
+
+    private record Chunk(int moved, long lastId) {
+    }
+
+    @Scheduled(cron = "${archive.cron:0 0 4 * * *}")
+    public void scheduleNightly() {
+        leaderElection.runIfLeader("appointments.archive", () -> {
+            if (enqueue() == null) {
+                log.warn("Skipping appointment archival, previous run still queued or running");
+            }
+        });
+    }
+
+    /**
+     * Queues an archival run up to the current cutoff; returns the job id, or null if a run is
+     * already queued or running.
+     */
+    public Long enqueue() {
+        if (jobRepository.countByTypeAndStatusIn(JOB_TYPE, EnumSet.of(Job.Status.QUEUED, Job.Status.RUNNING)) > 0) {
+            return null;
+        }
+        return jobQueue.enqueue(JOB_TYPE, new Request(getCutoff()), Job.Lane.LOW, null).getId();
+    }
+
+    // First day of the oldest month that stays live
+    public LocalDate getCutoff() {
+        return YearMonth.now().minusMonths(horizonMonths).atDay(1);
+    }
+
+    @Override
+    public String getType() {
+        return JOB_TYPE;
+    }
+
+    @Override
+    public Class<Request> getPayloadType() {
+        return Request.class;
+    }
+
+    @Override
+    public void handle(Request request) {
+        long start = System.nanoTime();
+        LocalDate earliest = appointmentRepository.findEarliestDate(request.before(), CLOSED).orElse(null);
+        if (earliest == null) {
+            log.info("No closed appointments before {} to archive", request.before());
+            return;
+        }
+        long archived = 0;
+        for (LocalDate date = earliest; date.isBefore(request.before()); date = date.plusDays(1)) {
+            for (Appointment.AppointmentStatus status : CLOSED) {
+                archived += archiveDay(date, status);
+            }
+        }
+        log.info("Archived {} appointments dated {}..{} in {} ms", archived, earliest, request.before().minusDays(1),
+                (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("horizonMonths", horizonMonths);
+        status.put("cutoff", getCutoff().toString());
+        status.put("archived", archivedAppointmentRepository.count());
+        status.put("latestArchivedDate", archivedAppointmentRepository.findLatestDate().map(LocalDate::toString)
+                .orElse(null));
+        status.put("pendingJobs", jobRepository.countByTypeAndStatusIn(JOB_TYPE,
+                EnumSet.of(Job.Status.QUEUED, Job.Status.RUNNING)));
+        return status;
+    }
+
+    private long archiveDay(LocalDate date, Appointment.AppointmentStatus status) {
+        long archived = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            Chunk chunk = transactionTemplate.execute(tx -> moveChunk(date, status, from));
+            archived += chunk.moved();
+            if (chunk.moved() < batchSize) {
+                return archived;
+            }
+            afterId = chunk.lastId();
+        }
+    }
+
+    private Chunk moveChunk(LocalDate date, Appointment.AppointmentStatus status, long afterId) {
+        List<Object[]> rows = appointmentRepository.findArchivableOnDate(date, status, afterId,
+                PageRequest.of(0, batchSize));
+        if (rows.isEmpty()) {
+            return new Chunk(0, afterId);
+        }
+        List<Long> ids = rows.stream().map(row -> (Long) row[0]).toList();
+        int copied = archivedAppointmentRepository.copyFromAppointments(ids, LocalDateTime.now());
+        if (copied != ids.size()) {
+            throw new IllegalStateException("Copied " + copied + " of " + ids.size() + " appointments on " + date);
+        }
+        appointmentRepository.deleteByIdIn(ids);
+        // The moved rows drop out of these patients' default appointment listing
+        rows.stream().map(row -> (Long) row[1]).distinct()
+                .forEach(patientId -> aggregateVersions.bump(AggregateVersions.Aggregate.PATIENT_APPOINTMENTS, patientId));
+        return new Chunk(ids.size(), ids.get(ids.size() - 1));
+    }
+}
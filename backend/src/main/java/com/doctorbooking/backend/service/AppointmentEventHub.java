@@ -0,0 +1,302 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.dto.response.AppointmentEventMessage;
+import com.doctorbooking.backend.event.AppointmentChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fan-out of committed appointment changes to Server-Sent Event subscribers. Each change is
+ * rendered to JSON once and appended to a short replay ring per topic (admin, one per doctor,
+ * one per patient); a subscriber is just its emitter, its topic and the last sequence it was sent.
+ * <p>
+ * Sends are coalesced: a change only schedules a flush for the subscriber, and the flush (run
+ * on a virtual thread after {@code events.coalesce-ms}) sends the latest state of each appointment
+ * touched since the subscriber's last event. Idle connections hold no thread; a periodic comment
+ * keeps proxies from closing them. Event ids let clients resume with Last-Event-ID; when the gap
+ * is no longer in the ring (or the server restarted) the client is told to reload instead.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentEventHub {
+
+    public static final String ADMIN_TOPIC = "admin";
+    private static final String EVENT_NAME = "appointment";
+    private static final String RESET_EVENT = "reset";
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Value("${events.coalesce-ms:250}")
+    private long coalesceMs;
+
+    @Value("${events.heartbeat-ms:25000}")
+    private long heartbeatMs;
+
+    @Value("${events.replay-size:64}")
+    private int replaySize;
+
+    @Value("${events.replay-retention-ms:600000}")
+    private long replayRetentionMs;
+
+    @Value("${events.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    // Event ids are "<bootId>-<seq>" so ids from before a restart are recognised as stale
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService timer;
+    private ExecutorService senders;
+
+    public static String doctorTopic(Long doctorId) {
+        return "doctor:" + doctorId;
+    }
+
+    public static String patientTopic(Long patientId) {
+        return "patient:" + patientId;
+    }
+
+    @PostConstruct
+    public void start() {
+        timer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("sse-timer").daemon(true).factory());
+        senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-send-", 0).factory());
+        timer.scheduleAtFixedRate(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        timer.shutdownNow();
+        senders.shutdownNow();
+        topics.values().forEach(topic -> topic.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    public SseEmitter subscribe(String topicKey, String lastEventId) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new RuntimeException("Too many event subscribers");
+        }
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Topic topic = topics.computeIfAbsent(topicKey, key -> new Topic(sequence.get()));
+        long current = sequence.get();
+        Long resumeFrom = parseEventId(lastEventId);
+        Subscriber subscriber = new Subscriber(emitter, topic,
+                resumeFrom != null && resumeFrom <= current ? resumeFrom : current);
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(subscriber));
+        topic.subscribers.add(subscriber);
+
+        senders.execute(() -> {
+            subscriber.lock.lock();
+            try {
+                // Flushes the response headers so the client sees the stream open immediately
+                emitter.send(SseEmitter.event().comment("connected"));
+                if (lastEventId != null && (resumeFrom == null || resumeFrom > current)) {
+                    sendReset(subscriber, current);
+                }
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(subscriber);
+            } finally {
+                subscriber.lock.unlock();
+            }
+            if (lastEventId != null) {
+                flush(subscriber);
+            }
+        });
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(AppointmentEventMessage.fromEvent(event));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not render appointment event {}", event.getAppointmentId(), e);
+            return;
+        }
+        Entry entry = new Entry(sequence.incrementAndGet(), event.getAppointmentId(), json);
+        for (String key : List.of(ADMIN_TOPIC, doctorTopic(event.getDoctorId()), patientTopic(event.getPatientId()))) {
+            Topic topic = topics.computeIfAbsent(key, k -> new Topic(entry.seq));
+            topic.append(entry, replaySize);
+            topic.subscribers.forEach(this::scheduleFlush);
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // ========== Delivery ==========
+
+    private void scheduleFlush(Subscriber subscriber) {
+        if (subscriber.flushPending.compareAndSet(false, true)) {
+            timer.schedule(() -> senders.execute(() -> flush(subscriber)), coalesceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush(Subscriber subscriber) {
+        subscriber.flushPending.set(false);
+        subscriber.lock.lock();
+        try {
+            List<Entry> entries = subscriber.topic.since(subscriber.lastSeq);
+            if (entries == null) {
+                // Fell out of the replay ring; the client has to reload
+                sendReset(subscriber, subscriber.topic.newestSeq());
+                return;
+            }
+            if (entries.isEmpty()) {
+                return;
+            }
+            // Only the latest change per appointment, in the order of those latest changes
+            Map<Long, Entry> latest = new LinkedHashMap<>();
+            for (Entry entry : entries) {
+                latest.remove(entry.appointmentId);
+                latest.put(entry.appointmentId, entry);
+            }
+            for (Entry entry : latest.values()) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(eventId(entry.seq))
+                        .name(EVENT_NAME)
+                        .data(entry.json));
+            }
+            subscriber.lastSeq = entries.get(entries.size() - 1).seq;
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(subscriber);
+        } finally {
+            subscriber.lock.unlock();
+        }
+    }
+
+    private void sendReset(Subscriber subscriber, long seq) throws IOException {
+        subscriber.emitter.send(SseEmitter.event().id(eventId(seq)).name(RESET_EVENT).data("{}"));
+        subscriber.lastSeq = seq;
+    }
+
+    private void heartbeat() {
+        long now = System.currentTimeMillis();
+        topics.forEach((key, topic) -> {
+            if (topic.subscribers.isEmpty() && now - topic.lastAppendAt > replayRetentionMs) {
+                topics.remove(key, topic);
+                return;
+            }
+            for (Subscriber subscriber : topic.subscribers) {
+                senders.execute(() -> {
+                    subscriber.lock.lock();
+                    try {
+                        subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } catch (IOException | IllegalStateException e) {
+                        unsubscribe(subscriber);
+                    } finally {
+                        subscriber.lock.unlock();
+                    }
+                });
+            }
+        });
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscriber.topic.subscribers.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    private String eventId(long seq) {
+        return bootId + "-" + seq;
+    }
+
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(bootId + "-")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(bootId.length() + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // ========== State ==========
+
+    private record Entry(long seq, long appointmentId, String json) {
+    }
+
+    private static final class Topic {
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final ArrayDeque<Entry> recent = new ArrayDeque<>();
+        private long evictedUpTo; // highest seq dropped from the ring
+        private volatile long lastAppendAt = System.currentTimeMillis();
+
+        // A topic may have been dropped and recreated, so nothing before its creation can be replayed
+        private Topic(long createdAt) {
+            this.evictedUpTo = createdAt;
+        }
+
+        private synchronized void append(Entry entry, int capacity) {
+            recent.addLast(entry);
+            while (recent.size() > capacity) {
+                evictedUpTo = recent.removeFirst().seq;
+            }
+            lastAppendAt = System.currentTimeMillis();
+        }
+
+        // Entries after seq, or null when some of them were already evicted
+        private synchronized List<Entry> since(long seq) {
+            if (seq < evictedUpTo) {
+                return null;
+            }
+            List<Entry> entries = new ArrayList<>();
+            for (Entry entry : recent) {
+                if (entry.seq > seq) {
+                    entries.add(entry);
+                }
+            }
+            return entries;
+        }
+
+        private synchronized long newestSeq() {
+            return recent.isEmpty() ? evictedUpTo : recent.getLast().seq;
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Topic topic;
+        private final AtomicBoolean flushPending = new AtomicBoolean();
+        // Serializes sends; a lock rather than a monitor, since sends block on I/O in virtual threads
+        // and a monitor held across them would pin the carrier thread
+        private final ReentrantLock lock = new ReentrantLock();
+        private long lastSeq; // guarded by lock
+
+        private Subscriber(SseEmitter emitter, Topic topic, long lastSeq) {
+            this.emitter = emitter;
+            this.topic = topic;
+            this.lastSeq = lastSeq;
+        }
+    }
+}
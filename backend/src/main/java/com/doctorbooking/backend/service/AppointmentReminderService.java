@@ -0,0 +1,252 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.dto.response.ReminderRunResponse;
+import com.doctorbooking.backend.model.Appointment;
+import com.doctorbooking.backend.model.AppointmentReminder;
+import com.doctorbooking.backend.repository.AppointmentReminderRepository;
+import com.doctorbooking.backend.repository.AppointmentRepository;
+import com.doctorbooking.backend.util.RateLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends reminders for the next day's CONFIRMED appointments.
+ * <p>
+ * The day is read in keyset chunks (id order within the date/status index), so memory stays flat
+ * however many appointments there are. Each reminder is claimed by inserting its
+ * {@link AppointmentReminder} row before it is sent; reruns skip anything already sent and retry
+ * failures up to {@code reminders.max-attempts}. Sending happens on a bounded worker pool, with a
+ * token bucket per channel so gateways are not flooded.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentReminderService {
+
+    private static final String DEFAULT_TEMPLATE =
+            "Reminder: {patient}, you have an appointment with Dr. {doctor} on {date} at {time}.";
+
+    private final AppointmentRepository appointmentRepository;
+    private final AppointmentReminderRepository reminderRepository;
+    private final List<ReminderSender> senders;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaderElection leaderElection;
+
+    @Value("${reminders.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${reminders.workers:8}")
+    private int workers;
+
+    @Value("${reminders.rate.email:50}")
+    private double emailPerSecond;
+
+    @Value("${reminders.rate.sms:10}")
+    private double smsPerSecond;
+
+    @Value("${reminders.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${reminders.claim-timeout-ms:600000}")
+    private long claimTimeoutMs;
+
+    @Value("${reminders.template:}")
+    private String template;
+
+    private final AtomicReference<Run> currentRun = new AtomicReference<>();
+
+    @Scheduled(cron = "${reminders.cron:0 0 18 * * *}")
+    public void remindTomorrow() {
+        // Reruns are harmless, but one node scanning the day is enough
+        leaderElection.runIfLeader("reminders.daily", () -> {
+            if (!start(LocalDate.now().plusDays(1))) {
+                log.warn("Skipping scheduled reminder run, previous run still in progress");
+            }
+        });
+    }
+
+    /**
+     * Starts a run for the given day in the background; returns false if one is already running.
+     * Runs can take hours under the rate limits, so they never hold the scheduler thread.
+     */
+    public boolean start(LocalDate date) {
+        Run run = new Run(date);
+        Run previous = currentRun.get();
+        if (previous != null && previous.finishedAt == null) {
+            return false;
+        }
+        if (!currentRun.compareAndSet(previous, run)) {
+            return false;
+        }
+        Thread.ofPlatform().name("reminders-" + date).start(() -> execute(run));
+        return true;
+    }
+
+    public ReminderRunResponse getStatus() {
+        Run run = currentRun.get();
+        return run != null ? run.toResponse() : null;
+    }
+
+    private void execute(Run run) {
+        Map<AppointmentReminder.Channel, ReminderSender> byChannel = new EnumMap<>(AppointmentReminder.Channel.class);
+        senders.forEach(sender -> byChannel.put(sender.getChannel(), sender));
+        Map<AppointmentReminder.Channel, RateLimiter> limiters = new EnumMap<>(AppointmentReminder.Channel.class);
+        limiters.put(AppointmentReminder.Channel.EMAIL, new RateLimiter(emailPerSecond));
+        limiters.put(AppointmentReminder.Channel.SMS, new RateLimiter(smsPerSecond));
+
+        // Bounded queue + caller-runs: when workers fall behind, the scanning thread sends too and stops reading ahead
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workers * 4), Thread.ofPlatform().name("reminder-worker-", 0).factory(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        try {
+            long afterId = 0;
+            List<Appointment> chunk;
+            do {
+                chunk = appointmentRepository.findChunkOnDate(run.date, Appointment.AppointmentStatus.CONFIRMED,
+                        afterId, PageRequest.of(0, chunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                afterId = chunk.get(chunk.size() - 1).getId();
+                Map<String, AppointmentReminder> existing = new HashMap<>();
+                reminderRepository.findByAppointmentIdIn(chunk.stream().map(Appointment::getId).toList())
+                        .forEach(r -> existing.put(key(r.getAppointmentId(), r.getChannel()), r));
+
+                for (Appointment appointment : chunk) {
+                    run.scanned.increment();
+                    for (Map.Entry<AppointmentReminder.Channel, ReminderSender> entry : byChannel.entrySet()) {
+                        AppointmentReminder.Channel channel = entry.getKey();
+                        String recipient = recipient(appointment, channel);
+                        if (recipient == null) {
+                            continue;
+                        }
+                        AppointmentReminder prior = existing.get(key(appointment.getId(), channel));
+                        if (prior != null && (prior.getStatus() == AppointmentReminder.Status.SENT
+                                || prior.getAttempts() >= maxAttempts)) {
+                            run.skipped.increment();
+                            continue;
+                        }
+                        ReminderSender.Message message = new ReminderSender.Message(appointment.getId(), channel,
+                                recipient, appointment.getAppointmentDate(), render(appointment));
+                        Long priorId = prior != null ? prior.getId() : null;
+                        pool.execute(() -> deliver(message, priorId, entry.getValue(), limiters.get(channel), run));
+                    }
+                }
+            } while (chunk.size() == chunkSize);
+        } catch (RuntimeException e) {
+            log.error("Reminder run for {} aborted", run.date, e);
+        } finally {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            run.finishedAt = LocalDateTime.now();
+            log.info("Reminder run for {}: {} appointments, {} sent, {} skipped, {} failed", run.date,
+                    run.scanned.sum(), run.sent.sum(), run.skipped.sum(), run.failed.sum());
+        }
+    }
+
+    private void deliver(ReminderSender.Message message, Long priorId, ReminderSender sender,
+                         RateLimiter limiter, Run run) {
+        Long reminderId = claim(message, priorId);
+        if (reminderId == null) {
+            run.skipped.increment();
+            return;
+        }
+        try {
+            limiter.acquire();
+            sender.send(message);
+            transactionTemplate.executeWithoutResult(status ->
+                    reminderRepository.markSent(reminderId, LocalDateTime.now()));
+            run.sent.increment();
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            String error = e.toString();
+            transactionTemplate.executeWithoutResult(status -> reminderRepository.markFailed(reminderId,
+                    error.length() > 500 ? error.substring(0, 500) : error));
+            run.failed.increment();
+            log.warn("{} reminder for appointment {} failed: {}", message.channel(), message.appointmentId(), error);
+        }
+    }
+
+    // Returns the id of the claimed reminder row, or null when another run already owns it
+    private Long claim(ReminderSender.Message message, Long priorId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (priorId != null) {
+            Integer claimed = transactionTemplate.execute(status ->
+                    reminderRepository.reclaim(priorId, now, now.minusNanos(claimTimeoutMs * 1_000_000L)));
+            return claimed != null && claimed > 0 ? priorId : null;
+        }
+        AppointmentReminder reminder = new AppointmentReminder();
+        reminder.setAppointmentId(message.appointmentId());
+        reminder.setChannel(message.channel());
+        reminder.setRecipient(message.recipient());
+        reminder.setClaimedAt(now);
+        try {
+            return reminderRepository.saveAndFlush(reminder).getId();
+        } catch (DataIntegrityViolationException e) {
+            return null;
+        }
+    }
+
+    private String recipient(Appointment appointment, AppointmentReminder.Channel channel) {
+        String value = switch (channel) {
+            case EMAIL -> appointment.getPatient().getUser().getEmail();
+            case SMS -> appointment.getPatient().getPhone();
+        };
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private String render(Appointment appointment) {
+        return (template.isBlank() ? DEFAULT_TEMPLATE : template)
+                .replace("{patient}", appointment.getPatient().getFullName())
+                .replace("{doctor}", appointment.getDoctor().getFullName())
+                .replace("{date}", appointment.getAppointmentDate().toString())
+                .replace("{time}", appointment.getAppointmentTime().toString());
+    }
+
+    private static String key(Long appointmentId, AppointmentReminder.Channel channel) {
+        return appointmentId + ":" + channel;
+    }
+
+    private static class Run {
+        final LocalDate date;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        volatile LocalDateTime finishedAt;
+        final LongAdder scanned = new LongAdder();
+        final LongAdder sent = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+        final LongAdder failed = new LongAdder();
+
+        Run(LocalDate date) {
+            this.date = date;
+        }
+
+        ReminderRunResponse toResponse() {
+            return new ReminderRunResponse(date, finishedAt == null, startedAt, finishedAt,
+                    scanned.sum(), sent.sum(), skipped.sum(), failed.sum());
+        }
+    }
+}
@@ -2,19 +2,24 @@ package com.doctorbooking.backend.service;
 
 import com.doctorbooking.backend.dto.request.CreateAppointmentRequest;
 import com.doctorbooking.backend.dto.response.AppointmentResponse;
+import com.doctorbooking.backend.event.AppointmentChangedEvent;
 import com.doctorbooking.backend.model.Appointment;
 import com.doctorbooking.backend.model.Doctor;
 import com.doctorbooking.backend.model.Patient;
 import com.doctorbooking.backend.repository.AppointmentRepository;
+import com.doctorbooking.backend.repository.ArchivedAppointmentRepository;
 import com.doctorbooking.backend.repository.DoctorRepository;
 import com.doctorbooking.backend.repository.PatientRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,8 +27,12 @@ import java.util.stream.Collectors;
 public class AppointmentService {
 
     private final AppointmentRepository appointmentRepository;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
+    private final AggregateVersions aggregateVersions;
+    private final AnalyticsSketchService analyticsSketchService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<AppointmentResponse> getAllAppointments() {
         // Use custom query to fetch all with relationships
@@ -41,10 +50,27 @@ public class AppointmentService {
                 .collect(Collectors.toList());
     }
 
+    // One doctor's appointments, optionally for a single day
+    public List<AppointmentResponse> getDoctorAppointments(Long doctorId, LocalDate date) {
+        List<Appointment> appointments = date != null
+                ? appointmentRepository.findByDoctorAndDate(doctorId, date)
+                : appointmentRepository.findByDoctorId(doctorId);
+        return appointments.stream()
+                .map(AppointmentResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    // Column-narrowed listing for fields= requests; only the selected columns are queried
+    @Transactional(readOnly = true)
+    public List<AppointmentResponse> getAppointmentsSparse(LocalDate date, Set<String> fields) {
+        return appointmentRepository.findSparse(fields, date);
+    }
+
     public AppointmentResponse getAppointmentById(Long id) {
-        Appointment appointment = appointmentRepository.findByIdWithRelations(id)
+        return appointmentRepository.findByIdWithRelations(id)
+                .map(AppointmentResponse::fromEntity)
+                .or(() -> archivedAppointmentRepository.findByIdWithRelations(id).map(AppointmentResponse::fromEntity))
                 .orElseThrow(() -> new RuntimeException("Appointment not found with id: " + id));
-        return AppointmentResponse.fromEntity(appointment);
     }
 
     // Patient Appointment Booking
@@ -87,6 +113,9 @@ public class AppointmentService {
         appointment.setNotes(request.getNotes());
 
         appointment = appointmentRepository.save(appointment);
+        aggregateVersions.bump(AggregateVersions.Aggregate.PATIENT_APPOINTMENTS, patientId);
+        analyticsSketchService.recordVisit(doctor.getId(), patientId, appointment.getAppointmentDate());
+        eventPublisher.publishEvent(AppointmentChangedEvent.of(appointment, null));
         return AppointmentResponse.fromEntity(appointment);
     }
 
@@ -96,6 +125,25 @@ public class AppointmentService {
                 .collect(Collectors.toList());
     }
 
+    // Appointments dated on or after 'from', including archived ones when the archive reaches that far back
+    public List<AppointmentResponse> getPatientAppointments(Long patientId, LocalDate from) {
+        List<AppointmentResponse> appointments = appointmentRepository.findByPatientIdFrom(patientId, from).stream()
+                .map(AppointmentResponse::fromEntity)
+                .collect(Collectors.toList());
+        boolean archived = archivedAppointmentRepository.findLatestDate()
+                .map(latest -> !from.isAfter(latest))
+                .orElse(false);
+        if (archived) {
+            archivedAppointmentRepository.findByPatientIdFrom(patientId, from).stream()
+                    .map(AppointmentResponse::fromEntity)
+                    .forEach(appointments::add);
+            appointments.sort(Comparator.comparing(AppointmentResponse::getAppointmentDate)
+                    .thenComparing(AppointmentResponse::getAppointmentTime)
+                    .reversed());
+        }
+        return appointments;
+    }
+
     @Transactional
     public void cancelAppointment(Long appointmentId, Long patientId) {
         Appointment appointment = appointmentRepository.findById(appointmentId)
@@ -115,8 +163,11 @@ public class AppointmentService {
             throw new RuntimeException("Appointment is already cancelled");
         }
 
+        Appointment.AppointmentStatus previousStatus = appointment.getStatus();
         appointment.setStatus(Appointment.AppointmentStatus.CANCELLED);
         appointmentRepository.save(appointment);
+        aggregateVersions.bump(AggregateVersions.Aggregate.PATIENT_APPOINTMENTS, patientId);
+        eventPublisher.publishEvent(AppointmentChangedEvent.of(appointment, previousStatus));
     }
 
     // Doctor confirms appointment (PENDING -> CONFIRMED)
@@ -137,6 +188,8 @@ public class AppointmentService {
 
         appointment.setStatus(Appointment.AppointmentStatus.CONFIRMED);
         appointment = appointmentRepository.save(appointment);
+        aggregateVersions.bump(AggregateVersions.Aggregate.PATIENT_APPOINTMENTS, appointment.getPatient().getId());
+        eventPublisher.publishEvent(AppointmentChangedEvent.of(appointment, Appointment.AppointmentStatus.PENDING));
         return AppointmentResponse.fromEntity(appointment);
     }
 
@@ -153,6 +206,8 @@ public class AppointmentService {
 
         appointment.setStatus(Appointment.AppointmentStatus.COMPLETED);
         appointmentRepository.save(appointment);
+        aggregateVersions.bump(AggregateVersions.Aggregate.PATIENT_APPOINTMENTS, appointment.getPatient().getId());
+        eventPublisher.publishEvent(AppointmentChangedEvent.of(appointment, Appointment.AppointmentStatus.CONFIRMED));
     }
 }
 
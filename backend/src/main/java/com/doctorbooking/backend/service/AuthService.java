@@ -3,6 +3,7 @@ package com.doctorbooking.backend.service;
 import com.doctorbooking.backend.dto.request.LoginRequest;
 import com.doctorbooking.backend.dto.request.RegisterRequest;
 import com.doctorbooking.backend.dto.response.AuthResponse;
+import com.doctorbooking.backend.event.PatientRegisteredEvent;
 import com.doctorbooking.backend.model.Admin;
 import com.doctorbooking.backend.model.Doctor;
 import com.doctorbooking.backend.model.Patient;
@@ -13,6 +14,7 @@ import com.doctorbooking.backend.repository.PatientRepository;
 import com.doctorbooking.backend.repository.UserRepository;
 import com.doctorbooking.backend.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -35,6 +37,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public AuthResponse register(RegisterRequest request) {
@@ -62,7 +65,8 @@ public class AuthService {
         patient.setUser(user);
         patient.setFullName(request.getFullName());
         patient.setPhone(request.getPhone());
-        patientRepository.save(patient);
+        patient = patientRepository.save(patient);
+        eventPublisher.publishEvent(new PatientRegisteredEvent(patient.getId()));
 
         // Generate tokens
         Map<String, Object> extraClaims = new HashMap<>();
@@ -118,11 +122,11 @@ public class AuthService {
             String usernameFromDetails = userDetails.getUsername();
             System.out.println("⚠️ AuthService.login - Principal is not User entity, loading from DB with username: " + usernameFromDetails);
             user = userRepository.findByUsername(usernameFromDetails)
-                    .orElse(userRepository.findByEmail(usernameFromDetails)
-                            .orElseThrow(() -> {
-                                System.err.println("❌ User not found with username/email: " + usernameFromDetails);
-                                return new RuntimeException("User not found: " + usernameFromDetails);
-                            }));
+                    .or(() -> userRepository.findByEmail(usernameFromDetails))
+                    .orElseThrow(() -> {
+                        System.err.println("❌ User not found with username/email: " + usernameFromDetails);
+                        return new RuntimeException("User not found: " + usernameFromDetails);
+                    });
         }
 
         // Generate tokens
@@ -0,0 +1,167 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.dto.request.BatchRequest;
+import com.doctorbooking.backend.dto.response.BatchResponse;
+import com.doctorbooking.backend.util.BatchSubRequest;
+import com.doctorbooking.backend.util.BufferedSubResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs the GET sub-requests of a batch through the DispatcherServlet. The outer request is
+ * authenticated once by the filter chain; each sub-request reuses that Authentication, is checked
+ * against the same URL rules with the privilege evaluator, and then hits the normal controllers
+ * (so method security, conditional GETs and sparse fields all behave as for a direct call).
+ * <p>
+ * Sub-requests run on virtual threads, at most {@code batch.max-concurrency} at a time so one
+ * batch cannot take over the connection pool.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchService {
+
+    private static final String API_PREFIX = "/api";
+    private static final String BATCH_PATH = API_PREFIX + "/batch";
+
+    private final DispatcherServlet dispatcherServlet;
+    private final WebInvocationPrivilegeEvaluator privilegeEvaluator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${batch.max-requests:20}")
+    private int maxRequests;
+
+    @Value("${batch.max-concurrency:4}")
+    private int maxConcurrency;
+
+    @Value("${batch.timeout-ms:10000}")
+    private long timeoutMs;
+
+    public BatchResponse execute(List<BatchRequest.Item> items, HttpServletRequest request,
+                                 HttpServletResponse response) {
+        if (items.size() > maxRequests) {
+            throw new RuntimeException("A batch may contain at most " + maxRequests + " requests");
+        }
+        Set<String> ids = new HashSet<>();
+        for (BatchRequest.Item item : items) {
+            if (!ids.add(item.getId())) {
+                throw new RuntimeException("Duplicate request id: " + item.getId());
+            }
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        BatchResponse.Item[] results = new BatchResponse.Item[items.size()];
+        Map<Integer, Future<BatchResponse.Item>> pending = new LinkedHashMap<>();
+        Semaphore permits = new Semaphore(Math.max(1, maxConcurrency));
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            for (int i = 0; i < items.size(); i++) {
+                BatchRequest.Item item = items.get(i);
+                BatchSubRequest subRequest = toSubRequest(item, request);
+                if (subRequest == null) {
+                    results[i] = error(item.getId(), HttpStatus.BAD_REQUEST, "Invalid path: " + item.getPath());
+                } else if (!privilegeEvaluator.isAllowed(subRequest.getContextPath(), subRequest.getPath(),
+                        subRequest.getMethod(), authentication)) {
+                    results[i] = error(item.getId(), HttpStatus.FORBIDDEN, "Access denied");
+                } else {
+                    pending.put(i, executor.submit(() -> {
+                        permits.acquire();
+                        try {
+                            return dispatch(item.getId(), subRequest, response, authentication);
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                }
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            for (Map.Entry<Integer, Future<BatchResponse.Item>> entry : pending.entrySet()) {
+                String id = items.get(entry.getKey()).getId();
+                Future<BatchResponse.Item> future = entry.getValue();
+                try {
+                    results[entry.getKey()] = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    future.cancel(true);
+                    results[entry.getKey()] = error(id, HttpStatus.GATEWAY_TIMEOUT, "Request timed out");
+                } catch (ExecutionException e) {
+                    log.warn("Batch sub-request {} failed", id, e.getCause());
+                    results[entry.getKey()] = error(id, HttpStatus.INTERNAL_SERVER_ERROR, "Request failed");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Batch interrupted");
+                }
+            }
+        } finally {
+            // Don't wait for timed-out sub-requests; they were interrupted above
+            executor.shutdownNow();
+        }
+        return new BatchResponse(Arrays.asList(results));
+    }
+
+    private BatchSubRequest toSubRequest(BatchRequest.Item item, HttpServletRequest request) {
+        String path = item.getPath().trim();
+        if (!path.startsWith("/") || path.contains("..") || path.contains("#")) {
+            return null;
+        }
+        try {
+            BatchSubRequest subRequest = new BatchSubRequest(request, API_PREFIX + path);
+            // No nested batches
+            return subRequest.getPath().startsWith(BATCH_PATH) ? null : subRequest;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private BatchResponse.Item dispatch(String id, BatchSubRequest request, HttpServletResponse outer,
+                                        Authentication authentication) throws Exception {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            BufferedSubResponse response = new BufferedSubResponse(outer);
+            dispatcherServlet.service(request, response);
+            return new BatchResponse.Item(id, response.getStatus(), body(response));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // JSON bodies are embedded as-is; anything else (plain-text errors) becomes a JSON string
+    private String body(BufferedSubResponse response) throws JsonProcessingException {
+        byte[] bytes = response.getBody();
+        if (bytes.length == 0) {
+            return null;
+        }
+        String text = new String(bytes, response.getCharset());
+        String contentType = response.getContentType();
+        if (contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            return text;
+        }
+        return objectMapper.writeValueAsString(text);
+    }
+
+    private BatchResponse.Item error(String id, HttpStatus status, String message) {
+        try {
+            return new BatchResponse.Item(id, status.value(), objectMapper.writeValueAsString(Map.of("message", message)));
+        } catch (JsonProcessingException e) {
+            return new BatchResponse.Item(id, status.value(), null);
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.event.AppointmentChangedEvent;
+import com.doctorbooking.backend.event.DoctorChangedEvent;
+import com.doctorbooking.backend.event.FeedbackChangedEvent;
+import com.doctorbooking.backend.event.PatientRegisteredEvent;
+import com.doctorbooking.backend.event.TreatmentChangedEvent;
+import com.doctorbooking.backend.model.CacheInvalidation;
+import com.doctorbooking.backend.model.Doctor;
+import com.doctorbooking.backend.model.Patient;
+import com.doctorbooking.backend.model.User;
+import com.doctorbooking.backend.repository.CacheInvalidationRepository;
+import com.doctorbooking.backend.util.NodeId;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps in-process caches coherent across nodes. Writes record which entities they touched in the
+ * cache_invalidations table (one row per type per transaction, committed with the change); every
+ * node polls the rows past its high-water mark and hands the ids of other nodes' writes to the
+ * subscribers of each type. Entity regions of the Hibernate second-level cache are evicted here.
+ * <p>
+ * A remote write is visible one {@code bus.poll-ms} after it commits. Ids are handed out at insert
+ * but become visible at commit, so the mark can pass a row whose transaction is still open: every
+ * id the mark skips is kept as a gap and looked up again on each poll, until it shows up or
+ * {@code bus.gap-timeout-ms} passes (its transaction rolled back, or outlived the timeout and is
+ * reported as lost).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationBus {
+
+    public static final String DOCTOR = "DOCTOR";
+    public static final String PATIENT = "PATIENT";
+    public static final String USER = "USER";
+    public static final String DOCTOR_SCHEDULE = "DOCTOR_SCHEDULE"; // keyed by doctor id
+    public static final String ADMIN_SUMMARY = "ADMIN_SUMMARY";     // single key 0
+    public static final String DOCTOR_RATING = "DOCTOR_RATING";     // keyed by doctor id
+
+    private static final Map<String, Class<?>> ENTITY_REGIONS = Map.of(
+            DOCTOR, Doctor.class, PATIENT, Patient.class, USER, User.class);
+
+    private final CacheInvalidationRepository cacheInvalidationRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaderElection leaderElection;
+
+    @Value("${bus.batch-size:500}")
+    private int batchSize;
+
+    @Value("${bus.gap-timeout-ms:60000}")
+    private long gapTimeoutMs;
+
+    @Value("${bus.retention-minutes:60}")
+    private long retentionMinutes;
+
+    private final Map<String, List<Consumer<Set<Long>>>> subscribers = new ConcurrentHashMap<>();
+    // Set while remote changes are applied, so relayed local events are not published back
+    private final ThreadLocal<Boolean> applyingRemote = new ThreadLocal<>();
+
+    private volatile long highWaterMark;
+    // Ids below the mark that were not visible yet, with the System.nanoTime() they were first missed
+    private final Map<Long, Long> gaps = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastPollAt;
+    private final LongAdder received = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder pollFailures = new LongAdder();
+    private final LongAdder gapsFilled = new LongAdder();
+    private final LongAdder gapsExpired = new LongAdder();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+
+    // Before any cache is built, so nothing committed after the build can fall below the mark
+    @PostConstruct
+    public void initialize() {
+        highWaterMark = cacheInvalidationRepository.findMaxId();
+    }
+
+    public void subscribe(String type, Consumer<Set<Long>> handler) {
+        subscribers.computeIfAbsent(type, t -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    // ========== Publishing ==========
+
+    public void publish(String type, Long id) {
+        if (id != null) {
+            publish(type, Set.of(id));
+        }
+    }
+
+    /**
+     * Announces changed ids to the other nodes. Inside a transaction the ids are collected and
+     * written as one row per type just before commit, so a rolled-back change announces nothing.
+     */
+    @SuppressWarnings("unchecked")
+    public void publish(String type, Collection<Long> ids) {
+        if (Boolean.TRUE.equals(applyingRemote.get()) || ids.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(type, ids);
+            return;
+        }
+        Map<String, Set<Long>> pending = (Map<String, Set<Long>>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<String, Set<Long>> batch = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    batch.forEach(CacheInvalidationBus.this::write);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CacheInvalidationBus.this);
+                }
+            });
+            pending = batch;
+        }
+        pending.computeIfAbsent(type, t -> new TreeSet<>()).addAll(ids);
+    }
+
+    private void write(String type, Collection<Long> ids) {
+        String entityIds = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            cacheInvalidationRepository.insert(type, entityIds, NodeId.get());
+        } else {
+            transactionTemplate.executeWithoutResult(status ->
+                    cacheInvalidationRepository.insert(type, entityIds, NodeId.get()));
+        }
+    }
+
+    // ========== Local changes ==========
+
+    @EventListener
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        publish(DOCTOR, event.getDoctorId());
+    }
+
+    @EventListener
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        publish(DOCTOR_SCHEDULE, event.getDoctorId());
+        publish(ADMIN_SUMMARY, 0L);
+    }
+
+    @EventListener
+    public void onTreatmentChanged(TreatmentChangedEvent event) {
+        publish(DOCTOR_SCHEDULE, event.getDoctorId());
+    }
+
+    @EventListener
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        publish(ADMIN_SUMMARY, 0L);
+        if (event.isCreated()) {
+            publish(DOCTOR_RATING, event.getDoctorId());
+        }
+    }
+
+    @EventListener
+    public void onPatientRegistered(PatientRegisteredEvent event) {
+        publish(ADMIN_SUMMARY, 0L);
+    }
+
+    // ========== Remote changes ==========
+
+    @Scheduled(fixedDelayString = "${bus.poll-ms:1000}", initialDelayString = "${bus.poll-ms:1000}")
+    public void poll() {
+        try {
+            long started = System.nanoTime();
+            if (!gaps.isEmpty()) {
+                fillGaps(started);
+            }
+            List<CacheInvalidation> batch;
+            do {
+                batch = cacheInvalidationRepository.findAfter(highWaterMark, PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                long expected = highWaterMark + 1;
+                for (CacheInvalidation message : batch) {
+                    for (long id = expected; id < message.getId(); id++) {
+                        gaps.put(id, started);
+                    }
+                    expected = message.getId() + 1;
+                }
+                apply(batch, LocalDateTime.now());
+                highWaterMark = batch.get(batch.size() - 1).getId();
+            } while (batch.size() == batchSize);
+            lastPollAt = LocalDateTime.now();
+        } catch (RuntimeException e) {
+            pollFailures.increment();
+            log.warn("Cache invalidation poll failed at mark {}: {}", highWaterMark, e.toString());
+        }
+    }
+
+    // Delivers gaps that committed since the last poll, then gives up on those past the timeout
+    private void fillGaps(long now) {
+        List<CacheInvalidation> late = cacheInvalidationRepository.findAllById(new TreeSet<>(gaps.keySet()));
+        if (!late.isEmpty()) {
+            late.forEach(message -> gaps.remove(message.getId()));
+            gapsFilled.add(late.size());
+            apply(late, LocalDateTime.now());
+        }
+        long timeoutNanos = gapTimeoutMs * 1_000_000L;
+        gaps.entrySet().removeIf(gap -> {
+            if (now - gap.getValue() < timeoutNanos) {
+                return false;
+            }
+            // Usually a rolled-back transaction; a commit after this point is not delivered
+            log.info("Cache invalidation id {} not seen within {} ms, skipping it", gap.getKey(), gapTimeoutMs);
+            gapsExpired.increment();
+            return true;
+        });
+    }
+
+    private void apply(List<CacheInvalidation> batch, LocalDateTime now) {
+        // Merge the batch per type, so a burst of writes costs each subscriber one call
+        Map<String, Set<Long>> merged = new LinkedHashMap<>();
+        long lag = 0;
+        for (CacheInvalidation message : batch) {
+            if (NodeId.get().equals(message.getOrigin())) {
+                continue;
+            }
+            received.increment();
+            lag = Math.max(lag, Duration.between(message.getCreatedAt(), now).toMillis());
+            Set<Long> ids = merged.computeIfAbsent(message.getType(), t -> new TreeSet<>());
+            Arrays.stream(message.getEntityIds().split(","))
+                    .filter(id -> !id.isBlank())
+                    .forEach(id -> ids.add(Long.parseLong(id.trim())));
+        }
+        if (merged.isEmpty()) {
+            return;
+        }
+
+        applyingRemote.set(Boolean.TRUE);
+        try {
+            if (merged.keySet().stream().anyMatch(ENTITY_REGIONS::containsKey)) {
+                // Cached query results may list rows that changed; they are cheap to recompute
+                entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegions();
+            }
+            merged.forEach((type, ids) -> {
+                Class<?> entity = ENTITY_REGIONS.get(type);
+                if (entity != null) {
+                    ids.forEach(id -> entityManagerFactory.getCache().evict(entity, id));
+                }
+                for (Consumer<Set<Long>> handler : subscribers.getOrDefault(type, List.of())) {
+                    try {
+                        handler.accept(ids);
+                    } catch (RuntimeException e) {
+                        log.warn("Cache invalidation handler for {} failed: {}", type, e.toString());
+                    }
+                }
+                applied.add(ids.size());
+            });
+        } finally {
+            applyingRemote.remove();
+        }
+        lastLagMillis.set(lag);
+        maxLagMillis.accumulateAndGet(lag, Math::max);
+    }
+
+    @Scheduled(cron = "${bus.purge-cron:0 */10 * * * *}")
+    public void purge() {
+        leaderElection.runIfLeader("bus.purge", () -> transactionTemplate.executeWithoutResult(status ->
+                cacheInvalidationRepository.deleteOlderThan(LocalDateTime.now().minusMinutes(retentionMinutes))));
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("node", NodeId.get());
+        result.put("highWaterMark", highWaterMark);
+        result.put("lastPollAt", lastPollAt);
+        result.put("messagesReceived", received.sum());
+        result.put("idsApplied", applied.sum());
+        result.put("pollFailures", pollFailures.sum());
+        result.put("pendingGaps", gaps.size());
+        result.put("gapsFilled", gapsFilled.sum());
+        result.put("gapsExpired", gapsExpired.sum());
+        result.put("lastLagMs", lastLagMillis.get());
+        result.put("maxLagMs", maxLagMillis.get());
+        return result;
+    }
+}
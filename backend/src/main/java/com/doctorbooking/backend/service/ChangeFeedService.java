@@ -0,0 +1,197 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.dto.response.*;
+import com.doctorbooking.backend.model.*;
+import com.doctorbooking.backend.repository.ChangeFeedQuery;
+import com.doctorbooking.backend.repository.TombstoneRepository;
+import com.doctorbooking.backend.util.ChangeCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * "Changes since cursor" feeds for delta-syncing clients. Each page holds the rows whose
+ * {@code (updatedAt, id)} is past the cursor plus the tombstones recorded since it, and a new
+ * cursor to resume from.
+ * <p>
+ * Rows touched in the last {@code sync.safety-lag-ms} are held back until the next poll: a
+ * transaction that stamped {@code updatedAt} earlier but commits later would otherwise land
+ * behind a cursor that already moved past it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeFeedService {
+
+    private static final ChangeFeedQuery<Appointment> APPOINTMENTS = new ChangeFeedQuery<>(Appointment.class)
+            .fetch("patient").fetch("doctor");
+    private static final ChangeFeedQuery<Treatment> TREATMENTS = new ChangeFeedQuery<>(Treatment.class)
+            .fetch("patient").fetch("doctor").fetchOptional("appointment");
+    private static final ChangeFeedQuery<Feedback> FEEDBACKS = new ChangeFeedQuery<>(Feedback.class)
+            .fetch("patient").fetchOptional("appointment");
+    private static final ChangeFeedQuery<Doctor> DOCTORS = new ChangeFeedQuery<>(Doctor.class)
+            .fetch("user");
+
+    private final TombstoneRepository tombstoneRepository;
+    private final LeaderElection leaderElection;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${sync.max-page-size:500}")
+    private int maxPageSize;
+
+    @Value("${sync.safety-lag-ms:2000}")
+    private long safetyLagMs;
+
+    @Value("${sync.tombstone-retention-days:30}")
+    private int retentionDays;
+
+    @Transactional(readOnly = true)
+    public ChangeFeedResponse<?> getChanges(Feed feed, Scope scope, String token, int limit) {
+        ChangeCursor cursor = ChangeCursor.decode(token, feed.getName());
+        if (!cursor.isStart()
+                && cursor.issuedAt() < Instant.now().getEpochSecond() - retentionDays * 86_400L) {
+            throw new ExpiredCursorException();
+        }
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+        LocalDateTime before = LocalDateTime.now().minusNanos(safetyLagMs * 1_000_000L);
+
+        return switch (feed) {
+            case APPOINTMENTS -> read(APPOINTMENTS, owned(scope), AppointmentResponse::fromEntity,
+                    Appointment::getUpdatedAt, Appointment::getId, feed, scope, cursor, before, pageSize);
+            case TREATMENTS -> read(TREATMENTS, owned(scope), TreatmentResponse::fromEntity,
+                    Treatment::getUpdatedAt, Treatment::getId, feed, scope, cursor, before, pageSize);
+            case FEEDBACKS -> {
+                if (scope.doctorId() != null) {
+                    throw new RuntimeException("Feedback changes are not available to doctors");
+                }
+                yield read(FEEDBACKS, owned(scope), FeedbackResponse::fromEntity,
+                        Feedback::getUpdatedAt, Feedback::getId, feed, scope, cursor, before, pageSize);
+            }
+            // The doctor directory is visible to every role, so its feed is never scoped
+            case DOCTORS -> read(DOCTORS, null, DoctorResponse::fromEntity,
+                    Doctor::getUpdatedAt, Doctor::getId, feed, Scope.ALL, cursor, before, pageSize);
+        };
+    }
+
+    // Tombstones only need to outlive the longest gap a client may leave between polls
+    @Scheduled(cron = "${sync.tombstone-purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        leaderElection.runIfLeader("sync.tombstone-purge", () -> {
+            int purged = tombstoneRepository.deleteOlderThan(LocalDateTime.now().minusDays(retentionDays));
+            if (purged > 0) {
+                log.info("Purged {} tombstones older than {} days", purged, retentionDays);
+            }
+        });
+    }
+
+    private <E, D> ChangeFeedResponse<D> read(ChangeFeedQuery<E> query, Specification<E> where,
+                                              Function<E, D> mapper, Function<E, LocalDateTime> updatedAt,
+                                              Function<E, Long> id, Feed feed, Scope scope,
+                                              ChangeCursor cursor, LocalDateTime before, int pageSize) {
+        // One extra row tells whether another page follows
+        List<E> rows = query.after(entityManager, where, cursor.updatedAt(), cursor.id(), before, pageSize + 1);
+        List<Tombstone> tombstones = tombstoneRepository.findAfter(feed.getEntityType(), cursor.tombstoneId(),
+                before, scope.doctorId(), scope.patientId(), PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize || tombstones.size() > pageSize;
+        rows = rows.subList(0, Math.min(rows.size(), pageSize));
+        tombstones = tombstones.subList(0, Math.min(tombstones.size(), pageSize));
+
+        LocalDateTime lastUpdatedAt = cursor.updatedAt();
+        long lastId = cursor.id();
+        if (!rows.isEmpty()) {
+            E last = rows.get(rows.size() - 1);
+            lastUpdatedAt = updatedAt.apply(last);
+            lastId = id.apply(last);
+        }
+        long lastTombstoneId = tombstones.isEmpty()
+                ? cursor.tombstoneId()
+                : tombstones.get(tombstones.size() - 1).getId();
+
+        return new ChangeFeedResponse<>(
+                rows.stream().map(mapper).toList(),
+                tombstones.stream()
+                        .map(t -> new ChangeFeedResponse.Deleted(t.getEntityId(), t.getDeletedAt()))
+                        .toList(),
+                cursor.advance(lastUpdatedAt, lastId, lastTombstoneId).encode(),
+                hasMore
+        );
+    }
+
+    private static <E> Specification<E> owned(Scope scope) {
+        if (scope.doctorId() != null) {
+            return (root, query, cb) -> cb.equal(root.get("doctor").get("id"), scope.doctorId());
+        }
+        if (scope.patientId() != null) {
+            return (root, query, cb) -> cb.equal(root.get("patient").get("id"), scope.patientId());
+        }
+        return null;
+    }
+
+    public enum Feed {
+        APPOINTMENTS("appointments", Tombstone.EntityType.APPOINTMENT),
+        TREATMENTS("treatments", Tombstone.EntityType.TREATMENT),
+        FEEDBACKS("feedbacks", Tombstone.EntityType.FEEDBACK),
+        DOCTORS("doctors", Tombstone.EntityType.DOCTOR);
+
+        private final String name;
+        private final Tombstone.EntityType entityType;
+
+        Feed(String name, Tombstone.EntityType entityType) {
+            this.name = name;
+            this.entityType = entityType;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Tombstone.EntityType getEntityType() {
+            return entityType;
+        }
+
+        public static Feed fromName(String name) {
+            for (Feed feed : values()) {
+                if (feed.name.equals(name)) {
+                    return feed;
+                }
+            }
+            throw new RuntimeException("Unknown change feed: " + name);
+        }
+    }
+
+    // Rows a caller may see: everything (admin), or one doctor's or one patient's rows
+    public record Scope(Long doctorId, Long patientId) {
+        public static final Scope ALL = new Scope(null, null);
+
+        public static Scope doctor(Long doctorId) {
+            return new Scope(doctorId, null);
+        }
+
+        public static Scope patient(Long patientId) {
+            return new Scope(null, patientId);
+        }
+    }
+
+    // The client has been away longer than tombstones are kept and must resync from scratch
+    public static class ExpiredCursorException extends RuntimeException {
+        public ExpiredCursorException() {
+            super("Cursor expired; resync without a cursor");
+        }
+    }
+}
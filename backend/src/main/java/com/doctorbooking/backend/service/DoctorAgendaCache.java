@@ -0,0 +1,131 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.dto.response.AppointmentResponse;
+import com.doctorbooking.backend.dto.response.DoctorAgendaResponse;
+import com.doctorbooking.backend.dto.response.TreatmentResponse;
+import com.doctorbooking.backend.event.AppointmentChangedEvent;
+import com.doctorbooking.backend.event.TreatmentChangedEvent;
+import com.doctorbooking.backend.model.Appointment;
+import com.doctorbooking.backend.repository.AppointmentRepository;
+import com.doctorbooking.backend.repository.TreatmentRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-doctor dashboard agenda. Built from five small queries, each bounded to one doctor and
+ * (for appointments) to today onwards, and cached until that doctor's appointments or treatments
+ * change, the day rolls over, or {@code doctor.agenda.ttl-ms} passes (patient names and other
+ * joined data are not tracked).
+ */
+@Component
+@RequiredArgsConstructor
+public class DoctorAgendaCache {
+
+    private final AppointmentRepository appointmentRepository;
+    private final TreatmentRepository treatmentRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${doctor.agenda.pending-limit:20}")
+    private int pendingLimit;
+
+    @Value("${doctor.agenda.recent-treatments:5}")
+    private int recentTreatments;
+
+    @Value("${doctor.agenda.ttl-ms:300000}")
+    private long ttlMs;
+
+    private final Map<Long, Entry> agendas = new ConcurrentHashMap<>();
+    // Bumped on every change; an entry is only served while its generation is current, so an
+    // agenda loaded concurrently with a change is never served afterwards
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    public DoctorAgendaResponse getAgenda(Long doctorId) {
+        LocalDate today = LocalDate.now();
+        long generation = generations.getOrDefault(doctorId, 0L);
+        Entry entry = agendas.get(doctorId);
+        if (entry != null && entry.generation == generation && entry.agenda.getDate().equals(today)
+                && System.currentTimeMillis() - entry.loadedAt <= ttlMs) {
+            return entry.agenda;
+        }
+
+        Entry loaded = new Entry(load(doctorId, today), generation);
+        agendas.put(doctorId, loaded);
+        return loaded.agenda;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        invalidate(event.getDoctorId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTreatmentChanged(TreatmentChangedEvent event) {
+        invalidate(event.getDoctorId());
+    }
+
+    // Agendas of doctors whose schedule changed on another node
+    @PostConstruct
+    void subscribeToRemoteChanges() {
+        cacheInvalidationBus.subscribe(CacheInvalidationBus.DOCTOR_SCHEDULE, doctorIds -> doctorIds.forEach(this::invalidate));
+    }
+
+    private void invalidate(Long doctorId) {
+        generations.merge(doctorId, 1L, Long::sum);
+        agendas.remove(doctorId);
+    }
+
+    private DoctorAgendaResponse load(Long doctorId, LocalDate today) {
+        List<AppointmentResponse> todays = appointmentRepository.findByDoctorAndDate(doctorId, today).stream()
+                .sorted(Comparator.comparing(Appointment::getAppointmentTime))
+                .map(AppointmentResponse::fromEntity)
+                .toList();
+
+        List<AppointmentResponse> pendingQueue = appointmentRepository.findByDoctorAndStatusFrom(
+                        doctorId, Appointment.AppointmentStatus.PENDING, today, PageRequest.of(0, pendingLimit))
+                .stream()
+                .map(AppointmentResponse::fromEntity)
+                .toList();
+
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (Appointment.AppointmentStatus status : Appointment.AppointmentStatus.values()) {
+            byStatus.put(status.name(), 0L);
+        }
+        for (Object[] row : appointmentRepository.countByDoctorAndStatusFrom(doctorId, today)) {
+            byStatus.put(((Appointment.AppointmentStatus) row[0]).name(), (Long) row[1]);
+        }
+        long pending = byStatus.get(Appointment.AppointmentStatus.PENDING.name());
+        long upcoming = pending + byStatus.get(Appointment.AppointmentStatus.CONFIRMED.name());
+
+        List<TreatmentResponse> treatments = treatmentRepository.findRecentByDoctorId(
+                        doctorId, PageRequest.of(0, recentTreatments))
+                .stream()
+                .map(TreatmentResponse::fromEntity)
+                .toList();
+
+        return new DoctorAgendaResponse(today, todays, pendingQueue, pending, upcoming, byStatus,
+                treatments, treatmentRepository.countByDoctorId(doctorId), LocalDateTime.now());
+    }
+
+    private static final class Entry {
+        private final DoctorAgendaResponse agenda;
+        private final long generation;
+        private final long loadedAt = System.currentTimeMillis();
+
+        private Entry(DoctorAgendaResponse agenda, long generation) {
+            this.agenda = agenda;
+            this.generation = generation;
+        }
+    }
+}
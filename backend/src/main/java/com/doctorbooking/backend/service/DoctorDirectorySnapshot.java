@@ -0,0 +1,130 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.dto.response.DoctorResponse;
+import com.doctorbooking.backend.event.DoctorChangedEvent;
+import com.doctorbooking.backend.model.Doctor;
+import com.doctorbooking.backend.repository.DoctorRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Copy-on-write snapshot of the doctor directory with its JSON rendered once up front.
+ * Listing endpoints write the pre-encoded (and optionally pre-gzipped) bytes straight to the
+ * response, so a directory read costs no query, no DTO mapping and no Jackson pass.
+ * <p>
+ * Every doctor change builds a complete new snapshot with the next version number and swaps
+ * the reference; readers always see one consistent version.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorDirectorySnapshot {
+
+    private final DoctorRepository doctorRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${doctor.directory.gzip:true}")
+    private boolean gzipEnabled;
+
+    private volatile Snapshot current = Snapshot.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void initialize() {
+        Map<Long, DoctorResponse> doctors = new TreeMap<>();
+        doctorRepository.findAllWithUser().stream()
+                .map(DoctorResponse::fromEntity)
+                .forEach(doctor -> doctors.put(doctor.getId(), doctor));
+        publish(doctors);
+        log.info("Doctor directory snapshot v{} built with {} doctors ({} bytes)",
+                current.getVersion(), doctors.size(), current.getAllJson().getJson().length);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onDoctorChanged(DoctorChangedEvent event) {
+        Map<Long, DoctorResponse> doctors = new TreeMap<>(current.getDoctors());
+        if (event.getType() == DoctorChangedEvent.ChangeType.DELETED) {
+            doctors.remove(event.getDoctorId());
+        } else {
+            doctors.put(event.getDoctorId(), event.getDoctor());
+        }
+        publish(doctors);
+    }
+
+    public Snapshot current() {
+        return current;
+    }
+
+    // ========== Rendering (caller holds the monitor) ==========
+
+    private void publish(Map<Long, DoctorResponse> doctors) {
+        List<DoctorResponse> all = List.copyOf(doctors.values());
+        List<DoctorResponse> active = all.stream()
+                .filter(doctor -> Doctor.DoctorStatus.ACTIVE.name().equals(doctor.getStatus()))
+                .toList();
+        current = new Snapshot(current.getVersion() + 1, System.currentTimeMillis(), Collections.unmodifiableMap(doctors),
+                all, active, render(all), render(active));
+    }
+
+    private Rendered render(List<DoctorResponse> doctors) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(doctors);
+            return new Rendered(json, gzipEnabled ? gzip(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to render doctor directory: " + e.getMessage(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(0, System.currentTimeMillis(), Collections.emptyMap(),
+                Collections.emptyList(), Collections.emptyList(),
+                new Rendered("[]".getBytes(), null), new Rendered("[]".getBytes(), null));
+
+        private final long version;
+        private final long builtAt;
+        private final Map<Long, DoctorResponse> doctors;
+        private final List<DoctorResponse> allDoctors;
+        private final List<DoctorResponse> activeDoctors;
+        private final Rendered allJson;
+        private final Rendered activeJson;
+
+        public Rendered rendered(boolean activeOnly) {
+            return activeOnly ? activeJson : allJson;
+        }
+    }
+
+    /**
+     * Pre-encoded JSON body; gzip is null when pre-compression is disabled.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Rendered {
+        private final byte[] json;
+        private final byte[] gzip;
+    }
+}
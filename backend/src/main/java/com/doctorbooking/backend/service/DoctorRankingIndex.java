@@ -0,0 +1,306 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.dto.response.DoctorRatingResponse;
+import com.doctorbooking.backend.dto.response.DoctorResponse;
+import com.doctorbooking.backend.dto.response.RankedDoctorResponse;
+import com.doctorbooking.backend.event.AppointmentChangedEvent;
+import com.doctorbooking.backend.event.DoctorChangedEvent;
+import com.doctorbooking.backend.event.FeedbackChangedEvent;
+import com.doctorbooking.backend.model.Appointment;
+import com.doctorbooking.backend.model.Doctor;
+import com.doctorbooking.backend.model.DoctorRating;
+import com.doctorbooking.backend.repository.AppointmentRepository;
+import com.doctorbooking.backend.repository.ArchivedAppointmentRepository;
+import com.doctorbooking.backend.repository.DoctorRatingRepository;
+import com.doctorbooking.backend.repository.DoctorRepository;
+import com.doctorbooking.backend.util.TextNormalizer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ranked doctor directory: for every specialization (and for all doctors together) the top-k
+ * active doctors by rating and by booking volume, kept as id arrays so a sorted listing is a
+ * lookup instead of an ORDER BY over joined feedback rows.
+ * <p>
+ * Ratings come from the running totals in doctor_ratings and are ranked by a damped mean,
+ * {@code (sum + w * globalMean) / (count + w)}, so one 5-star review does not outrank a hundred
+ * 4.8s. Local feedback, bookings and doctor changes re-rank the affected specialization after
+ * commit; ratings submitted on other nodes arrive over the invalidation bus, and booking volume
+ * and the global mean are reloaded every {@code ranking.refresh-ms}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorRankingIndex {
+
+    private static final String ALL = "";
+    private static final long[] NO_IDS = new long[0];
+    private static final String RATINGS_BACKFILL = "ratings.backfill";
+
+    private final DoctorRepository doctorRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+    private final DoctorRatingRepository doctorRatingRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final LeaderElection leaderElection;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ranking.top-k:50}")
+    private int topK;
+
+    @Value("${ranking.prior-weight:5}")
+    private double priorWeight;
+
+    private final Map<Long, DoctorResponse> doctors = new ConcurrentHashMap<>();
+    private final Map<Long, DoctorRating> ratings = new ConcurrentHashMap<>();
+    private final Map<Long, Long> bookings = new ConcurrentHashMap<>();
+    private volatile Map<String, Ranking> rankings = Collections.emptyMap();
+    private volatile double priorMean = 3.0;
+
+    public enum Sort {
+        RATING, VOLUME;
+
+        public static Sort fromName(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported sort: " + name);
+            }
+        }
+    }
+
+    @PostConstruct
+    void subscribeToRemoteChanges() {
+        cacheInvalidationBus.subscribe(CacheInvalidationBus.DOCTOR_RATING, doctorIds -> {
+            doctorIds.forEach(this::reloadRating);
+            rerank(doctorIds);
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        // Feedback submitted before the totals existed; one node computes them
+        if (doctorRatingRepository.count() == 0) {
+            leaderElection.runIfLeader(RATINGS_BACKFILL, token -> {
+                int rebuilt = rebuildRatings(token);
+                log.info("Backfilled rating totals for {} doctors", rebuilt);
+            });
+        }
+        doctors.clear();
+        doctorRepository.findAllWithUser().stream()
+                .filter(doctor -> doctor.getStatus() == Doctor.DoctorStatus.ACTIVE)
+                .map(DoctorResponse::fromEntity)
+                .forEach(doctor -> doctors.put(doctor.getId(), doctor));
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${ranking.refresh-ms:600000}", initialDelayString = "${ranking.refresh-ms:600000}")
+    public void refresh() {
+        Map<Long, DoctorRating> loadedRatings = new HashMap<>();
+        doctorRatingRepository.findAll().forEach(rating -> loadedRatings.put(rating.getDoctorId(), rating));
+        Map<Long, Long> loadedBookings = new HashMap<>();
+        for (Object[] row : appointmentRepository.countBookingsByDoctor()) {
+            loadedBookings.merge((Long) row[0], (Long) row[1], Long::sum);
+        }
+        for (Object[] row : archivedAppointmentRepository.countBookingsByDoctor()) {
+            loadedBookings.merge((Long) row[0], (Long) row[1], Long::sum);
+        }
+        synchronized (this) {
+            // Replace in place, so concurrent readers never see the maps empty
+            ratings.putAll(loadedRatings);
+            ratings.keySet().retainAll(loadedRatings.keySet());
+            bookings.putAll(loadedBookings);
+            bookings.keySet().retainAll(loadedBookings.keySet());
+            long count = 0;
+            long sum = 0;
+            for (DoctorRating rating : loadedRatings.values()) {
+                count += rating.getRatingCount();
+                sum += rating.getRatingSum();
+            }
+            priorMean = count > 0 ? (double) sum / count : 3.0;
+            rebuildAll();
+        }
+    }
+
+    /**
+     * Recomputes every doctor's totals from the feedback table, replacing the incremental ones;
+     * returns the number of doctors with ratings.
+     */
+    public int rebuildRatings() {
+        return rebuildRatings(null);
+    }
+
+    // With a token the rebuild only commits while this node still leads the backfill
+    private int rebuildRatings(Long token) {
+        Integer rebuilt = transactionTemplate.execute(status -> {
+            if (token != null) {
+                leaderElection.assertLeader(RATINGS_BACKFILL, token);
+            }
+            doctorRatingRepository.deleteAllInBatch();
+            return doctorRatingRepository.rebuildFromFeedback();
+        });
+        return rebuilt != null ? rebuilt : 0;
+    }
+
+    // ========== Local changes (after commit) ==========
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        if (event.isCreated() && event.getDoctorId() != null) {
+            reloadRating(event.getDoctorId());
+            rerank(Set.of(event.getDoctorId()));
+        }
+    }
+
+    // Under the monitor: rank comparators read bookings, which must not move during heap selection
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAppointmentChanged(AppointmentChangedEvent event) {
+        boolean wasBooked = event.getPreviousStatus() != null
+                && event.getPreviousStatus() != Appointment.AppointmentStatus.CANCELLED;
+        boolean isBooked = event.getStatus() != Appointment.AppointmentStatus.CANCELLED;
+        if (wasBooked != isBooked) {
+            bookings.merge(event.getDoctorId(), isBooked ? 1L : -1L, Long::sum);
+            rerank(Set.of(event.getDoctorId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onDoctorChanged(DoctorChangedEvent event) {
+        DoctorResponse doctor = event.getDoctor();
+        if (doctor == null || !Doctor.DoctorStatus.ACTIVE.name().equals(doctor.getStatus())) {
+            doctors.remove(event.getDoctorId());
+        } else {
+            doctors.put(doctor.getId(), doctor);
+        }
+        // The doctor may have changed specialization, so both the old and new one are stale
+        rebuildAll();
+    }
+
+    // ========== Reads ==========
+
+    public List<RankedDoctorResponse> top(String specialization, Sort sort, int limit) {
+        String key = specialization != null ? TextNormalizer.fold(specialization) : ALL;
+        Ranking ranking = rankings.get(key);
+        if (ranking == null) {
+            return Collections.emptyList();
+        }
+        long[] ids = sort == Sort.RATING ? ranking.byRating() : ranking.byVolume();
+        int count = Math.min(Math.max(limit, 1), ids.length);
+        List<RankedDoctorResponse> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DoctorResponse doctor = doctors.get(ids[i]);
+            if (doctor != null) {
+                DoctorRating rating = ratings.get(ids[i]);
+                result.add(RankedDoctorResponse.of(doctor,
+                        rating != null ? rating.getAverage() : 0.0,
+                        rating != null ? rating.getRatingCount() : 0,
+                        bookings.getOrDefault(ids[i], 0L)));
+            }
+        }
+        return result;
+    }
+
+    public DoctorRatingResponse getRating(Long doctorId) {
+        DoctorRating rating = ratings.get(doctorId);
+        return rating != null ? DoctorRatingResponse.fromEntity(rating) : DoctorRatingResponse.empty(doctorId);
+    }
+
+    // ========== Ranking ==========
+
+    private void reloadRating(Long doctorId) {
+        doctorRatingRepository.findById(doctorId).ifPresent(rating -> ratings.put(doctorId, rating));
+    }
+
+    // Re-ranks the specializations of the given doctors plus the overall list
+    private synchronized void rerank(Set<Long> doctorIds) {
+        Set<String> keys = new HashSet<>();
+        keys.add(ALL);
+        for (Long id : doctorIds) {
+            DoctorResponse doctor = doctors.get(id);
+            if (doctor != null) {
+                keys.add(TextNormalizer.fold(doctor.getSpecialization()));
+            }
+        }
+        Map<String, List<Long>> members = groupBySpecialization();
+        Map<String, Ranking> updated = new HashMap<>(rankings);
+        for (String key : keys) {
+            List<Long> ids = members.get(key);
+            if (ids == null) {
+                updated.remove(key);
+            } else {
+                updated.put(key, rank(ids));
+            }
+        }
+        rankings = Collections.unmodifiableMap(updated);
+    }
+
+    // Caller holds the monitor
+    private void rebuildAll() {
+        Map<String, Ranking> updated = new HashMap<>();
+        groupBySpecialization().forEach((key, ids) -> updated.put(key, rank(ids)));
+        rankings = Collections.unmodifiableMap(updated);
+    }
+
+    private Map<String, List<Long>> groupBySpecialization() {
+        Map<String, List<Long>> members = new HashMap<>();
+        for (DoctorResponse doctor : doctors.values()) {
+            members.computeIfAbsent(TextNormalizer.fold(doctor.getSpecialization()), k -> new ArrayList<>())
+                    .add(doctor.getId());
+            members.computeIfAbsent(ALL, k -> new ArrayList<>()).add(doctor.getId());
+        }
+        return members;
+    }
+
+    private Ranking rank(List<Long> ids) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (Long id : ids) {
+            DoctorRating rating = ratings.get(id);
+            long count = rating != null ? rating.getRatingCount() : 0;
+            long sum = rating != null ? rating.getRatingSum() : 0;
+            scores.put(id, (sum + priorWeight * priorMean) / (count + priorWeight));
+        }
+        Comparator<Long> byName = Comparator.comparing(id -> doctors.containsKey(id) ? doctors.get(id).getFullName() : "");
+        Comparator<Long> byRating = Comparator.<Long, Double>comparing(scores::get).reversed()
+                .thenComparing(Comparator.<Long, Long>comparing(id -> bookings.getOrDefault(id, 0L)).reversed())
+                .thenComparing(byName)
+                .thenComparing(Comparator.naturalOrder());
+        Comparator<Long> byVolume = Comparator.<Long, Long>comparing(id -> bookings.getOrDefault(id, 0L)).reversed()
+                .thenComparing(Comparator.<Long, Double>comparing(scores::get).reversed())
+                .thenComparing(byName)
+                .thenComparing(Comparator.naturalOrder());
+        return new Ranking(selectTop(ids, byRating), selectTop(ids, byVolume));
+    }
+
+    // Bounded heap selection: O(n log k) instead of sorting every doctor
+    private long[] selectTop(List<Long> ids, Comparator<Long> order) {
+        if (ids.isEmpty()) {
+            return NO_IDS;
+        }
+        PriorityQueue<Long> heap = new PriorityQueue<>(topK + 1, order.reversed());
+        for (Long id : ids) {
+            heap.offer(id);
+            if (heap.size() > topK) {
+                heap.poll();
+            }
+        }
+        long[] top = new long[heap.size()];
+        for (int i = top.length - 1; i >= 0; i--) {
+            top[i] = heap.poll();
+        }
+        return top;
+    }
+
+    private record Ranking(long[] byRating, long[] byVolume) {
+    }
+}
@@ -0,0 +1,228 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.dto.response.DoctorResponse;
+import com.doctorbooking.backend.event.DoctorChangedEvent;
+import com.doctorbooking.backend.repository.DoctorRepository;
+import com.doctorbooking.backend.util.TextNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the doctor directory (name, specialization, qualification, bio).
+ * Terms are diacritic-folded so "nguyen" matches "Nguyễn". Query tokens match index terms
+ * exactly, by prefix (type-ahead), by substring via a trigram index, or within a small edit
+ * distance (typos). Every query token must match for a doctor to be returned.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorSearchIndex {
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float SPECIALIZATION_WEIGHT = 2.0f;
+    private static final float QUALIFICATION_WEIGHT = 1.0f;
+    private static final float BIO_WEIGHT = 0.5f;
+
+    private static final float EXACT_MATCH = 1.0f;
+    private static final float PREFIX_MATCH = 0.8f;
+    private static final float SUBSTRING_MATCH = 0.6f;
+    private static final float FUZZY_MATCH = 0.5f;
+
+    private final DoctorRepository doctorRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, DoctorResponse> documents = new HashMap<>();
+    // doctorId -> term -> weight, kept so a document can be removed without re-tokenizing
+    private final Map<Long, Map<String, Float>> documentTerms = new HashMap<>();
+    // term -> doctorId -> weight; sorted so prefix lookups are a subMap range
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    // trigram -> terms containing it
+    private final Map<String, Set<String>> gramIndex = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<DoctorResponse> doctors = doctorRepository.findAllWithUser().stream()
+                .map(DoctorResponse::fromEntity)
+                .toList();
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            documentTerms.clear();
+            postings.clear();
+            gramIndex.clear();
+            doctors.forEach(this::addDocument);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Doctor search index built with {} doctors and {} terms", doctors.size(), postings.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(event.getDoctorId());
+            if (event.getType() != DoctorChangedEvent.ChangeType.DELETED) {
+                addDocument(event.getDoctor());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<DoctorResponse> search(String query) {
+        List<String> tokens = TextNormalizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String token : tokens) {
+                Map<Long, Float> tokenScores = matchToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    // AND semantics: keep only doctors matched by every token
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+
+            final Map<Long, Float> finalScores = scores;
+            return finalScores.keySet().stream()
+                    .sorted(Comparator.<Long, Float>comparing(finalScores::get).reversed()
+                            .thenComparing(id -> documents.get(id).getFullName()))
+                    .map(documents::get)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========== Matching ==========
+
+    private Map<Long, Float> matchToken(String token) {
+        Map<String, Float> matchedTerms = new HashMap<>();
+
+        if (postings.containsKey(token)) {
+            matchedTerms.put(token, EXACT_MATCH);
+        }
+        for (String term : postings.subMap(token, false, token + Character.MAX_VALUE, false).keySet()) {
+            matchedTerms.putIfAbsent(term, PREFIX_MATCH);
+        }
+        if (token.length() >= 3) {
+            matchByTrigrams(token, matchedTerms);
+        }
+
+        Map<Long, Float> scores = new HashMap<>();
+        matchedTerms.forEach((term, quality) ->
+                postings.get(term).forEach((doctorId, weight) ->
+                        scores.merge(doctorId, quality * weight, Math::max)));
+        return scores;
+    }
+
+    private void matchByTrigrams(String token, Map<String, Float> matchedTerms) {
+        int maxEdits = token.length() <= 5 ? 1 : 2;
+        List<String> grams = TextNormalizer.trigrams(token);
+
+        Map<String, Integer> overlap = new HashMap<>();
+        for (String gram : grams) {
+            Set<String> terms = gramIndex.get(gram);
+            if (terms != null) {
+                for (String term : terms) {
+                    overlap.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+
+        // Each edit can destroy at most 3 trigrams; a substring keeps all inner trigrams
+        int minOverlap = Math.max(1, grams.size() - 3 * maxEdits);
+        overlap.forEach((term, shared) -> {
+            if (shared < minOverlap || matchedTerms.containsKey(term)) {
+                return;
+            }
+            if (term.contains(token)) {
+                matchedTerms.put(term, SUBSTRING_MATCH);
+                return;
+            }
+            int distance = TextNormalizer.boundedEditDistance(token, term, maxEdits);
+            if (distance <= maxEdits) {
+                matchedTerms.put(term, FUZZY_MATCH / distance);
+            }
+        });
+    }
+
+    // ========== Index maintenance (caller holds the write lock) ==========
+
+    private void addDocument(DoctorResponse doctor) {
+        Map<String, Float> terms = new HashMap<>();
+        addField(terms, doctor.getFullName(), NAME_WEIGHT);
+        addField(terms, doctor.getSpecialization(), SPECIALIZATION_WEIGHT);
+        addField(terms, doctor.getQualification(), QUALIFICATION_WEIGHT);
+        addField(terms, doctor.getBio(), BIO_WEIGHT);
+
+        documents.put(doctor.getId(), doctor);
+        documentTerms.put(doctor.getId(), terms);
+        terms.forEach((term, weight) -> {
+            Map<Long, Float> posting = postings.get(term);
+            if (posting == null) {
+                posting = new HashMap<>();
+                postings.put(term, posting);
+                for (String gram : TextNormalizer.trigrams(term)) {
+                    gramIndex.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+                }
+            }
+            posting.put(doctor.getId(), weight);
+        });
+    }
+
+    private void removeDocument(Long doctorId) {
+        documents.remove(doctorId);
+        Map<String, Float> terms = documentTerms.remove(doctorId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Float> posting = postings.get(term);
+            posting.remove(doctorId);
+            if (posting.isEmpty()) {
+                postings.remove(term);
+                for (String gram : TextNormalizer.trigrams(term)) {
+                    Set<String> gramTerms = gramIndex.get(gram);
+                    gramTerms.remove(term);
+                    if (gramTerms.isEmpty()) {
+                        gramIndex.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private void addField(Map<String, Float> terms, String value, float weight) {
+        for (String token : new HashSet<>(TextNormalizer.tokenize(value))) {
+            terms.merge(token, weight, Float::sum);
+        }
+    }
+}
@@ -3,18 +3,27 @@ package com.doctorbooking.backend.service;
 import com.doctorbooking.backend.dto.request.ChangePasswordRequest;
 import com.doctorbooking.backend.dto.request.DoctorRequest;
 import com.doctorbooking.backend.dto.request.UpdateProfileRequest;
+import com.doctorbooking.backend.dto.response.DoctorAgendaResponse;
+import com.doctorbooking.backend.dto.response.DoctorRatingResponse;
 import com.doctorbooking.backend.dto.response.DoctorResponse;
+import com.doctorbooking.backend.dto.response.DoctorSuggestion;
+import com.doctorbooking.backend.dto.response.RankedDoctorResponse;
+import com.doctorbooking.backend.event.DoctorChangedEvent;
 import com.doctorbooking.backend.model.Doctor;
+import com.doctorbooking.backend.model.Tombstone;
 import com.doctorbooking.backend.model.User;
 import com.doctorbooking.backend.repository.DoctorRepository;
+import com.doctorbooking.backend.repository.TombstoneRepository;
 import com.doctorbooking.backend.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -22,24 +31,60 @@ public class DoctorService {
 
     private final DoctorRepository doctorRepository;
     private final UserRepository userRepository;
+    private final TombstoneRepository tombstoneRepository;
     private final PasswordEncoder passwordEncoder;
+    private final DoctorSearchIndex doctorSearchIndex;
+    private final DoctorSuggestIndex doctorSuggestIndex;
+    private final DoctorDirectorySnapshot doctorDirectorySnapshot;
+    private final DoctorAgendaCache doctorAgendaCache;
+    private final DoctorRankingIndex doctorRankingIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @PostConstruct
+    void subscribeToRemoteChanges() {
+        cacheInvalidationBus.subscribe(CacheInvalidationBus.DOCTOR, this::applyRemoteChanges);
+    }
+
+    // Doctors changed on another node: replay them as local events so every directory view refreshes
+    private void applyRemoteChanges(Set<Long> doctorIds) {
+        for (Long id : doctorIds) {
+            eventPublisher.publishEvent(doctorRepository.findById(id)
+                    .map(doctor -> DoctorChangedEvent.saved(DoctorResponse.fromEntity(doctor), false))
+                    .orElseGet(() -> DoctorChangedEvent.deleted(id)));
+        }
+    }
 
     public List<DoctorResponse> getAllDoctors() {
-        return doctorRepository.findAll().stream()
-                .map(DoctorResponse::fromEntity)
-                .collect(Collectors.toList());
+        return doctorDirectorySnapshot.current().getAllDoctors();
+    }
+
+    // Versioned directory with its JSON already rendered, for the listing endpoints
+    public DoctorDirectorySnapshot.Snapshot getDirectorySnapshot() {
+        return doctorDirectorySnapshot.current();
     }
 
     public List<DoctorResponse> searchDoctors(String keyword) {
-        return doctorRepository.searchDoctors(keyword).stream()
-                .map(DoctorResponse::fromEntity)
-                .collect(Collectors.toList());
+        // Served from the in-memory index instead of a LIKE '%kw%' table scan
+        return doctorSearchIndex.search(keyword);
+    }
+
+    // Autocomplete for active doctors, ranked by booking popularity
+    public List<DoctorSuggestion> suggestDoctors(String query, int limit) {
+        return doctorSuggestIndex.suggest(query, limit);
+    }
+
+    // Active doctors, optionally of one specialization, best rated or most booked first
+    public List<RankedDoctorResponse> getRankedDoctors(String specialization, DoctorRankingIndex.Sort sort, int limit) {
+        return doctorRankingIndex.top(specialization, sort, limit);
+    }
+
+    public DoctorRatingResponse getDoctorRating(Long doctorId) {
+        return doctorRankingIndex.getRating(doctorId);
     }
 
     public List<DoctorResponse> getActiveDoctors() {
-        return doctorRepository.findByStatus(Doctor.DoctorStatus.ACTIVE).stream()
-                .map(DoctorResponse::fromEntity)
-                .collect(Collectors.toList());
+        return doctorDirectorySnapshot.current().getActiveDoctors();
     }
 
     public DoctorResponse getDoctorById(Long id) {
@@ -80,7 +125,9 @@ public class DoctorService {
         doctor.setStatus(Doctor.DoctorStatus.ACTIVE);
         doctor = doctorRepository.save(doctor);
 
-        return DoctorResponse.fromEntity(doctor);
+        DoctorResponse response = DoctorResponse.fromEntity(doctor);
+        eventPublisher.publishEvent(DoctorChangedEvent.saved(response, true));
+        return response;
     }
 
     @Transactional
@@ -112,6 +159,7 @@ public class DoctorService {
         }
 
         userRepository.save(user);
+        cacheInvalidationBus.publish(CacheInvalidationBus.USER, user.getId());
 
         // Update doctor
         if (request.getFullName() != null) {
@@ -137,7 +185,9 @@ public class DoctorService {
         }
 
         doctor = doctorRepository.save(doctor);
-        return DoctorResponse.fromEntity(doctor);
+        DoctorResponse response = DoctorResponse.fromEntity(doctor);
+        eventPublisher.publishEvent(DoctorChangedEvent.saved(response, false));
+        return response;
     }
 
     @Transactional
@@ -145,9 +195,16 @@ public class DoctorService {
         Doctor doctor = doctorRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Doctor not found with id: " + id));
         doctorRepository.delete(doctor);
+        tombstoneRepository.save(Tombstone.of(Tombstone.EntityType.DOCTOR, id, id, null));
+        eventPublisher.publishEvent(DoctorChangedEvent.deleted(id));
         // User will be deleted by cascade if configured
     }
 
+    // Dashboard agenda for the doctor themselves
+    public DoctorAgendaResponse getAgenda(Long doctorId) {
+        return doctorAgendaCache.getAgenda(doctorId);
+    }
+
     // Doctor Profile Management (for doctor themselves)
     public DoctorResponse getDoctorByUserId(Long userId) {
         Doctor doctor = doctorRepository.findByUserId(userId)
@@ -183,7 +240,9 @@ public class DoctorService {
         }
 
         doctor = doctorRepository.save(doctor);
-        return DoctorResponse.fromEntity(doctor);
+        DoctorResponse response = DoctorResponse.fromEntity(doctor);
+        eventPublisher.publishEvent(DoctorChangedEvent.saved(response, false));
+        return response;
     }
 
     @Transactional
@@ -200,6 +259,7 @@ public class DoctorService {
         user.setPassword(request.getNewPassword()); // Plain text
         // user.setPassword(passwordEncoder.encode(request.getNewPassword())); // BCrypt - uncomment sau khi test xong
         userRepository.save(user);
+        cacheInvalidationBus.publish(CacheInvalidationBus.USER, user.getId());
     }
 }
 
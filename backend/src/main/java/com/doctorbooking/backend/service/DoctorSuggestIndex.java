@@ -0,0 +1,194 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.dto.response.DoctorResponse;
+import com.doctorbooking.backend.dto.response.DoctorSuggestion;
+import com.doctorbooking.backend.event.DoctorChangedEvent;
+import com.doctorbooking.backend.model.Doctor;
+import com.doctorbooking.backend.repository.AppointmentRepository;
+import com.doctorbooking.backend.repository.DoctorRepository;
+import com.doctorbooking.backend.util.TextNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Autocomplete for active doctors, served from a compressed prefix trie (radix tree) over the
+ * folded word suffixes of each doctor's name and specialization. Every node stores the top-k
+ * doctors below it, ranked by booking count, so a lookup is a walk down the query prefix with
+ * no sorting and no database access.
+ * <p>
+ * The trie is immutable once published; doctor changes and popularity refreshes build a new
+ * one and swap the reference, so readers never take a lock.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorSuggestIndex {
+
+    private static final long[] NO_IDS = new long[0];
+
+    private final DoctorRepository doctorRepository;
+    private final AppointmentRepository appointmentRepository;
+
+    @Value("${doctor.suggest.top-k:10}")
+    private int topK;
+
+    private final Map<Long, DoctorSuggestion> doctors = new ConcurrentHashMap<>();
+    private volatile Map<Long, Long> bookingCounts = Collections.emptyMap();
+    private volatile Node root = new Node();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        doctors.clear();
+        doctorRepository.findAllWithUser().stream()
+                .filter(doctor -> doctor.getStatus() == Doctor.DoctorStatus.ACTIVE)
+                .map(DoctorResponse::fromEntity)
+                .forEach(doctor -> doctors.put(doctor.getId(), DoctorSuggestion.fromResponse(doctor)));
+        refreshPopularity();
+    }
+
+    // Booking counts drift slowly; re-rank periodically instead of on every booking
+    @Scheduled(fixedDelayString = "${doctor.suggest.refresh-ms:600000}",
+               initialDelayString = "${doctor.suggest.refresh-ms:600000}")
+    public void refreshPopularity() {
+        Map<Long, Long> counts = new HashMap<>();
+        for (Object[] row : appointmentRepository.countBookingsByDoctor()) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        bookingCounts = counts;
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        DoctorResponse doctor = event.getDoctor();
+        if (doctor == null || !Doctor.DoctorStatus.ACTIVE.name().equals(doctor.getStatus())) {
+            doctors.remove(event.getDoctorId());
+        } else {
+            doctors.put(doctor.getId(), DoctorSuggestion.fromResponse(doctor));
+        }
+        rebuild();
+    }
+
+    public List<DoctorSuggestion> suggest(String query, int limit) {
+        String prefix = TextNormalizer.fold(query);
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Edge edge = node.edges.get(prefix.charAt(i));
+            if (edge == null) {
+                return Collections.emptyList();
+            }
+            int n = Math.min(edge.label.length(), prefix.length() - i);
+            if (!edge.label.regionMatches(0, prefix, i, n)) {
+                return Collections.emptyList();
+            }
+            i += n;
+            node = edge.child;
+        }
+
+        int count = Math.min(Math.max(limit, 1), node.top.length);
+        List<DoctorSuggestion> result = new ArrayList<>(count);
+        for (int j = 0; j < count; j++) {
+            DoctorSuggestion suggestion = doctors.get(node.top[j]);
+            if (suggestion != null) {
+                result.add(suggestion);
+            }
+        }
+        return result;
+    }
+
+    // ========== Trie construction ==========
+
+    private synchronized void rebuild() {
+        Map<Long, Long> counts = bookingCounts;
+        Comparator<Long> byPopularity = Comparator.<Long, Long>comparing(id -> counts.getOrDefault(id, 0L))
+                .reversed()
+                .thenComparing(id -> doctors.containsKey(id) ? doctors.get(id).getFullName() : "")
+                .thenComparing(Comparator.naturalOrder());
+
+        Node newRoot = new Node();
+        for (DoctorSuggestion doctor : doctors.values()) {
+            Set<String> keys = new HashSet<>(TextNormalizer.wordSuffixes(doctor.getFullName()));
+            keys.addAll(TextNormalizer.wordSuffixes(doctor.getSpecialization()));
+            for (String key : keys) {
+                insert(newRoot, key, doctor.getId());
+            }
+        }
+        computeTop(newRoot, byPopularity);
+        root = newRoot;
+    }
+
+    private void insert(Node root, String key, long doctorId) {
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Edge edge = node.edges.get(key.charAt(i));
+            if (edge == null) {
+                Node leaf = new Node();
+                leaf.terminal.add(doctorId);
+                node.edges.put(key.charAt(i), new Edge(key.substring(i), leaf));
+                return;
+            }
+            int common = commonPrefixLength(edge.label, key, i);
+            if (common < edge.label.length()) {
+                // Split the edge at the divergence point
+                Node middle = new Node();
+                middle.edges.put(edge.label.charAt(common), new Edge(edge.label.substring(common), edge.child));
+                edge.label = edge.label.substring(0, common);
+                edge.child = middle;
+            }
+            node = edge.child;
+            i += common;
+        }
+        node.terminal.add(doctorId);
+    }
+
+    private long[] computeTop(Node node, Comparator<Long> byPopularity) {
+        Set<Long> candidates = new HashSet<>(node.terminal);
+        for (Edge edge : node.edges.values()) {
+            for (long id : computeTop(edge.child, byPopularity)) {
+                candidates.add(id);
+            }
+        }
+        node.top = candidates.isEmpty() ? NO_IDS : candidates.stream()
+                .sorted(byPopularity)
+                .limit(topK)
+                .mapToLong(Long::longValue)
+                .toArray();
+        return node.top;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Node {
+        private final Map<Character, Edge> edges = new HashMap<>();
+        private final Set<Long> terminal = new HashSet<>();
+        private long[] top = NO_IDS;
+    }
+
+    private static final class Edge {
+        private String label;
+        private Node child;
+
+        private Edge(String label, Node child) {
+            this.label = label;
+            this.child = child;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.dto.response.AppointmentExportRow;
+import com.doctorbooking.backend.dto.response.TreatmentExportRow;
+import com.doctorbooking.backend.repository.AppointmentRepository;
+import com.doctorbooking.backend.repository.ArchivedAppointmentRepository;
+import com.doctorbooking.backend.repository.TreatmentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streaming exports of appointments and treatments for admins. Rows are selected as flat DTOs,
+ * streamed from the driver one at a time inside a read-only transaction and written straight to
+ * the response, so memory use does not depend on how many rows match.
+ */
+@Service
+public class ExportService {
+
+    private final AppointmentRepository appointmentRepository;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+    private final TreatmentRepository treatmentRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${export.buffer-bytes:65536}")
+    private int bufferBytes;
+
+    public ExportService(AppointmentRepository appointmentRepository,
+                         ArchivedAppointmentRepository archivedAppointmentRepository,
+                         TreatmentRepository treatmentRepository,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager) {
+        this.appointmentRepository = appointmentRepository;
+        this.archivedAppointmentRepository = archivedAppointmentRepository;
+        this.treatmentRepository = treatmentRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public static Format fromName(String name) {
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported export format: " + name);
+            }
+        }
+    }
+
+    // Both bounds inclusive and optional
+    public record Filter(LocalDate from, LocalDate to, Long doctorId) {
+        public Filter {
+            if (from != null && to != null && from.isAfter(to)) {
+                throw new RuntimeException("'from' must not be after 'to'");
+            }
+        }
+    }
+
+    public record Export(String filename, String mediaType, StreamingResponseBody body) {
+    }
+
+    // Archived appointments first, then live ones; each table is in date order. flatMap opens the live
+    // stream only after the archived one is drained and closed, as the driver streams one result at a time
+    public Export exportAppointments(Format format, Filter filter, boolean gzip) {
+        return export("appointments", format, filter, gzip, AppointmentExportRow.CSV_HEADER,
+                AppointmentExportRow::csvValues,
+                f -> Stream.<Supplier<Stream<AppointmentExportRow>>>of(
+                                () -> archivedAppointmentRepository.streamForExport(f.from(), f.to(), f.doctorId()),
+                                () -> appointmentRepository.streamForExport(f.from(), f.to(), f.doctorId()))
+                        .flatMap(Supplier::get));
+    }
+
+    public Export exportTreatments(Format format, Filter filter, boolean gzip) {
+        return export("treatments", format, filter, gzip, TreatmentExportRow.CSV_HEADER,
+                TreatmentExportRow::csvValues,
+                f -> treatmentRepository.streamForExport(
+                        f.from() != null ? f.from().atStartOfDay() : null,
+                        f.to() != null ? f.to().plusDays(1).atStartOfDay() : null,
+                        f.doctorId()));
+    }
+
+    private <T> Export export(String name, Format format, Filter filter, boolean gzip, String[] header,
+                              Function<T, Object[]> csvValues, Function<Filter, Stream<T>> query) {
+        String filename = name
+                + (filter.from() != null ? "-from-" + filter.from() : "")
+                + (filter.to() != null ? "-to-" + filter.to() : "")
+                + (filter.doctorId() != null ? "-doctor-" + filter.doctorId() : "")
+                + "." + format.extension + (gzip ? ".gz" : "");
+        String mediaType = gzip ? "application/gzip" : format.mediaType + ";charset=UTF-8";
+
+        // Runs on the MVC async thread after the controller returned, hence its own transaction
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, bufferBytes) : out;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), bufferBytes);
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<T> rows = query.apply(filter)) {
+                        if (format == Format.CSV) {
+                            writeCsvLine(writer, header);
+                        }
+                        rows.forEach(row -> writeRow(writer, format, row, csvValues));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+        };
+        return new Export(filename, mediaType, body);
+    }
+
+    private <T> void writeRow(Writer writer, Format format, T row, Function<T, Object[]> csvValues) {
+        try {
+            if (format == Format.CSV) {
+                writeCsvLine(writer, csvValues.apply(row));
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            // Client went away; abort the query instead of reading the rest of the table
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(writer, values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180 quoting; text that a spreadsheet would evaluate as a formula is prefixed with '
+    private static void writeCsvValue(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (value instanceof String && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
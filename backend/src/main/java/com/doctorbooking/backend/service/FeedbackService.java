@@ -2,13 +2,16 @@ package com.doctorbooking.backend.service;
 
 import com.doctorbooking.backend.dto.request.CreateFeedbackRequest;
 import com.doctorbooking.backend.dto.response.FeedbackResponse;
+import com.doctorbooking.backend.event.FeedbackChangedEvent;
 import com.doctorbooking.backend.model.Appointment;
 import com.doctorbooking.backend.model.Feedback;
 import com.doctorbooking.backend.model.Patient;
 import com.doctorbooking.backend.repository.AppointmentRepository;
+import com.doctorbooking.backend.repository.DoctorRatingRepository;
 import com.doctorbooking.backend.repository.FeedbackRepository;
 import com.doctorbooking.backend.repository.PatientRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +25,8 @@ public class FeedbackService {
     private final FeedbackRepository feedbackRepository;
     private final PatientRepository patientRepository;
     private final AppointmentRepository appointmentRepository;
+    private final DoctorRatingRepository doctorRatingRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<FeedbackResponse> getAllFeedbacks() {
         return feedbackRepository.findAll().stream()
@@ -53,8 +58,10 @@ public class FeedbackService {
     public FeedbackResponse markFeedbackAsRead(Long id) {
         Feedback feedback = feedbackRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Feedback not found with id: " + id));
+        Feedback.FeedbackStatus previousStatus = feedback.getStatus();
         feedback.setStatus(Feedback.FeedbackStatus.READ);
         feedback = feedbackRepository.save(feedback);
+        eventPublisher.publishEvent(FeedbackChangedEvent.of(feedback, previousStatus));
         return FeedbackResponse.fromEntity(feedback);
     }
 
@@ -66,9 +73,14 @@ public class FeedbackService {
 
         Appointment appointment = null;
         if (request.getAppointmentId() != null) {
-            appointment = appointmentRepository.findById(request.getAppointmentId())
+            // Locked, so two submissions for the same appointment cannot both pass the check below
+            appointment = appointmentRepository.lockById(request.getAppointmentId())
                     .orElse(null); // Appointment is optional
         }
+        // One feedback per appointment, so each appointment counts once towards the doctor's rating
+        if (appointment != null && feedbackRepository.existsByPatientIdAndAppointmentId(patientId, appointment.getId())) {
+            throw new RuntimeException("Feedback already submitted for appointment: " + appointment.getId());
+        }
 
         Feedback feedback = new Feedback();
         feedback.setPatient(patient);
@@ -78,6 +90,11 @@ public class FeedbackService {
         feedback.setStatus(Feedback.FeedbackStatus.PENDING);
 
         feedback = feedbackRepository.save(feedback);
+        // Only a patient's own appointments count towards the doctor's rating
+        if (appointment != null && appointment.getPatient().getId().equals(patientId)) {
+            doctorRatingRepository.record(appointment.getDoctor().getId(), feedback.getRating());
+        }
+        eventPublisher.publishEvent(FeedbackChangedEvent.of(feedback, null));
         return FeedbackResponse.fromEntity(feedback);
     }
 
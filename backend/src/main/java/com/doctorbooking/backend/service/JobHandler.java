@@ -0,0 +1,15 @@
+package com.doctorbooking.backend.service;
+
+/**
+ * Runs jobs of one type. The payload is the object passed to {@link JobQueue#enqueue}, read back
+ * from JSON as {@link #getPayloadType()}. Jobs are retried when this throws, and a job whose
+ * node dies mid-run is run again elsewhere, so handlers must be safe to repeat.
+ */
+public interface JobHandler<P> {
+
+    String getType();
+
+    Class<P> getPayloadType();
+
+    void handle(P payload) throws Exception;
+}
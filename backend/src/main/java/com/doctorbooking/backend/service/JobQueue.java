@@ -0,0 +1,44 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.model.Job;
+import com.doctorbooking.backend.repository.JobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entry point for enqueuing background jobs. Enqueuing joins the caller's transaction, so a job
+ * requested by a write only exists if that write commits. {@link JobRunner} executes them.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobQueue {
+
+    private final JobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${jobs.max-attempts:5}")
+    private int defaultMaxAttempts;
+
+    public Job enqueue(String type, Object payload) {
+        return enqueue(type, payload, Job.Lane.NORMAL, null);
+    }
+
+    public Job enqueue(String type, Object payload, Job.Lane lane, LocalDateTime runAt) {
+        Job job = new Job();
+        job.setType(type);
+        job.setLane(lane);
+        job.setRunAt(runAt);
+        job.setMaxAttempts(defaultMaxAttempts);
+        try {
+            job.setPayload(payload != null ? objectMapper.writeValueAsString(payload) : null);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize payload for job " + type, e);
+        }
+        return jobRepository.save(job);
+    }
+}
@@ -0,0 +1,270 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.model.Job;
+import com.doctorbooking.backend.repository.JobRepository;
+import com.doctorbooking.backend.util.NodeId;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Worker pool for the job queue. Each poll first requeues jobs whose lease expired, then claims
+ * due jobs lane by lane with FOR UPDATE SKIP LOCKED, never more than the lane has free workers,
+ * so any number of nodes can poll the same table without running a job twice.
+ * <p>
+ * A claimed job carries this node's id and a lease that is renewed while it runs. Results are
+ * written only if the node still holds the job; failures are retried with exponential backoff
+ * until {@code maxAttempts}, then the job is left DEAD for inspection.
+ */
+@Service
+@Slf4j
+public class JobRunner {
+
+    private final JobRepository jobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final LeaderElection leaderElection;
+    private final Map<String, JobHandler<?>> handlers = new HashMap<>();
+    private final Map<Job.Lane, Lane> lanes = new EnumMap<>(Job.Lane.class);
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private final Map<String, TypeStats> statsByType = new ConcurrentHashMap<>();
+
+    @Value("${jobs.lease-ms:300000}")
+    private long leaseMs;
+
+    @Value("${jobs.retry-base-ms:5000}")
+    private long retryBaseMs;
+
+    @Value("${jobs.retry-max-ms:3600000}")
+    private long retryMaxMs;
+
+    @Value("${jobs.retention-days:7}")
+    private int retentionDays;
+
+    public JobRunner(JobRepository jobRepository,
+                     TransactionTemplate transactionTemplate,
+                     ObjectMapper objectMapper,
+                     LeaderElection leaderElection,
+                     ObjectProvider<JobHandler<?>> handlerBeans,
+                     @Value("${jobs.workers.high:2}") int highWorkers,
+                     @Value("${jobs.workers.normal:4}") int normalWorkers,
+                     @Value("${jobs.workers.low:1}") int lowWorkers) {
+        this.jobRepository = jobRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.leaderElection = leaderElection;
+        handlerBeans.orderedStream().forEach(handler -> {
+            if (handlers.putIfAbsent(handler.getType(), handler) != null) {
+                throw new IllegalStateException("Duplicate job handler for type " + handler.getType());
+            }
+        });
+        lanes.put(Job.Lane.HIGH, new Lane(Job.Lane.HIGH, highWorkers));
+        lanes.put(Job.Lane.NORMAL, new Lane(Job.Lane.NORMAL, normalWorkers));
+        lanes.put(Job.Lane.LOW, new Lane(Job.Lane.LOW, lowWorkers));
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.poll-ms:1000}", initialDelayString = "${jobs.poll-ms:1000}")
+    public void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            int requeued = jobRepository.requeueExpired(now);
+            int buried = jobRepository.buryExpired(now);
+            if (requeued + buried > 0) {
+                log.warn("Recovered {} jobs with expired leases ({} out of attempts)", requeued + buried, buried);
+            }
+        });
+        for (Lane lane : lanes.values()) {
+            int free = lane.workers - lane.busy.get();
+            if (free > 0) {
+                List<Job> claimed = transactionTemplate.execute(status -> claim(lane.lane, free));
+                if (claimed != null) {
+                    claimed.forEach(job -> submit(lane, job));
+                }
+            }
+        }
+    }
+
+    private List<Job> claim(Job.Lane lane, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Job> jobs = jobRepository.lockDue(lane.name(), now, limit);
+        for (Job job : jobs) {
+            job.setStatus(Job.Status.RUNNING);
+            job.setAttempts(job.getAttempts() + 1);
+            job.setLockedBy(NodeId.get());
+            job.setLockedUntil(now.plus(Duration.ofMillis(leaseMs)));
+            job.setStartedAt(now);
+        }
+        return jobRepository.saveAll(jobs);
+    }
+
+    private void submit(Lane lane, Job job) {
+        lane.busy.incrementAndGet();
+        running.add(job.getId());
+        lane.executor.execute(() -> {
+            try {
+                execute(job);
+            } finally {
+                running.remove(job.getId());
+                lane.busy.decrementAndGet();
+            }
+        });
+    }
+
+    private void execute(Job job) {
+        TypeStats stats = statsByType.computeIfAbsent(job.getType(), t -> new TypeStats());
+        stats.waitMillis.add(Math.max(0, Duration.between(job.getRunAt(), job.getStartedAt()).toMillis()));
+        long started = System.nanoTime();
+        JobHandler<?> handler = handlers.get(job.getType());
+        try {
+            if (handler == null) {
+                throw new IllegalStateException("No handler for job type " + job.getType());
+            }
+            run(handler, job.getPayload());
+            long elapsed = (System.nanoTime() - started) / 1_000_000;
+            stats.succeeded.increment();
+            stats.runMillis.add(elapsed);
+            stats.maxRunMillis.accumulate(elapsed);
+            transactionTemplate.executeWithoutResult(status ->
+                    jobRepository.markSucceeded(job.getId(), NodeId.get(), LocalDateTime.now()));
+        } catch (Exception e) {
+            String error = e.toString().length() > 500 ? e.toString().substring(0, 500) : e.toString();
+            boolean retry = handler != null && job.getAttempts() < job.getMaxAttempts();
+            if (retry) {
+                stats.retried.increment();
+                LocalDateTime runAt = LocalDateTime.now().plus(Duration.ofMillis(backoffMillis(job.getAttempts())));
+                log.warn("Job {} ({}) failed on attempt {}, retrying at {}: {}", job.getId(), job.getType(),
+                        job.getAttempts(), runAt, error);
+                transactionTemplate.executeWithoutResult(status ->
+                        jobRepository.reschedule(job.getId(), NodeId.get(), runAt, error));
+            } else {
+                stats.dead.increment();
+                log.error("Job {} ({}) failed on attempt {}, giving up", job.getId(), job.getType(), job.getAttempts(), e);
+                transactionTemplate.executeWithoutResult(status ->
+                        jobRepository.markDead(job.getId(), NodeId.get(), LocalDateTime.now(), error));
+            }
+        }
+    }
+
+    private <P> void run(JobHandler<P> handler, String payload) throws Exception {
+        P value = payload != null ? objectMapper.readValue(payload, handler.getPayloadType()) : null;
+        handler.handle(value);
+    }
+
+    private long backoffMillis(int attempts) {
+        return Math.min(retryBaseMs << Math.min(attempts - 1, 20), retryMaxMs);
+    }
+
+    // Renews well before expiry so a slow poll never lets a live job's lease lapse
+    @Scheduled(fixedDelayString = "${jobs.heartbeat-ms:60000}")
+    public void renewLeases() {
+        if (running.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = Set.copyOf(running);
+        transactionTemplate.executeWithoutResult(status -> jobRepository.renewLeases(ids, NodeId.get(),
+                LocalDateTime.now().plus(Duration.ofMillis(leaseMs))));
+    }
+
+    @Scheduled(cron = "${jobs.purge-cron:0 15 4 * * *}")
+    public void purgeSucceeded() {
+        leaderElection.runIfLeader("jobs.purge", () -> {
+            Integer removed = transactionTemplate.execute(status ->
+                    jobRepository.deleteSucceededBefore(LocalDateTime.now().minusDays(retentionDays)));
+            if (removed != null && removed > 0) {
+                log.info("Purged {} finished jobs", removed);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Jobs still running after this are picked up by another node once their lease expires
+        lanes.values().forEach(lane -> lane.executor.shutdown());
+        for (Lane lane : lanes.values()) {
+            lane.executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("node", NodeId.get());
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Object> laneStats = new LinkedHashMap<>();
+        for (Lane lane : lanes.values()) {
+            LocalDateTime oldestDue = jobRepository.findOldestDue(lane.lane);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("workers", lane.workers);
+            entry.put("busy", lane.busy.get());
+            entry.put("oldestDueAgeMs", oldestDue != null && oldestDue.isBefore(now)
+                    ? Duration.between(oldestDue, now).toMillis() : 0);
+            laneStats.put(lane.lane.name(), entry);
+        }
+        result.put("lanes", laneStats);
+
+        Map<String, Map<String, Object>> types = new TreeMap<>();
+        for (Object[] row : jobRepository.countByTypeAndStatus()) {
+            types.computeIfAbsent((String) row[0], t -> new LinkedHashMap<>())
+                    .put(((Job.Status) row[1]).name().toLowerCase(), row[2]);
+        }
+        // Throughput and latency are this node's since startup; the status counts are cluster-wide
+        statsByType.forEach((type, stats) -> {
+            Map<String, Object> entry = types.computeIfAbsent(type, t -> new LinkedHashMap<>());
+            long succeeded = stats.succeeded.sum();
+            entry.put("succeededHere", succeeded);
+            entry.put("retriedHere", stats.retried.sum());
+            entry.put("deadHere", stats.dead.sum());
+            entry.put("avgRunMs", succeeded == 0 ? 0 : stats.runMillis.sum() / succeeded);
+            entry.put("maxRunMs", stats.maxRunMillis.get());
+            long started = succeeded + stats.retried.sum() + stats.dead.sum();
+            entry.put("avgWaitMs", started == 0 ? 0 : stats.waitMillis.sum() / started);
+        });
+        result.put("types", types);
+        return result;
+    }
+
+    private static class Lane {
+        final Job.Lane lane;
+        final int workers;
+        final AtomicInteger busy = new AtomicInteger();
+        final ExecutorService executor;
+
+        Lane(Job.Lane lane, int workers) {
+            this.lane = lane;
+            this.workers = Math.max(1, workers);
+            this.executor = Executors.newFixedThreadPool(this.workers,
+                    Thread.ofPlatform().name("job-" + lane.name().toLowerCase() + "-", 0).factory());
+        }
+    }
+
+    private static class TypeStats {
+        final LongAdder succeeded = new LongAdder();
+        final LongAdder retried = new LongAdder();
+        final LongAdder dead = new LongAdder();
+        final LongAdder runMillis = new LongAdder();
+        final LongAccumulator maxRunMillis = new LongAccumulator(Math::max, 0);
+        final LongAdder waitMillis = new LongAdder();
+    }
+}
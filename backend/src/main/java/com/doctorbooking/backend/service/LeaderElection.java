@@ -0,0 +1,178 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.model.ClusterLock;
+import com.doctorbooking.backend.repository.ClusterLockRepository;
+import com.doctorbooking.backend.util.NodeId;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * Elects one node per named job through leases in the cluster_locks table, so a {@code @Scheduled}
+ * method wrapped in {@link #runIfLeader} runs on exactly one instance.
+ * <p>
+ * The first node to ask takes the lease and keeps it by renewing every {@code leader.renew-ms};
+ * the others skip the job. If the leader stops renewing (crash, long GC, lost database), its
+ * lease runs out after {@code leader.lease-ms} and the next node to ask takes over with a higher
+ * fencing token. A node treats its own lease as lapsed a safety margin before the database does,
+ * but a task that started just before can still be running when the next leader starts. Purges and
+ * guarded enqueues tolerate that overlap; work that does not (DoctorRankingIndex's rating rebuild)
+ * takes the token and calls {@link #assertLeader} in the transaction that writes its results.
+ */
+@Service
+@Slf4j
+public class LeaderElection {
+
+    private final ClusterLockRepository clusterLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, Lease> held = new ConcurrentHashMap<>();
+
+    @Value("${leader.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${leader.safety-margin-ms:5000}")
+    private long safetyMarginMs;
+
+    public LeaderElection(ClusterLockRepository clusterLockRepository, PlatformTransactionManager transactionManager) {
+        this.clusterLockRepository = clusterLockRepository;
+        // Lease changes commit on their own, whatever transaction the caller is in
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean runIfLeader(String name, Runnable task) {
+        return runIfLeader(name, token -> task.run());
+    }
+
+    /**
+     * Runs the task if this node holds (or can take) the named lease; the task receives the
+     * fencing token. Returns false without running it when another node is the leader.
+     */
+    public boolean runIfLeader(String name, LongConsumer task) {
+        Long token = acquire(name);
+        if (token == null) {
+            log.debug("Skipping {}, another node holds the lease", name);
+            return false;
+        }
+        task.accept(token);
+        return true;
+    }
+
+    /**
+     * Fails unless the token is still the live lease, and locks the lease row until the caller's
+     * transaction ends, so no other node can take over before its writes commit.
+     */
+    public void assertLeader(String name, long token) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("assertLeader needs the transaction that writes the results");
+        }
+        if (clusterLockRepository.lockIfHeld(name, NodeId.get(), token) == 0) {
+            held.remove(name);
+            throw new IllegalStateException("Lost leadership of " + name + " (token " + token + ")");
+        }
+    }
+
+    public boolean isLeader(String name) {
+        Lease lease = held.get(name);
+        return lease != null && lease.isLive();
+    }
+
+    private Long acquire(String name) {
+        Lease lease = held.get(name);
+        if (lease != null && lease.isLive()) {
+            return lease.token;
+        }
+        long requestedAt = System.nanoTime();
+        Long token = transactionTemplate.execute(status -> {
+            clusterLockRepository.createIfAbsent(name);
+            if (clusterLockRepository.acquire(name, NodeId.get(), leaseMs * 1000) == 0) {
+                return null;
+            }
+            return clusterLockRepository.findToken(name, NodeId.get()).orElse(null);
+        });
+        if (token == null) {
+            held.remove(name);
+            return null;
+        }
+        held.put(name, new Lease(token, deadline(requestedAt)));
+        log.info("Node {} is now leader for {} (token {})", NodeId.get(), name, token);
+        return token;
+    }
+
+    @Scheduled(fixedDelayString = "${leader.renew-ms:15000}")
+    public void renew() {
+        held.forEach((name, lease) -> {
+            long requestedAt = System.nanoTime();
+            Integer renewed = null;
+            try {
+                renewed = transactionTemplate.execute(status ->
+                        clusterLockRepository.renew(name, NodeId.get(), lease.token, leaseMs * 1000));
+            } catch (RuntimeException e) {
+                log.warn("Failed to renew lease {}: {}", name, e.toString());
+            }
+            if (renewed != null && renewed > 0) {
+                held.put(name, new Lease(lease.token, deadline(requestedAt)));
+            } else if (!lease.isLive()) {
+                // A database hiccup is tolerated until the local deadline; after that we step down
+                held.remove(name);
+                log.warn("Node {} lost leadership of {} (token {})", NodeId.get(), name, lease.token);
+            }
+        });
+    }
+
+    // Measured from before the round trip, so the local view always expires ahead of the database's
+    private long deadline(long requestedAt) {
+        return requestedAt + (leaseMs - safetyMarginMs) * 1_000_000L;
+    }
+
+    @PreDestroy
+    public void releaseAll() {
+        // Hand over immediately instead of making the other nodes wait out the lease
+        held.forEach((name, lease) -> {
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        clusterLockRepository.release(name, NodeId.get(), lease.token));
+            } catch (RuntimeException e) {
+                log.warn("Failed to release lease {}: {}", name, e.toString());
+            }
+        });
+        held.clear();
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("node", NodeId.get());
+        List<Map<String, Object>> locks = new ArrayList<>();
+        for (ClusterLock lock : clusterLockRepository.findAll()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", lock.getName());
+            entry.put("owner", lock.getOwner());
+            entry.put("token", lock.getToken());
+            entry.put("leaseUntil", lock.getLeaseUntil());
+            entry.put("renewedAt", lock.getRenewedAt());
+            entry.put("heldHere", isLeader(lock.getName()));
+            locks.add(entry);
+        }
+        result.put("locks", locks);
+        return result;
+    }
+
+    private record Lease(long token, long deadlineNanos) {
+        boolean isLive() {
+            return System.nanoTime() - deadlineNanos < 0;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.model.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+// Local stand-in consumer so dispatched events are visible in the logs
+@Component
+@Slf4j
+public class LoggingOutboxHandler implements OutboxHandler {
+
+    @Override
+    public boolean accepts(OutboxEvent event) {
+        return log.isDebugEnabled();
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        log.debug("Outbox {} {}#{}: {}", event.getEventType(), event.getAggregateType(),
+                event.getAggregateId(), event.getPayload());
+    }
+}
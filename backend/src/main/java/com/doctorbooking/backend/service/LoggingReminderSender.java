@@ -0,0 +1,44 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.model.AppointmentReminder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Local stand-in for the email and SMS gateways: reminders are logged, and appended to
+ * {@code reminders.sink-file} when it is set so a run can be inspected afterwards.
+ */
+@Slf4j
+public class LoggingReminderSender implements ReminderSender {
+
+    private final AppointmentReminder.Channel channel;
+    private final Path sinkFile;
+
+    public LoggingReminderSender(AppointmentReminder.Channel channel, Path sinkFile) {
+        this.channel = channel;
+        this.sinkFile = sinkFile;
+    }
+
+    @Override
+    public AppointmentReminder.Channel getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void send(Message message) throws IOException {
+        log.debug("{} reminder to {}: {}", channel, message.recipient(), message.text());
+        if (sinkFile != null) {
+            String line = channel + "\t" + message.appointmentId() + "\t" + message.recipient() + "\t"
+                    + message.text() + System.lineSeparator();
+            synchronized (LoggingReminderSender.class) {
+                Files.writeString(sinkFile, line, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        }
+    }
+}
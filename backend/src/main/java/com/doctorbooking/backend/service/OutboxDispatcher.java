@@ -0,0 +1,163 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.model.OutboxEvent;
+import com.doctorbooking.backend.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drains the outbox in id order. Each batch is claimed with FOR UPDATE SKIP LOCKED, so several
+ * instances can poll the same table without double-delivering; only the oldest pending event of
+ * an aggregate is ever claimed, which keeps each aggregate's events in order even across retries.
+ * Delivery is at least once: an event is marked done in the same transaction that delivered it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxHandler> handlers;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaderElection leaderElection;
+
+    @Value("${outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.max-batches-per-poll:20}")
+    private int maxBatchesPerPoll;
+
+    @Value("${outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.retry-base-ms:1000}")
+    private long retryBaseMs;
+
+    @Value("${outbox.retry-max-ms:600000}")
+    private long retryMaxMs;
+
+    @Value("${outbox.retention-days:7}")
+    private int retentionDays;
+
+    private final Map<String, TypeStats> statsByType = new ConcurrentHashMap<>();
+    private final AtomicLong lastBatchSize = new AtomicLong();
+    private final AtomicLong lastBatchMillis = new AtomicLong();
+    private final AtomicLong lastDeliveryLagMillis = new AtomicLong();
+    private volatile LocalDateTime lastPollAt;
+
+    @Scheduled(fixedDelayString = "${outbox.poll-ms:500}", initialDelayString = "${outbox.poll-ms:500}")
+    public void poll() {
+        lastPollAt = LocalDateTime.now();
+        // Keep draining while batches come back full, but give the scheduler thread back eventually
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            Integer claimed = transactionTemplate.execute(status -> dispatchBatch());
+            if (claimed == null || claimed < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private int dispatchBatch() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(now, batchSize);
+        for (OutboxEvent event : batch) {
+            TypeStats stats = statsByType.computeIfAbsent(event.getEventType(), t -> new TypeStats());
+            try {
+                deliver(event);
+                event.setStatus(OutboxEvent.Status.DONE);
+                event.setProcessedAt(LocalDateTime.now());
+                event.setLastError(null);
+                stats.dispatched.increment();
+                lastDeliveryLagMillis.set(Duration.between(event.getCreatedAt(), event.getProcessedAt()).toMillis());
+            } catch (Exception e) {
+                int attempts = event.getAttempts() + 1;
+                event.setAttempts(attempts);
+                event.setLastError(truncate(e.toString()));
+                if (attempts >= maxAttempts) {
+                    // Parked: later events of the aggregate are released instead of blocking forever
+                    event.setStatus(OutboxEvent.Status.FAILED);
+                    stats.failed.increment();
+                    log.error("Outbox event {} ({}) failed {} times, giving up", event.getId(), event.getEventType(), attempts, e);
+                } else {
+                    event.setAvailableAt(now.plus(Duration.ofMillis(backoffMillis(attempts))));
+                    stats.retried.increment();
+                    log.warn("Outbox event {} ({}) failed, attempt {}: {}", event.getId(), event.getEventType(), attempts, e.toString());
+                }
+            }
+        }
+        outboxEventRepository.saveAll(batch);
+        lastBatchSize.set(batch.size());
+        lastBatchMillis.set((System.nanoTime() - started) / 1_000_000);
+        return batch.size();
+    }
+
+    private void deliver(OutboxEvent event) throws Exception {
+        for (OutboxHandler handler : handlers) {
+            if (handler.accepts(event)) {
+                handler.handle(event);
+            }
+        }
+    }
+
+    private long backoffMillis(int attempts) {
+        long delay = retryBaseMs << Math.min(attempts - 1, 20);
+        return Math.min(delay, retryMaxMs);
+    }
+
+    private String truncate(String message) {
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+
+    @Scheduled(cron = "${outbox.purge-cron:0 45 3 * * *}")
+    public void purgeProcessed() {
+        leaderElection.runIfLeader("outbox.purge", () -> {
+            Integer removed = transactionTemplate.execute(status ->
+                    outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays)));
+            if (removed != null && removed > 0) {
+                log.info("Purged {} delivered outbox events", removed);
+            }
+        });
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        LocalDateTime oldestPending = outboxEventRepository.findOldestPendingCreatedAt();
+        result.put("pending", outboxEventRepository.countByStatus(OutboxEvent.Status.PENDING));
+        result.put("failed", outboxEventRepository.countByStatus(OutboxEvent.Status.FAILED));
+        result.put("oldestPendingAgeMs", oldestPending != null
+                ? Duration.between(oldestPending, LocalDateTime.now()).toMillis() : 0);
+        result.put("lastDeliveryLagMs", lastDeliveryLagMillis.get());
+        result.put("lastBatchSize", lastBatchSize.get());
+        result.put("lastBatchMs", lastBatchMillis.get());
+        result.put("lastPollAt", lastPollAt);
+
+        Map<String, Object> types = new TreeMap<>();
+        statsByType.forEach((type, stats) -> types.put(type, Map.of(
+                "dispatched", stats.dispatched.sum(),
+                "retried", stats.retried.sum(),
+                "failed", stats.failed.sum())));
+        result.put("types", types);
+        return result;
+    }
+
+    private static class TypeStats {
+        final LongAdder dispatched = new LongAdder();
+        final LongAdder retried = new LongAdder();
+        final LongAdder failed = new LongAdder();
+    }
+}
@@ -0,0 +1,15 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.model.OutboxEvent;
+
+/**
+ * Consumer of outbox events. Every handler bean sees every event it accepts, after the writing
+ * transaction committed; delivery is at least once, so handlers must tolerate repeats.
+ * Throwing makes the dispatcher retry the event (and hold back later events of its aggregate).
+ */
+public interface OutboxHandler {
+
+    boolean accepts(OutboxEvent event);
+
+    void handle(OutboxEvent event) throws Exception;
+}
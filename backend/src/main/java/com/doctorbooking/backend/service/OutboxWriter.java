@@ -0,0 +1,60 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.event.AppointmentChangedEvent;
+import com.doctorbooking.backend.event.FeedbackChangedEvent;
+import com.doctorbooking.backend.event.TreatmentChangedEvent;
+import com.doctorbooking.backend.model.OutboxEvent;
+import com.doctorbooking.backend.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Records lifecycle events in the outbox table. Runs before commit, inside the transaction that
+ * made the change, so the event row exists if and only if the change itself was committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    public static final String APPOINTMENT = "APPOINTMENT";
+    public static final String TREATMENT = "TREATMENT";
+    public static final String FEEDBACK = "FEEDBACK";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        String type = event.isCreated() ? "CREATED" : event.getStatus().name();
+        append(APPOINTMENT, event.getAppointmentId(), APPOINTMENT + "_" + type, event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTreatmentChanged(TreatmentChangedEvent event) {
+        append(TREATMENT, event.getTreatmentId(), TREATMENT + "_" + event.getType().name(), event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        String type = event.isCreated() ? "CREATED" : event.getStatus().name();
+        append(FEEDBACK, event.getFeedbackId(), FEEDBACK + "_" + type, event);
+    }
+
+    private void append(String aggregateType, Long aggregateId, String eventType, Object payload) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateType(aggregateType);
+        outboxEvent.setAggregateId(aggregateId);
+        outboxEvent.setEventType(eventType);
+        try {
+            outboxEvent.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            // Failing here rolls back the change, which is the point of writing both together
+            throw new RuntimeException("Failed to serialize outbox event " + eventType, e);
+        }
+        outboxEventRepository.save(outboxEvent);
+    }
+}
@@ -0,0 +1,140 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.dto.response.PageResponse;
+import com.doctorbooking.backend.dto.response.PatientResponse;
+import com.doctorbooking.backend.model.Patient;
+import com.doctorbooking.backend.repository.PatientRepository;
+import com.doctorbooking.backend.util.TextNormalizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reception-facing patient lookup. A keyword made only of digits (and phone separators) is an
+ * exact lookup on patient id and normalized phone number; anything else is a diacritic-folded
+ * name prefix lookup. Every path is paginated and backed by an index.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatientLookupService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    private final PatientRepository patientRepository;
+    private final LeaderElection leaderElection;
+    private final TransactionTemplate transactionTemplate;
+
+    @Transactional(readOnly = true)
+    public PageResponse<PatientResponse> search(String keyword, int page, int size) {
+        return search(keyword, page, size, null);
+    }
+
+    /**
+     * Same lookup rules; with a non-null field set only those columns are selected and the
+     * remaining DTO fields are left null.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<PatientResponse> search(String keyword, int page, int size, Set<String> fields) {
+        int pageNumber = Math.max(page, 0);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Pageable pageable = PageRequest.of(pageNumber, pageSize, Sort.by("fullName", "id"));
+
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return fields != null
+                    ? PageResponse.fromPage(patientRepository.findSparseAll(fields, pageable))
+                    : toResponse(patientRepository.findAllWithUser(pageable));
+        }
+
+        String compact = keyword.replaceAll("[\\s().+-]", "");
+        if (!compact.isEmpty() && compact.chars().allMatch(Character::isDigit)) {
+            if (fields != null) {
+                Long id = compact.length() <= 18 ? Long.parseLong(compact) : null;
+                return PageResponse.fromPage(patientRepository.findSparseByIdOrPhone(
+                        fields, id, TextNormalizer.normalizePhone(compact), pageable));
+            }
+            return exactLookup(compact, pageNumber, pageSize);
+        }
+
+        String prefix = TextNormalizer.fold(keyword);
+        if (prefix.isEmpty()) {
+            return new PageResponse<>(Collections.emptyList(), pageNumber, pageSize, 0, 0);
+        }
+        return fields != null
+                ? PageResponse.fromPage(patientRepository.findSparseByNamePrefix(fields, prefix, pageable))
+                : toResponse(patientRepository.searchByNamePrefix(prefix, pageable));
+    }
+
+    private PageResponse<PatientResponse> exactLookup(String digits, int pageNumber, int pageSize) {
+        Map<Long, Patient> matches = new LinkedHashMap<>();
+        if (digits.length() <= 18) {
+            patientRepository.findById(Long.parseLong(digits))
+                    .ifPresent(patient -> matches.put(patient.getId(), patient));
+        }
+        String phone = TextNormalizer.normalizePhone(digits);
+        for (Patient patient : patientRepository.findByPhoneNormalized(phone)) {
+            matches.putIfAbsent(patient.getId(), patient);
+        }
+
+        List<PatientResponse> all = matches.values().stream()
+                .map(PatientResponse::fromEntity)
+                .toList();
+        int from = Math.min(pageNumber * pageSize, all.size());
+        int to = Math.min(from + pageSize, all.size());
+        int totalPages = (all.size() + pageSize - 1) / pageSize;
+        return new PageResponse<>(new ArrayList<>(all.subList(from, to)), pageNumber, pageSize, all.size(), totalPages);
+    }
+
+    private PageResponse<PatientResponse> toResponse(Page<Patient> page) {
+        return PageResponse.fromPage(page.map(PatientResponse::fromEntity));
+    }
+
+    // Fill lookup keys for rows created before the columns existed; one node does it
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLookupKeys() {
+        leaderElection.runIfLeader("patients.lookup-backfill", () -> {
+            int total = 0;
+            long afterId = 0;
+            while (true) {
+                long from = afterId;
+                List<Patient> batch = transactionTemplate.execute(status -> {
+                    List<Patient> patients = patientRepository.findWithoutNameKeys(from,
+                            PageRequest.of(0, BACKFILL_BATCH_SIZE));
+                    for (Patient patient : patients) {
+                        patient.setFullName(patient.getFullName());
+                        patient.setPhone(patient.getPhone());
+                    }
+                    return patientRepository.saveAll(patients);
+                });
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+                total += batch.size();
+                if (batch.size() < BACKFILL_BATCH_SIZE) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+            if (total > 0) {
+                log.info("Backfilled patient lookup keys for {} patients", total);
+            }
+        });
+    }
+}
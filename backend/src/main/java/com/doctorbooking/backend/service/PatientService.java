@@ -2,6 +2,7 @@ package com.doctorbooking.backend.service;
 
 import com.doctorbooking.backend.dto.request.ChangePasswordRequest;
 import com.doctorbooking.backend.dto.request.UpdatePatientProfileRequest;
+import com.doctorbooking.backend.dto.response.PageResponse;
 import com.doctorbooking.backend.dto.response.PatientResponse;
 import com.doctorbooking.backend.dto.response.TreatmentResponse;
 import com.doctorbooking.backend.model.Patient;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,16 +27,12 @@ public class PatientService {
     private final TreatmentRepository treatmentRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PatientLookupService patientLookupService;
+    private final AggregateVersions aggregateVersions;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
-    public List<PatientResponse> searchPatients(String keyword) {
-        if (keyword == null || keyword.trim().isEmpty()) {
-            return patientRepository.findAll().stream()
-                    .map(PatientResponse::fromEntity)
-                    .collect(Collectors.toList());
-        }
-        return patientRepository.searchPatients(keyword).stream()
-                .map(PatientResponse::fromEntity)
-                .collect(Collectors.toList());
+    public PageResponse<PatientResponse> searchPatients(String keyword, int page, int size, Set<String> fields) {
+        return patientLookupService.search(keyword, page, size, fields);
     }
 
     public PatientResponse getPatientById(Long id) {
@@ -51,12 +49,6 @@ public class PatientService {
         return response;
     }
 
-    public List<PatientResponse> getAllPatients() {
-        return patientRepository.findAll().stream()
-                .map(PatientResponse::fromEntity)
-                .collect(Collectors.toList());
-    }
-
     // Patient Profile Management (for patient themselves)
     public PatientResponse getPatientByUserId(Long userId) {
         Patient patient = patientRepository.findByUserId(userId)
@@ -96,6 +88,8 @@ public class PatientService {
         }
 
         patient = patientRepository.save(patient);
+        aggregateVersions.bump(AggregateVersions.Aggregate.PATIENT_PROFILE, userId);
+        cacheInvalidationBus.publish(CacheInvalidationBus.PATIENT, patient.getId());
         return PatientResponse.fromEntity(patient);
     }
 
@@ -113,6 +107,7 @@ public class PatientService {
         user.setPassword(request.getNewPassword()); // Plain text
         // user.setPassword(passwordEncoder.encode(request.getNewPassword())); // BCrypt - uncomment sau khi test xong
         userRepository.save(user);
+        cacheInvalidationBus.publish(CacheInvalidationBus.USER, user.getId());
     }
 }
 
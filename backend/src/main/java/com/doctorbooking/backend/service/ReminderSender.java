@@ -0,0 +1,20 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.model.AppointmentReminder;
+
+import java.time.LocalDate;
+
+/**
+ * Delivery channel for appointment reminders. One bean per channel; the reminder job rate-limits
+ * calls per channel and records the outcome, so implementations only need to send (or throw).
+ */
+public interface ReminderSender {
+
+    AppointmentReminder.Channel getChannel();
+
+    void send(Message message) throws Exception;
+
+    record Message(Long appointmentId, AppointmentReminder.Channel channel, String recipient,
+                   LocalDate appointmentDate, String text) {
+    }
+}
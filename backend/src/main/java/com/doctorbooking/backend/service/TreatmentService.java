@@ -3,18 +3,24 @@ package com.doctorbooking.backend.service;
 import com.doctorbooking.backend.dto.request.CreateTreatmentRequest;
 import com.doctorbooking.backend.dto.request.UpdateTreatmentRequest;
 import com.doctorbooking.backend.dto.response.TreatmentResponse;
+import com.doctorbooking.backend.event.AppointmentChangedEvent;
+import com.doctorbooking.backend.event.TreatmentChangedEvent;
 import com.doctorbooking.backend.model.Appointment;
 import com.doctorbooking.backend.model.Doctor;
 import com.doctorbooking.backend.model.Patient;
+import com.doctorbooking.backend.model.Tombstone;
 import com.doctorbooking.backend.model.Treatment;
 import com.doctorbooking.backend.repository.AppointmentRepository;
 import com.doctorbooking.backend.repository.DoctorRepository;
 import com.doctorbooking.backend.repository.PatientRepository;
+import com.doctorbooking.backend.repository.TombstoneRepository;
 import com.doctorbooking.backend.repository.TreatmentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,6 +32,10 @@ public class TreatmentService {
     private final DoctorRepository doctorRepository;
     private final PatientRepository patientRepository;
     private final AppointmentRepository appointmentRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final AggregateVersions aggregateVersions;
+    private final AnalyticsSketchService analyticsSketchService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<TreatmentResponse> getAllTreatments() {
         return treatmentRepository.findAll().stream()
@@ -89,8 +99,13 @@ public class TreatmentService {
         if (appointment != null && appointment.getStatus() == Appointment.AppointmentStatus.CONFIRMED) {
             appointment.setStatus(Appointment.AppointmentStatus.COMPLETED);
             appointmentRepository.save(appointment);
+            aggregateVersions.bump(AggregateVersions.Aggregate.PATIENT_APPOINTMENTS, patient.getId());
+            eventPublisher.publishEvent(AppointmentChangedEvent.of(appointment, Appointment.AppointmentStatus.CONFIRMED));
         }
 
+        bumpTreatmentVersions(treatment);
+        analyticsSketchService.recordDiagnosis(doctor.getSpecialization(), treatment.getDiagnosis(), LocalDate.now());
+        eventPublisher.publishEvent(TreatmentChangedEvent.of(treatment, TreatmentChangedEvent.ChangeType.CREATED));
         return TreatmentResponse.fromEntity(treatment);
     }
 
@@ -113,6 +128,8 @@ public class TreatmentService {
         }
 
         treatment = treatmentRepository.save(treatment);
+        bumpTreatmentVersions(treatment);
+        eventPublisher.publishEvent(TreatmentChangedEvent.of(treatment, TreatmentChangedEvent.ChangeType.UPDATED));
         return TreatmentResponse.fromEntity(treatment);
     }
 
@@ -121,6 +138,15 @@ public class TreatmentService {
         Treatment treatment = treatmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Treatment not found with id: " + id));
         treatmentRepository.delete(treatment);
+        tombstoneRepository.save(Tombstone.of(Tombstone.EntityType.TREATMENT, id,
+                treatment.getDoctor().getId(), treatment.getPatient().getId()));
+        bumpTreatmentVersions(treatment);
+        eventPublisher.publishEvent(TreatmentChangedEvent.of(treatment, TreatmentChangedEvent.ChangeType.DELETED));
+    }
+
+    private void bumpTreatmentVersions(Treatment treatment) {
+        aggregateVersions.bump(AggregateVersions.Aggregate.DOCTOR_TREATMENTS, treatment.getDoctor().getId());
+        aggregateVersions.bump(AggregateVersions.Aggregate.PATIENT_TREATMENTS, treatment.getPatient().getId());
     }
 }
 
@@ -21,9 +21,10 @@ public class UserService implements UserDetailsService {
         System.out.println("🔵 UserService.loadUserByUsername - Searching for: " + usernameOrEmail);
         
         // Try to find by username first, if not found, try email
+        // Only fall back to the email lookup when the username lookup misses
         User user = userRepository.findByUsername(usernameOrEmail)
-                .orElse(userRepository.findByEmail(usernameOrEmail)
-                        .orElse(null));
+                .or(() -> userRepository.findByEmail(usernameOrEmail))
+                .orElse(null);
         
         if (user != null) {
             System.out.println("✅ UserService.loadUserByUsername - Found user: " + user.getUsername() + " (ID: " + user.getId() + ", Role: " + user.getRole() + ")");
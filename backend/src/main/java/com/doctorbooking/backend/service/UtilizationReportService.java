@@ -0,0 +1,333 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.dto.response.DoctorUtilizationResponse;
+import com.doctorbooking.backend.model.Appointment;
+import com.doctorbooking.backend.model.Doctor;
+import com.doctorbooking.backend.model.DoctorUtilization;
+import com.doctorbooking.backend.model.Job;
+import com.doctorbooking.backend.repository.AppointmentRepository;
+import com.doctorbooking.backend.repository.ArchivedAppointmentRepository;
+import com.doctorbooking.backend.repository.DoctorRepository;
+import com.doctorbooking.backend.repository.DoctorUtilizationRepository;
+import com.doctorbooking.backend.repository.JobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Monthly per-doctor utilization report. A run covers a range of months and splits it into one
+ * partition per doctor and month, which a dedicated fork-join pool aggregates in parallel: each
+ * leaf streams its partition's appointments from the database into a few primitive counters, so
+ * no worker ever holds more than the partition it is counting, and the partition rows never do.
+ * <p>
+ * There is no slot model in the schema, so capacity is derived from configured working hours:
+ * every {@code report.slot-minutes} between {@code report.day-start} and {@code report.day-end}
+ * on each of {@code report.working-days} counts as one available slot.
+ * <p>
+ * Results replace the stored snapshot rows of the months covered, in one transaction.
+ */
+@Service
+@Slf4j
+public class UtilizationReportService implements JobHandler<UtilizationReportService.Request> {
+
+    public static final String JOB_TYPE = "reports.utilization";
+
+    private final AppointmentRepository appointmentRepository;
+    private final ArchivedAppointmentRepository archivedAppointmentRepository;
+    private final DoctorRepository doctorRepository;
+    private final DoctorUtilizationRepository utilizationRepository;
+    private final JobRepository jobRepository;
+    private final JobQueue jobQueue;
+    private final LeaderElection leaderElection;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ForkJoinPool pool;
+
+    // ISO times (HH:mm)
+    @Value("${report.day-start:09:00}")
+    private String dayStart;
+
+    @Value("${report.day-end:17:00}")
+    private String dayEnd;
+
+    @Value("${report.slot-minutes:30}")
+    private int slotMinutes;
+
+    @Value("${report.working-days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}")
+    private Set<DayOfWeek> workingDays;
+
+    @Value("${report.max-months:24}")
+    private int maxMonths;
+
+    public UtilizationReportService(AppointmentRepository appointmentRepository,
+                                    ArchivedAppointmentRepository archivedAppointmentRepository,
+                                    DoctorRepository doctorRepository,
+                                    DoctorUtilizationRepository utilizationRepository,
+                                    JobRepository jobRepository,
+                                    JobQueue jobQueue,
+                                    LeaderElection leaderElection,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${report.parallelism:4}") int parallelism) {
+        this.appointmentRepository = appointmentRepository;
+        this.archivedAppointmentRepository = archivedAppointmentRepository;
+        this.doctorRepository = doctorRepository;
+        this.utilizationRepository = utilizationRepository;
+        this.jobRepository = jobRepository;
+        this.jobQueue = jobQueue;
+        this.leaderElection = leaderElection;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Leaves block on JDBC, so parallelism must stay below the connection pool size
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    // Both months inclusive
+    public record Request(YearMonth from, YearMonth to) {
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    // Last month's report, once its appointments can no longer change much
+    @Scheduled(cron = "${report.utilization-cron:0 0 3 1 * *}")
+    public void scheduleMonthly() {
+        YearMonth lastMonth = YearMonth.now().minusMonths(1);
+        leaderElection.runIfLeader("reports.utilization", () -> {
+            if (enqueue(lastMonth, lastMonth) == null) {
+                log.warn("Skipping monthly utilization report, previous run still queued or running");
+            }
+        });
+    }
+
+    /**
+     * Queues a report for the given months on the low-priority lane; returns the job id, or null if
+     * a report is already queued or running.
+     */
+    public Long enqueue(YearMonth from, YearMonth to) {
+        validate(from, to);
+        if (jobRepository.countByTypeAndStatusIn(JOB_TYPE, EnumSet.of(Job.Status.QUEUED, Job.Status.RUNNING)) > 0) {
+            return null;
+        }
+        return jobQueue.enqueue(JOB_TYPE, new Request(from, to), Job.Lane.LOW, null).getId();
+    }
+
+    @Override
+    public String getType() {
+        return JOB_TYPE;
+    }
+
+    @Override
+    public Class<Request> getPayloadType() {
+        return Request.class;
+    }
+
+    @Override
+    public void handle(Request request) {
+        generate(request.from(), request.to());
+    }
+
+    public List<DoctorUtilization> generate(YearMonth from, YearMonth to) {
+        validate(from, to);
+        long start = System.nanoTime();
+        LocalDateTime generatedAt = LocalDateTime.now();
+        List<Doctor> doctors = doctorRepository.findAll();
+
+        List<Partition> partitions = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            int slots = availableSlots(month);
+            for (Doctor doctor : doctors) {
+                partitions.add(new Partition(doctor, month, slots));
+            }
+        }
+        DoctorUtilization[] results = new DoctorUtilization[partitions.size()];
+        pool.invoke(new AggregateTask(partitions, results, 0, partitions.size()));
+
+        List<DoctorUtilization> rows = new ArrayList<>(results.length);
+        for (int i = 0; i < results.length; i++) {
+            Partition partition = partitions.get(i);
+            DoctorUtilization row = results[i];
+            // Inactive doctors without appointments have nothing to report
+            if (row.getAppointments() == 0 && partition.doctor().getStatus() != Doctor.DoctorStatus.ACTIVE) {
+                continue;
+            }
+            row.setGeneratedAt(generatedAt);
+            rows.add(row);
+        }
+
+        List<LocalDate> months = partitions.stream().map(p -> p.month().atDay(1)).distinct().toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            utilizationRepository.deleteByReportMonthIn(months);
+            utilizationRepository.saveAll(rows);
+        });
+        log.info("Utilization report {}..{}: {} partitions, {} rows in {} ms", from, to, partitions.size(),
+                rows.size(), (System.nanoTime() - start) / 1_000_000L);
+        return rows;
+    }
+
+    public List<DoctorUtilizationResponse> getReport(YearMonth month) {
+        if (month == null) {
+            List<LocalDate> months = utilizationRepository.findReportMonths();
+            if (months.isEmpty()) {
+                return List.of();
+            }
+            month = YearMonth.from(months.get(0));
+        }
+        return utilizationRepository.findByReportMonthOrderByDoctorName(month.atDay(1)).stream()
+                .map(DoctorUtilizationResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    public List<DoctorUtilizationResponse> getDoctorReport(Long doctorId, YearMonth from, YearMonth to) {
+        validate(from, to);
+        return utilizationRepository.findByDoctorIdAndReportMonthBetweenOrderByReportMonth(doctorId,
+                        from.atDay(1), to.atDay(1)).stream()
+                .map(DoctorUtilizationResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    public List<String> getReportMonths() {
+        return utilizationRepository.findReportMonths().stream()
+                .map(month -> YearMonth.from(month).toString())
+                .collect(Collectors.toList());
+    }
+
+    private void validate(YearMonth from, YearMonth to) {
+        if (from == null || to == null) {
+            throw new RuntimeException("Both 'from' and 'to' months are required");
+        }
+        if (from.isAfter(to)) {
+            throw new RuntimeException("'from' must not be after 'to'");
+        }
+        if (from.plusMonths(maxMonths).isBefore(to.plusMonths(1))) {
+            throw new RuntimeException("A report covers at most " + maxMonths + " months");
+        }
+    }
+
+    private int availableSlots(YearMonth month) {
+        int perDay = (int) (Duration.between(LocalTime.parse(dayStart), LocalTime.parse(dayEnd)).toMinutes()
+                / slotMinutes);
+        int days = 0;
+        for (int day = 1; day <= month.lengthOfMonth(); day++) {
+            if (workingDays.contains(month.atDay(day).getDayOfWeek())) {
+                days++;
+            }
+        }
+        return days * perDay;
+    }
+
+    private DoctorUtilization aggregate(Partition partition) {
+        LocalDate from = partition.month().atDay(1);
+        Counters counters = new Counters();
+        Long doctorId = partition.doctor().getId();
+        List<Supplier<Stream<Object[]>>> sources = List.of(
+                () -> appointmentRepository.streamUtilization(doctorId, from, from.plusMonths(1)),
+                () -> archivedAppointmentRepository.streamUtilization(doctorId, from, from.plusMonths(1)));
+        readOnlyTransaction.executeWithoutResult(status -> {
+            for (Supplier<Stream<Object[]>> source : sources) {
+                try (Stream<Object[]> rows = source.get()) {
+                    rows.forEach(row -> counters.add((Appointment.AppointmentStatus) row[0], (Boolean) row[1]));
+                }
+            }
+        });
+        return counters.toRow(partition, from);
+    }
+
+    private record Partition(Doctor doctor, YearMonth month, int availableSlots) {
+    }
+
+    // Splits the partition range in halves until a single partition is left, which it aggregates
+    private class AggregateTask extends RecursiveAction {
+
+        private final List<Partition> partitions;
+        private final DoctorUtilization[] results;
+        private final int from;
+        private final int to;
+
+        AggregateTask(List<Partition> partitions, DoctorUtilization[] results, int from, int to) {
+            this.partitions = partitions;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) {
+                    results[from] = aggregate(partitions.get(from));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new AggregateTask(partitions, results, from, middle),
+                    new AggregateTask(partitions, results, middle, to));
+        }
+    }
+
+    private static final class Counters {
+
+        private int appointments;
+        private int completed;
+        private int cancelled;
+        private int followUps;
+
+        void add(Appointment.AppointmentStatus status, boolean followUp) {
+            appointments++;
+            if (status == Appointment.AppointmentStatus.CANCELLED) {
+                cancelled++;
+            } else if (status == Appointment.AppointmentStatus.COMPLETED) {
+                completed++;
+                if (followUp) {
+                    followUps++;
+                }
+            }
+        }
+
+        DoctorUtilization toRow(Partition partition, LocalDate month) {
+            int booked = appointments - cancelled;
+            DoctorUtilization row = new DoctorUtilization();
+            row.setReportMonth(month);
+            row.setDoctorId(partition.doctor().getId());
+            row.setDoctorName(partition.doctor().getFullName());
+            row.setSpecialization(partition.doctor().getSpecialization());
+            row.setAvailableSlots(partition.availableSlots());
+            row.setAppointments(appointments);
+            row.setBooked(booked);
+            row.setCompleted(completed);
+            row.setCancelled(cancelled);
+            row.setFollowUps(followUps);
+            row.setUtilization(ratio(booked, partition.availableSlots()));
+            row.setCancellationRate(ratio(cancelled, appointments));
+            row.setCompletionRate(ratio(completed, booked));
+            row.setFollowUpRate(ratio(followUps, completed));
+            return row;
+        }
+
+        private static double ratio(int numerator, int denominator) {
+            return denominator > 0 ? (double) numerator / denominator : 0.0;
+        }
+    }
+}
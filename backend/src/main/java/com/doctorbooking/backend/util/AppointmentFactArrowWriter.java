@@ -0,0 +1,169 @@
+package com.doctorbooking.backend.util;
+
+import com.doctorbooking.backend.dto.response.AppointmentFactRow;
+import org.apache.arrow.compression.CommonsCompressionFactory;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.TimeMilliVector;
+import org.apache.arrow.vector.TimeStampMilliVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.compression.CompressionUtil;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.message.IpcOption;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.Schema;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes {@link AppointmentFactRow}s as an Arrow IPC file with LZ4-compressed record batches.
+ * Rows are buffered into column vectors and flushed every {@code batchRows}, so memory use is
+ * bounded by the batch size rather than by the partition.
+ * <p>
+ * Timestamps are local wall-clock times (no zone), like the columns they come from.
+ */
+public class AppointmentFactArrowWriter implements Closeable {
+
+    public static final Schema SCHEMA = new Schema(List.of(
+            Field.notNullable("appointment_id", new ArrowType.Int(64, true)),
+            Field.notNullable("appointment_date", new ArrowType.Date(DateUnit.DAY)),
+            Field.notNullable("appointment_time", new ArrowType.Time(TimeUnit.MILLISECOND, 32)),
+            Field.notNullable("status", ArrowType.Utf8.INSTANCE),
+            Field.notNullable("doctor_id", new ArrowType.Int(64, true)),
+            Field.nullable("specialization", ArrowType.Utf8.INSTANCE),
+            Field.notNullable("patient_id", new ArrowType.Int(64, true)),
+            Field.nullable("created_at", new ArrowType.Timestamp(TimeUnit.MILLISECOND, null)),
+            Field.nullable("updated_at", new ArrowType.Timestamp(TimeUnit.MILLISECOND, null)),
+            Field.nullable("treatment_id", new ArrowType.Int(64, true)),
+            Field.nullable("follow_up_date", new ArrowType.Date(DateUnit.DAY)),
+            Field.nullable("treatment_created_at", new ArrowType.Timestamp(TimeUnit.MILLISECOND, null))
+    ));
+
+    private final VectorSchemaRoot root;
+    private final ArrowFileWriter writer;
+    private final int batchRows;
+
+    private final BigIntVector appointmentId;
+    private final DateDayVector appointmentDate;
+    private final TimeMilliVector appointmentTime;
+    private final VarCharVector status;
+    private final BigIntVector doctorId;
+    private final VarCharVector specialization;
+    private final BigIntVector patientId;
+    private final TimeStampMilliVector createdAt;
+    private final TimeStampMilliVector updatedAt;
+    private final BigIntVector treatmentId;
+    private final DateDayVector followUpDate;
+    private final TimeStampMilliVector treatmentCreatedAt;
+
+    private int pending;
+    private long rows;
+
+    public AppointmentFactArrowWriter(BufferAllocator allocator, WritableByteChannel out,
+                                      Map<String, String> metadata, int batchRows) throws IOException {
+        this.root = VectorSchemaRoot.create(SCHEMA, allocator);
+        this.batchRows = batchRows;
+        this.appointmentId = (BigIntVector) root.getVector("appointment_id");
+        this.appointmentDate = (DateDayVector) root.getVector("appointment_date");
+        this.appointmentTime = (TimeMilliVector) root.getVector("appointment_time");
+        this.status = (VarCharVector) root.getVector("status");
+        this.doctorId = (BigIntVector) root.getVector("doctor_id");
+        this.specialization = (VarCharVector) root.getVector("specialization");
+        this.patientId = (BigIntVector) root.getVector("patient_id");
+        this.createdAt = (TimeStampMilliVector) root.getVector("created_at");
+        this.updatedAt = (TimeStampMilliVector) root.getVector("updated_at");
+        this.treatmentId = (BigIntVector) root.getVector("treatment_id");
+        this.followUpDate = (DateDayVector) root.getVector("follow_up_date");
+        this.treatmentCreatedAt = (TimeStampMilliVector) root.getVector("treatment_created_at");
+        this.writer = new ArrowFileWriter(root, null, out, metadata, IpcOption.DEFAULT,
+                CommonsCompressionFactory.INSTANCE, CompressionUtil.CodecType.LZ4_FRAME);
+        this.writer.start();
+    }
+
+    public void write(AppointmentFactRow row) throws IOException {
+        int i = pending;
+        appointmentId.setSafe(i, row.getAppointmentId());
+        appointmentDate.setSafe(i, (int) row.getAppointmentDate().toEpochDay());
+        appointmentTime.setSafe(i, (int) (row.getAppointmentTime().toNanoOfDay() / 1_000_000L));
+        status.setSafe(i, row.getStatus().name().getBytes(StandardCharsets.UTF_8));
+        doctorId.setSafe(i, row.getDoctorId());
+        setText(specialization, i, row.getSpecialization());
+        patientId.setSafe(i, row.getPatientId());
+        setTimestamp(createdAt, i, row.getCreatedAt());
+        setTimestamp(updatedAt, i, row.getUpdatedAt());
+        if (row.getTreatmentId() != null) {
+            treatmentId.setSafe(i, row.getTreatmentId());
+        } else {
+            treatmentId.setNull(i);
+        }
+        setDate(followUpDate, i, row.getFollowUpDate());
+        setTimestamp(treatmentCreatedAt, i, row.getTreatmentCreatedAt());
+        rows++;
+        if (++pending == batchRows) {
+            flush();
+        }
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    // Writes the last partial batch and the file footer; the channel stays open for the caller
+    public void finish() throws IOException {
+        if (pending > 0) {
+            flush();
+        }
+        writer.end();
+    }
+
+    @Override
+    public void close() {
+        writer.close();
+        root.close();
+    }
+
+    private void flush() throws IOException {
+        root.setRowCount(pending);
+        writer.writeBatch();
+        // Reuse the allocated buffers for the next batch
+        root.getFieldVectors().forEach(vector -> vector.reset());
+        pending = 0;
+    }
+
+    private static void setText(VarCharVector vector, int i, String value) {
+        if (value != null) {
+            vector.setSafe(i, value.getBytes(StandardCharsets.UTF_8));
+        } else {
+            vector.setNull(i);
+        }
+    }
+
+    private static void setDate(DateDayVector vector, int i, LocalDate value) {
+        if (value != null) {
+            vector.setSafe(i, (int) value.toEpochDay());
+        } else {
+            vector.setNull(i);
+        }
+    }
+
+    private static void setTimestamp(TimeStampMilliVector vector, int i, LocalDateTime value) {
+        if (value != null) {
+            vector.setSafe(i, value.toInstant(ZoneOffset.UTC).toEpochMilli());
+        } else {
+            vector.setNull(i);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.doctorbooking.backend.util;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A GET request synthesized from one entry of a batch and dispatched straight to the
+ * DispatcherServlet, so it skips the filter chain (and the JWT parsing) of the outer request.
+ * <p>
+ * Everything a handler may read is captured in the constructor, on the outer request's thread;
+ * the sub-request then runs on its own thread without touching the container's request object
+ * for path, headers, parameters or attributes.
+ */
+public class BatchSubRequest extends HttpServletRequestWrapper {
+
+    // Headers that describe the outer POST or would change the sub-response's encoding
+    private static final Set<String> DROPPED_HEADERS = Set.of(
+            HttpHeaders.ACCEPT.toLowerCase(), HttpHeaders.ACCEPT_ENCODING.toLowerCase(),
+            HttpHeaders.CONTENT_TYPE.toLowerCase(), HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(), HttpHeaders.IF_NONE_MATCH.toLowerCase(),
+            HttpHeaders.IF_MODIFIED_SINCE.toLowerCase(), HttpHeaders.IF_MATCH.toLowerCase(),
+            HttpHeaders.IF_UNMODIFIED_SINCE.toLowerCase());
+
+    private final String contextPath;
+    private final String path;
+    private final String queryString;
+    private final String requestUrl;
+    private final Locale locale;
+    private final List<Locale> locales;
+    private final Map<String, List<String>> headers = new LinkedCaseInsensitiveMap<>();
+    private final Map<String, String[]> parameters = new LinkedHashMap<>();
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    public BatchSubRequest(HttpServletRequest outer, String path) {
+        super(outer);
+        UriComponents uri = UriComponentsBuilder.fromUriString(path).build();
+        this.contextPath = outer.getContextPath();
+        this.path = uri.getPath();
+        this.queryString = uri.getQuery();
+        this.requestUrl = outer.getScheme() + "://" + outer.getServerName() + ":" + outer.getServerPort()
+                + contextPath + this.path;
+        this.locale = outer.getLocale();
+        this.locales = Collections.list(outer.getLocales());
+
+        for (String name : Collections.list(outer.getHeaderNames())) {
+            if (!DROPPED_HEADERS.contains(name.toLowerCase())) {
+                headers.put(name, Collections.list(outer.getHeaders(name)));
+            }
+        }
+        headers.put(HttpHeaders.ACCEPT, List.of(MediaType.APPLICATION_JSON_VALUE));
+
+        MultiValueMap<String, String> query = uri.getQueryParams();
+        query.forEach((name, values) -> parameters.put(decode(name), values.stream()
+                .map(value -> value == null ? "" : decode(value))
+                .toArray(String[]::new)));
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    // ========== Request line ==========
+
+    @Override
+    public String getMethod() {
+        return HttpMethod.GET.name();
+    }
+
+    @Override
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return contextPath + path;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        return new StringBuffer(requestUrl);
+    }
+
+    @Override
+    public String getServletPath() {
+        return path;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return DispatcherType.REQUEST;
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locale;
+    }
+
+    @Override
+    public Enumeration<Locale> getLocales() {
+        return Collections.enumeration(locales);
+    }
+
+    // ========== Headers ==========
+
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        return Collections.enumeration(headers.getOrDefault(name, Collections.emptyList()));
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(headers.keySet());
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        return -1;
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = getHeader(name);
+        return value == null ? -1 : Integer.parseInt(value);
+    }
+
+    // ========== Parameters and body ==========
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values == null || values.length == 0 ? null : values[0];
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters.get(name);
+    }
+
+    @Override
+    public String getContentType() {
+        return null;
+    }
+
+    @Override
+    public int getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return -1;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return true;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read() {
+                return -1;
+            }
+        };
+    }
+
+    // ========== Attributes ==========
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+
+    private static String decode(String value) {
+        return UriUtils.decode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,58 @@
+package com.doctorbooking.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Position in a delta-sync feed: the last {@code (updatedAt, id)} returned from the live table and
+ * the last tombstone id. Clients get it as an opaque base64url token and pass it back unchanged;
+ * the feed name is embedded so a cursor cannot be replayed against a different feed.
+ */
+public record ChangeCursor(String feed, LocalDateTime updatedAt, long id, long tombstoneId, long issuedAt) {
+
+    private static final String VERSION = "c1";
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public static ChangeCursor start(String feed) {
+        return new ChangeCursor(feed, ORIGIN, 0, 0, Instant.now().getEpochSecond());
+    }
+
+    public ChangeCursor advance(LocalDateTime updatedAt, long id, long tombstoneId) {
+        return new ChangeCursor(feed, updatedAt, id, tombstoneId, Instant.now().getEpochSecond());
+    }
+
+    public boolean isStart() {
+        return id == 0 && tombstoneId == 0 && ORIGIN.equals(updatedAt);
+    }
+
+    public String encode() {
+        // updatedAt is written as UTC-based micros purely as an encoding; no zone conversion happens
+        long micros = updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + updatedAt.getNano() / 1_000;
+        String raw = String.join(".", VERSION, feed, Long.toString(micros), Long.toString(id),
+                Long.toString(tombstoneId), Long.toString(issuedAt));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ChangeCursor decode(String token, String feed) {
+        if (token == null || token.isBlank()) {
+            return start(feed);
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\.");
+            if (parts.length != 6 || !VERSION.equals(parts[0]) || !feed.equals(parts[1])) {
+                throw new IllegalArgumentException();
+            }
+            long micros = Long.parseLong(parts[2]);
+            LocalDateTime updatedAt = LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+            return new ChangeCursor(feed, updatedAt, Long.parseLong(parts[3]), Long.parseLong(parts[4]),
+                    Long.parseLong(parts[5]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
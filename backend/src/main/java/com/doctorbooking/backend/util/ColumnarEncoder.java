@@ -0,0 +1,190 @@
+package com.doctorbooking.backend.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Column-wise encoding of DTO lists (media type {@value #MEDIA_TYPE}) for large tables.
+ * <ul>
+ *   <li>{@code dict}: repeated strings (names, status) as a dictionary plus an int code per row, -1 = null</li>
+ *   <li>{@code delta}: ids as the first value followed by row-to-row differences</li>
+ *   <li>{@code date}: epoch days, delta-encoded</li>
+ *   <li>{@code time}: seconds of day</li>
+ *   <li>{@code timestamp}: epoch millis (UTC wall clock of the LocalDateTime), delta-encoded</li>
+ *   <li>{@code string}: free text, as is</li>
+ * </ul>
+ * Numeric columns list null rows in {@code nulls}. Columns are built in primitive arrays and
+ * streamed with a JsonGenerator, so no per-row maps or boxed values are allocated.
+ * The reference decoder is frontend/src/utils/columnar.js.
+ */
+public final class ColumnarEncoder<D> {
+
+    public static final String MEDIA_TYPE = "application/vnd.doctorbooking.columnar+json";
+    public static final String FORMAT = "columnar-v1";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private enum Kind { DICT, DELTA, DATE, TIME, TIMESTAMP, STRING }
+
+    private record Column<D>(String name, Kind kind, Function<D, ?> getter) {
+    }
+
+    private final Map<String, Column<D>> columns = new LinkedHashMap<>();
+
+    public ColumnarEncoder<D> dictionary(String name, Function<D, String> getter) {
+        return add(name, Kind.DICT, getter);
+    }
+
+    public ColumnarEncoder<D> ids(String name, Function<D, Long> getter) {
+        return add(name, Kind.DELTA, getter);
+    }
+
+    public ColumnarEncoder<D> dates(String name, Function<D, LocalDate> getter) {
+        return add(name, Kind.DATE, getter);
+    }
+
+    public ColumnarEncoder<D> times(String name, Function<D, LocalTime> getter) {
+        return add(name, Kind.TIME, getter);
+    }
+
+    public ColumnarEncoder<D> timestamps(String name, Function<D, LocalDateTime> getter) {
+        return add(name, Kind.TIMESTAMP, getter);
+    }
+
+    public ColumnarEncoder<D> strings(String name, Function<D, String> getter) {
+        return add(name, Kind.STRING, getter);
+    }
+
+    private ColumnarEncoder<D> add(String name, Kind kind, Function<D, ?> getter) {
+        columns.put(name, new Column<>(name, kind, getter));
+        return this;
+    }
+
+    /**
+     * Encodes the rows; fields narrows the columns (null = all), using the same names as fields=.
+     */
+    public byte[] encode(List<D> rows, Set<String> fields) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(256, rows.size() * 24));
+        try (JsonGenerator json = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeStringField("format", FORMAT);
+            json.writeNumberField("rows", rows.size());
+            json.writeObjectFieldStart("columns");
+            for (Column<D> column : columns.values()) {
+                if (fields == null || fields.contains(column.name())) {
+                    json.writeObjectFieldStart(column.name());
+                    json.writeStringField("type", column.kind().name().toLowerCase(Locale.ROOT));
+                    writeColumn(json, column, rows);
+                    json.writeEndObject();
+                }
+            }
+            json.writeEndObject();
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private void writeColumn(JsonGenerator json, Column<D> column, List<D> rows) throws IOException {
+        int n = rows.size();
+        switch (column.kind()) {
+            case DICT -> {
+                Map<String, Integer> codes = new HashMap<>();
+                List<String> dictionary = new ArrayList<>();
+                int[] values = new int[n];
+                for (int i = 0; i < n; i++) {
+                    String value = (String) column.getter().apply(rows.get(i));
+                    if (value == null) {
+                        values[i] = -1;
+                        continue;
+                    }
+                    Integer code = codes.get(value);
+                    if (code == null) {
+                        code = dictionary.size();
+                        codes.put(value, code);
+                        dictionary.add(value);
+                    }
+                    values[i] = code;
+                }
+                json.writeArrayFieldStart("dict");
+                for (String value : dictionary) {
+                    json.writeString(value);
+                }
+                json.writeEndArray();
+                json.writeFieldName("codes");
+                json.writeArray(values, 0, n);
+            }
+            case STRING -> {
+                json.writeArrayFieldStart("values");
+                for (D row : rows) {
+                    json.writeString((String) column.getter().apply(row));
+                }
+                json.writeEndArray();
+            }
+            case TIME -> {
+                int[] values = new int[n];
+                BitSet nulls = new BitSet(n);
+                for (int i = 0; i < n; i++) {
+                    LocalTime value = (LocalTime) column.getter().apply(rows.get(i));
+                    if (value == null) {
+                        nulls.set(i);
+                    } else {
+                        values[i] = value.toSecondOfDay();
+                    }
+                }
+                json.writeFieldName("values");
+                json.writeArray(values, 0, n);
+                writeNulls(json, nulls);
+            }
+            default -> {
+                long[] values = new long[n];
+                BitSet nulls = new BitSet(n);
+                long previous = 0;
+                for (int i = 0; i < n; i++) {
+                    Object value = column.getter().apply(rows.get(i));
+                    if (value == null) {
+                        nulls.set(i);
+                        continue;
+                    }
+                    long current = toLong(column.kind(), value);
+                    values[i] = current - previous;
+                    previous = current;
+                }
+                json.writeFieldName("values");
+                json.writeArray(values, 0, n);
+                writeNulls(json, nulls);
+            }
+        }
+    }
+
+    private static long toLong(Kind kind, Object value) {
+        return switch (kind) {
+            case DATE -> ((LocalDate) value).toEpochDay();
+            case TIMESTAMP -> ((LocalDateTime) value).toInstant(ZoneOffset.UTC).toEpochMilli();
+            default -> (Long) value;
+        };
+    }
+
+    private static void writeNulls(JsonGenerator json, BitSet nulls) throws IOException {
+        if (nulls.isEmpty()) {
+            return;
+        }
+        json.writeArrayFieldStart("nulls");
+        for (int i = nulls.nextSetBit(0); i >= 0; i = nulls.nextSetBit(i + 1)) {
+            json.writeNumber(i);
+        }
+        json.writeEndArray();
+    }
+}
@@ -0,0 +1,27 @@
+package com.doctorbooking.backend.util;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Conditional GET handling for endpoints whose ETag comes from a version counter. Call before
+ * running the query; when it returns true the handler returns null and Spring sends the 304.
+ */
+public final class ConditionalGet {
+
+    // Let browsers keep the body but revalidate every time (Spring Security defaults to no-store)
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalGet() {
+    }
+
+    public static boolean notModified(ServletWebRequest request, String etag, long lastModified) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        return request.checkNotModified(etag, lastModified);
+    }
+}
@@ -0,0 +1,34 @@
+package com.doctorbooking.backend.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 64-bit hashes for the probabilistic sketches. Sketch accuracy depends on well-mixed bits, which
+ * Long.hashCode and String.hashCode do not give.
+ */
+public final class Hashing {
+
+    private Hashing() {
+    }
+
+    // MurmurHash3 finalizer: every input bit affects every output bit
+    public static long mix64(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // FNV-1a over the UTF-8 bytes, finished with mix64
+    public static long hash64(String text) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : text.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix64(h);
+    }
+}
@@ -0,0 +1,95 @@
+package com.doctorbooking.backend.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Most frequent keys of a stream: a count-min sketch for the frequencies plus a bounded set of
+ * candidate keys, the {@code capacity} highest estimates seen so far. A key that falls out of the
+ * candidates keeps its count in the sketch and returns once its estimate beats the weakest
+ * candidate. Merging adds the sketches and re-ranks the union of both candidate sets.
+ * Not thread-safe.
+ */
+public final class HeavyHitters {
+
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final Map<String, Long> candidates = new HashMap<>();
+
+    public HeavyHitters(int depth, int width, int capacity) {
+        this(new CountMinSketch(depth, width), capacity);
+    }
+
+    private HeavyHitters(CountMinSketch sketch, int capacity) {
+        this.sketch = sketch;
+        this.capacity = capacity;
+    }
+
+    public void add(String key) {
+        long hash = Hashing.hash64(key);
+        sketch.add(hash, 1);
+        offer(key, sketch.estimate(hash));
+    }
+
+    public void merge(HeavyHitters other) {
+        sketch.merge(other.sketch);
+        List<String> keys = new ArrayList<>(candidates.keySet());
+        other.candidates.keySet().stream().filter(key -> !candidates.containsKey(key)).forEach(keys::add);
+        candidates.clear();
+        keys.forEach(key -> offer(key, sketch.estimate(Hashing.hash64(key))));
+    }
+
+    // Highest current estimates first
+    public List<Map.Entry<String, Long>> top(int limit) {
+        return candidates.keySet().stream()
+                .map(key -> (Map.Entry<String, Long>) new AbstractMap.SimpleImmutableEntry<>(key,
+                        sketch.estimate(Hashing.hash64(key))))
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .toList();
+    }
+
+    public CountMinSketch getSketch() {
+        return sketch;
+    }
+
+    public void write(DataOutput out) throws IOException {
+        sketch.write(out);
+        out.writeInt(capacity);
+        out.writeInt(candidates.size());
+        for (String key : candidates.keySet()) {
+            out.writeUTF(key);
+        }
+    }
+
+    public static HeavyHitters read(DataInput in) throws IOException {
+        HeavyHitters heavyHitters = new HeavyHitters(CountMinSketch.read(in), in.readInt());
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            String key = in.readUTF();
+            heavyHitters.candidates.put(key, heavyHitters.sketch.estimate(Hashing.hash64(key)));
+        }
+        return heavyHitters;
+    }
+
+    private void offer(String key, long estimate) {
+        if (candidates.containsKey(key) || candidates.size() < capacity) {
+            candidates.put(key, estimate);
+            return;
+        }
+        Map.Entry<String, Long> weakest = candidates.entrySet().stream()
+                .min(Map.Entry.comparingByValue(Comparator.naturalOrder()))
+                .orElseThrow();
+        if (estimate > weakest.getValue()) {
+            candidates.remove(weakest.getKey());
+            candidates.put(key, estimate);
+        }
+    }
+}
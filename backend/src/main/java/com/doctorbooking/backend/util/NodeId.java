@@ -0,0 +1,32 @@
+package com.doctorbooking.backend.util;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.util.UUID;
+
+/**
+ * Identity of this running instance ("host:pid:random"), used to tag rows a node has claimed.
+ * The random suffix keeps a restarted process from being mistaken for its predecessor.
+ */
+public final class NodeId {
+
+    private static final String ID = create();
+
+    private NodeId() {
+    }
+
+    public static String get() {
+        return ID;
+    }
+
+    private static String create() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + ":" + ManagementFactory.getRuntimeMXBean().getPid() + ":"
+                + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,44 @@
+package com.doctorbooking.backend.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Builds responses from bodies that were serialized (and optionally gzipped) ahead of time,
+ * so the bytes go to the client as-is without another pass through a message converter.
+ */
+public final class PreEncodedResponse {
+
+    public static final String VERSION_HEADER = "X-Snapshot-Version";
+
+    private PreEncodedResponse() {
+    }
+
+    public static ResponseEntity<byte[]> json(byte[] json, byte[] gzip, long version, String acceptEncoding) {
+        boolean useGzip = gzip != null && acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(VERSION_HEADER, Long.toString(version))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (useGzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        byte[] body = useGzip ? gzip : json;
+        return builder.contentLength(body.length).body(body);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // "gzip;q=0" explicitly refuses the encoding
+                return parts.length < 2 || !parts[1].replace(" ", "").equals("q=0");
+            }
+        }
+        return false;
+    }
+}
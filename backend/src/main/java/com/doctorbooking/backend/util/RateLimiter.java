@@ -0,0 +1,38 @@
+package com.doctorbooking.backend.util;
+
+/**
+ * Blocking token bucket: {@link #acquire()} hands out at most {@code permitsPerSecond} permits a
+ * second on average, with bursts up to one second's worth. A non-positive rate means unlimited.
+ */
+public class RateLimiter {
+
+    private final double permitsPerNano;
+    private final double maxTokens;
+    private double tokens;
+    private long refilledAt;
+
+    public RateLimiter(double permitsPerSecond) {
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+        this.maxTokens = Math.max(1, permitsPerSecond);
+        this.tokens = maxTokens;
+        this.refilledAt = System.nanoTime();
+    }
+
+    public void acquire() throws InterruptedException {
+        if (permitsPerNano <= 0) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            tokens = Math.min(maxTokens, tokens + (now - refilledAt) * permitsPerNano);
+            refilledAt = now;
+            // Take the permit now, possibly going into debt; callers queue up behind the debt
+            tokens -= 1;
+            waitNanos = tokens >= 0 ? 0 : (long) (-tokens / permitsPerNano);
+        }
+        if (waitNanos > 0) {
+            Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+        }
+    }
+}
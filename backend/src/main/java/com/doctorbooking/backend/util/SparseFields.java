@@ -0,0 +1,72 @@
+package com.doctorbooking.backend.util;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Parsing and JSON filtering for the {@code fields=} query parameter on list endpoints.
+ * DTOs that support it carry {@code @JsonFilter(SparseFields.FILTER_ID)} and a whitelist of
+ * selectable field names; by default (see JacksonConfig) the filter serializes everything.
+ */
+public final class SparseFields {
+
+    public static final String FILTER_ID = "sparseFields";
+
+    private SparseFields() {
+    }
+
+    /**
+     * Returns the requested fields (always including "id"), or null when the parameter is absent
+     * and the full representation should be returned. Unknown names are rejected.
+     */
+    public static Set<String> parse(String fields, Set<String> allowed) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        Set<String> unknown = new TreeSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (allowed.contains(name)) {
+                selected.add(name);
+            } else {
+                unknown.add(name);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown fields: " + String.join(", ", unknown)
+                    + ". Allowed: " + String.join(", ", new TreeSet<>(allowed)));
+        }
+        return Collections.unmodifiableSet(selected);
+    }
+
+    public static <T> Filtered<T> filter(T body, Set<String> fields) {
+        Filtered<T> value = new Filtered<>(body);
+        SimpleBeanPropertyFilter filter = fields == null
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(fields);
+        value.setFilters(new SimpleFilterProvider().addFilter(FILTER_ID, filter));
+        return value;
+    }
+
+    /**
+     * A filtered body that keeps its type in the handler signature, so converters that only handle
+     * some bodies (protobuf) can tell from {@code ResponseEntity<Filtered<List<X>>>} what they would write.
+     */
+    public static final class Filtered<T> extends MappingJacksonValue {
+
+        private Filtered(T value) {
+            super(value);
+        }
+    }
+}
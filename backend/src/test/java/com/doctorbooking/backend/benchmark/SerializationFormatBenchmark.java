@@ -0,0 +1,145 @@
+package com.doctorbooking.backend.benchmark;
+
+import com.doctorbooking.backend.converter.ProtobufDtoHttpMessageConverter;
+import com.doctorbooking.backend.dto.response.AppointmentResponse;
+import com.doctorbooking.backend.dto.response.TreatmentResponse;
+import com.doctorbooking.backend.util.ColumnarEncoder;
+import com.doctorbooking.backend.util.SparseFields;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization time and payload size per response format for a 10k-row appointment list and
+ * treatment list. Not part of the test suite; run it directly:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/classes:target/test-classes:$(cat cp.txt) \
+ *      com.doctorbooking.backend.benchmark.SerializationFormatBenchmark [rows]
+ * </pre>
+ */
+public class SerializationFormatBenchmark {
+
+    private static final int WARMUP_ROUNDS = 30;
+    private static final int MEASURED_ROUNDS = 50;
+
+    private interface Encoder {
+        byte[] encode(Object body) throws IOException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        List<AppointmentResponse> appointments = appointments(rows);
+        List<TreatmentResponse> treatments = treatments(rows);
+
+        SimpleFilterProvider filters = new SimpleFilterProvider()
+                .addFilter(SparseFields.FILTER_ID, SimpleBeanPropertyFilter.serializeAll());
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().filters(filters).build();
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).filters(filters).build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).filters(filters).build();
+        ProtobufDtoHttpMessageConverter protobuf = new ProtobufDtoHttpMessageConverter();
+
+        Map<String, Encoder> formats = new LinkedHashMap<>();
+        formats.put("json", json::writeValueAsBytes);
+        formats.put("cbor", cbor::writeValueAsBytes);
+        formats.put("smile", smile::writeValueAsBytes);
+        formats.put("protobuf", body -> {
+            MockHttpOutputMessage message = new MockHttpOutputMessage();
+            protobuf.write(body, null, ProtobufDtoHttpMessageConverter.PROTOBUF, message);
+            return message.getBodyAsBytes();
+        });
+
+        Map<String, Encoder> appointmentFormats = new LinkedHashMap<>(formats);
+        appointmentFormats.put("columnar", body -> AppointmentResponse.COLUMNAR.encode(appointments, null));
+        Map<String, Encoder> treatmentFormats = new LinkedHashMap<>(formats);
+        treatmentFormats.put("columnar", body -> TreatmentResponse.COLUMNAR.encode(treatments, null));
+
+        System.out.printf("%d rows, %d warm-up + %d measured rounds%n", rows, WARMUP_ROUNDS, MEASURED_ROUNDS);
+        run("AppointmentResponse", appointments, appointmentFormats);
+        run("TreatmentResponse", treatments, treatmentFormats);
+        System.out.println("columnar = " + ColumnarEncoder.MEDIA_TYPE);
+    }
+
+    private static void run(String title, Object body, Map<String, Encoder> formats) throws IOException {
+        System.out.printf("%n%s%n%-10s %12s %12s %12s%n", title, "format", "ms/op", "bytes", "gzip bytes");
+        for (Map.Entry<String, Encoder> format : formats.entrySet()) {
+            Encoder encoder = format.getValue();
+            byte[] output = null;
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                output = encoder.encode(body);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                output = encoder.encode(body);
+            }
+            double millis = (System.nanoTime() - start) / 1_000_000.0 / MEASURED_ROUNDS;
+            System.out.printf("%-10s %12.2f %12d %12d%n", format.getKey(), millis, output.length, gzipSize(output));
+        }
+    }
+
+    private static int gzipSize(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.size();
+    }
+
+    // ========== Synthetic data shaped like production lists ==========
+
+    private static final String[] DOCTORS = {"Nguyễn Văn An", "Trần Thị Bình", "Lê Minh Châu", "Phạm Quốc Dũng",
+            "Hoàng Thu Hà", "Vũ Đức Huy", "Đặng Mai Lan", "Bùi Thanh Long"};
+    private static final String[] SPECIALIZATIONS = {"Cardiology", "Dermatology", "Pediatrics", "Neurology"};
+    private static final String[] STATUSES = {"PENDING", "CONFIRMED", "COMPLETED", "CANCELLED"};
+    private static final String[] DIAGNOSES = {"Hypertension", "Seasonal allergy", "Type 2 diabetes",
+            "Acute bronchitis", "Migraine", "Eczema"};
+
+    private static List<AppointmentResponse> appointments(int rows) {
+        Random random = new Random(42);
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 8, 0);
+        List<AppointmentResponse> list = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            int doctor = random.nextInt(DOCTORS.length);
+            long patient = 1 + random.nextInt(rows / 4 + 1);
+            list.add(new AppointmentResponse(1000L + i, patient, "Patient " + patient,
+                    "09" + (10_000_000 + patient), (long) doctor + 1, DOCTORS[doctor],
+                    SPECIALIZATIONS[doctor % SPECIALIZATIONS.length], LocalDate.of(2024, 1, 1).plusDays(i / 40),
+                    LocalTime.of(8 + random.nextInt(9), random.nextBoolean() ? 0 : 30),
+                    STATUSES[random.nextInt(STATUSES.length)], random.nextInt(4) == 0 ? "Follow-up visit" : null,
+                    created.plusMinutes(i * 7L), created.plusMinutes(i * 7L + 30)));
+        }
+        return list;
+    }
+
+    private static List<TreatmentResponse> treatments(int rows) {
+        Random random = new Random(7);
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<TreatmentResponse> list = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            int doctor = random.nextInt(DOCTORS.length);
+            long patient = 1 + random.nextInt(rows / 4 + 1);
+            list.add(new TreatmentResponse(5000L + i, 1000L + i, (long) doctor + 1, DOCTORS[doctor], patient,
+                    "Patient " + patient, DIAGNOSES[random.nextInt(DIAGNOSES.length)],
+                    "Paracetamol 500mg, twice daily for 5 days", "Rest and hydration",
+                    random.nextBoolean() ? LocalDate.of(2024, 2, 1).plusDays(i / 50) : null,
+                    created.plusMinutes(i * 9L), created.plusMinutes(i * 9L)));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,78 @@
+package com.doctorbooking.backend.converter;
+
+import com.doctorbooking.backend.dto.response.AppointmentResponse;
+import com.doctorbooking.backend.dto.response.PageResponse;
+import com.doctorbooking.backend.dto.response.PatientResponse;
+import com.doctorbooking.backend.util.SparseFields;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProtobufDtoHttpMessageConverterTest {
+
+    private final ProtobufDtoHttpMessageConverter converter = new ProtobufDtoHttpMessageConverter();
+
+    // Handler signatures whose body types the converter is asked about
+    @SuppressWarnings("unused")
+    private interface Handlers {
+        ResponseEntity<AppointmentResponse> single();
+
+        ResponseEntity<List<AppointmentResponse>> list();
+
+        ResponseEntity<SparseFields.Filtered<PageResponse<PatientResponse>>> filteredPage();
+
+        ResponseEntity<SparseFields.Filtered<List<AppointmentResponse>>> filteredList();
+
+        ResponseEntity<List<String>> strings();
+
+        ResponseEntity<SparseFields.Filtered<Map<String, Object>>> filteredMap();
+
+        ResponseEntity<MappingJacksonValue> untyped();
+
+        ResponseEntity<?> wildcard();
+    }
+
+    @Test
+    void writesBodiesWithKnownDtoTypes() throws Exception {
+        assertTrue(canWrite("single", AppointmentResponse.class));
+        assertTrue(canWrite("list", ArrayList.class));
+        assertTrue(canWrite("filteredPage", SparseFields.Filtered.class));
+        assertTrue(canWrite("filteredList", SparseFields.Filtered.class));
+    }
+
+    @Test
+    void declinesUnmappedOrUnresolvedBodies() throws Exception {
+        assertFalse(canWrite("strings", ArrayList.class));
+        assertFalse(canWrite("filteredMap", SparseFields.Filtered.class));
+        assertFalse(canWrite("untyped", MappingJacksonValue.class));
+        // Only the runtime class is known behind ResponseEntity<?>, so list elements cannot be checked
+        assertFalse(canWrite("wildcard", ArrayList.class));
+        assertFalse(canWrite("wildcard", PageResponse.class));
+        assertFalse(canWrite("wildcard", SparseFields.Filtered.class));
+    }
+
+    @Test
+    void writesOnlyProtobuf() throws Exception {
+        assertFalse(converter.canWrite(bodyType("single"), AppointmentResponse.class,
+                MediaType.APPLICATION_JSON));
+    }
+
+    private boolean canWrite(String handler, Class<?> valueClass) throws NoSuchMethodException {
+        return converter.canWrite(bodyType(handler), valueClass, ProtobufDtoHttpMessageConverter.PROTOBUF);
+    }
+
+    private static Type bodyType(String handler) throws NoSuchMethodException {
+        ParameterizedType returnType = (ParameterizedType) Handlers.class.getMethod(handler).getGenericReturnType();
+        return returnType.getActualTypeArguments()[0];
+    }
+}
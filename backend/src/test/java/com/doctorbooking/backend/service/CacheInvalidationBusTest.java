@@ -0,0 +1,90 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.model.CacheInvalidation;
+import com.doctorbooking.backend.repository.CacheInvalidationRepository;
+import com.doctorbooking.backend.util.NodeId;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheInvalidationBusTest {
+
+    private final CacheInvalidationRepository repository = mock(CacheInvalidationRepository.class);
+    private final CacheInvalidationBus bus = new CacheInvalidationBus(repository, mock(EntityManagerFactory.class),
+            mock(TransactionTemplate.class), mock(LeaderElection.class));
+    private final List<Set<Long>> delivered = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bus, "batchSize", 100);
+        ReflectionTestUtils.setField(bus, "gapTimeoutMs", 60_000L);
+        when(repository.findMaxId()).thenReturn(0L);
+        when(repository.findAfter(anyLong(), any())).thenReturn(List.of());
+        bus.initialize();
+        bus.subscribe(CacheInvalidationBus.DOCTOR_SCHEDULE, delivered::add);
+    }
+
+    @Test
+    void deliversRowThatCommitsAfterHigherIds() {
+        // Row 3 was inserted before row 4 but its transaction has not committed yet
+        when(repository.findAfter(eq(0L), any())).thenReturn(List.of(message(1, "10"), message(2, "20"), message(4, "40")));
+        bus.poll();
+        assertEquals(List.of(Set.of(10L, 20L, 40L)), delivered);
+        assertEquals(4L, bus.getStatistics().get("highWaterMark"));
+        assertEquals(1, bus.getStatistics().get("pendingGaps"));
+
+        when(repository.findAllById(Set.of(3L))).thenReturn(List.of(message(3, "30")));
+        bus.poll();
+        assertEquals(List.of(Set.of(10L, 20L, 40L), Set.of(30L)), delivered);
+        assertEquals(0, bus.getStatistics().get("pendingGaps"));
+        assertEquals(1L, bus.getStatistics().get("gapsFilled"));
+    }
+
+    @Test
+    void dropsGapThatNeverShowsUpAfterTimeout() {
+        ReflectionTestUtils.setField(bus, "gapTimeoutMs", 0L);
+        when(repository.findAfter(eq(0L), any())).thenReturn(List.of(message(1, "10"), message(5, "50")));
+        bus.poll();
+        assertEquals(3, bus.getStatistics().get("pendingGaps"));
+
+        when(repository.findAllById(any())).thenReturn(List.of());
+        bus.poll();
+        assertEquals(0, bus.getStatistics().get("pendingGaps"));
+        assertEquals(3L, bus.getStatistics().get("gapsExpired"));
+
+        bus.poll();
+        verify(repository).findAllById(any());
+    }
+
+    @Test
+    void skipsOwnMessagesButStillAdvances() {
+        CacheInvalidation own = message(1, "10");
+        own.setOrigin(NodeId.get());
+        when(repository.findAfter(eq(0L), any())).thenReturn(List.of(own));
+        bus.poll();
+        assertEquals(List.of(), delivered);
+        assertEquals(1L, bus.getStatistics().get("highWaterMark"));
+        verify(repository, never()).findAllById(any());
+    }
+
+    private static CacheInvalidation message(long id, String entityIds) {
+        return new CacheInvalidation(id, CacheInvalidationBus.DOCTOR_SCHEDULE, entityIds, "other-node",
+                LocalDateTime.now());
+    }
+}
@@ -0,0 +1,79 @@
+package com.doctorbooking.backend.service;
+
+import com.doctorbooking.backend.repository.ClusterLockRepository;
+import com.doctorbooking.backend.util.NodeId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LeaderElectionTest {
+
+    private final ClusterLockRepository repository = mock(ClusterLockRepository.class);
+    private LeaderElection leaderElection;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        leaderElection = new LeaderElection(repository, transactionManager);
+        ReflectionTestUtils.setField(leaderElection, "leaseMs", 60_000L);
+        ReflectionTestUtils.setField(leaderElection, "safetyMarginMs", 5_000L);
+        when(repository.acquire(eq("job"), eq(NodeId.get()), anyLong())).thenReturn(1);
+        when(repository.findToken("job", NodeId.get())).thenReturn(Optional.of(7L));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void runIfLeaderPassesTheFencingToken() {
+        AtomicLong seen = new AtomicLong();
+        assertTrue(leaderElection.runIfLeader("job", seen::set));
+        assertEquals(7L, seen.get());
+        assertTrue(leaderElection.isLeader("job"));
+    }
+
+    @Test
+    void skipsTaskWhenAnotherNodeLeads() {
+        when(repository.acquire(eq("job"), eq(NodeId.get()), anyLong())).thenReturn(0);
+        assertFalse(leaderElection.runIfLeader("job", () -> {
+            throw new AssertionError("must not run");
+        }));
+    }
+
+    @Test
+    void assertLeaderFailsOnceTheLeaseMovedOn() {
+        leaderElection.runIfLeader("job", token -> { });
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        when(repository.lockIfHeld("job", NodeId.get(), 7L)).thenReturn(1L);
+        leaderElection.assertLeader("job", 7L);
+
+        when(repository.lockIfHeld("job", NodeId.get(), 7L)).thenReturn(0L);
+        assertThrows(IllegalStateException.class, () -> leaderElection.assertLeader("job", 7L));
+        assertFalse(leaderElection.isLeader("job"));
+    }
+
+    @Test
+    void assertLeaderNeedsTheWritingTransaction() {
+        assertThrows(IllegalStateException.class, () -> leaderElection.assertLeader("job", 7L));
+    }
+}
@@ -0,0 +1,145 @@
+package com.doctorbooking.backend.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URL;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ColumnarEncoderTest {
+
+    // frontend/src/utils/columnar.fixture.json, copied onto the test classpath by the pom; shared with
+    // columnar.test.js, which decodes the payload back into the rows
+    private static final String FIXTURE = "/columnar.fixture.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private record Row(Long id, String status, String doctorName, LocalDate date, LocalTime time,
+                       LocalDateTime createdAt, String notes) {
+    }
+
+    private static final ColumnarEncoder<Row> ENCODER = new ColumnarEncoder<Row>()
+            .ids("id", Row::id)
+            .dictionary("status", Row::status)
+            .dictionary("doctorName", Row::doctorName)
+            .dates("date", Row::date)
+            .times("time", Row::time)
+            .timestamps("createdAt", Row::createdAt)
+            .strings("notes", Row::notes);
+
+    // Ids and dates go backwards between the first two rows; row 2 is null in every nullable column
+    private static final List<Row> ROWS = List.of(
+            new Row(10L, "CONFIRMED", "Dr. Tran", LocalDate.of(2025, 3, 10), LocalTime.of(9, 30),
+                    LocalDateTime.of(2025, 3, 1, 8, 15, 30, 250_000_000), "Bring X-ray"),
+            new Row(7L, "PENDING", "Dr. Tran", LocalDate.of(2025, 3, 8), LocalTime.of(14, 5, 30),
+                    LocalDateTime.of(2025, 2, 28, 23, 59), null),
+            new Row(null, null, "Dr. Le", null, null, null, ""),
+            new Row(12L, "CONFIRMED", null, LocalDate.of(2025, 3, 12), LocalTime.MIDNIGHT,
+                    LocalDateTime.of(2025, 3, 2, 0, 0, 0, 1_000_000), "Follow-up"));
+
+    @Test
+    void encodesDeltasAcrossNullsAndNegativeSteps() throws IOException {
+        JsonNode columns = encode(null).get("columns");
+
+        assertEquals(json("{\"type\":\"delta\",\"values\":[10,-3,0,5],\"nulls\":[2]}"), columns.get("id"));
+        // The delta after a null row is taken from the last non-null value (7 -> 12)
+        long march10 = LocalDate.of(2025, 3, 10).toEpochDay();
+        assertEquals(json("{\"type\":\"date\",\"values\":[" + march10 + ",-2,0,4],\"nulls\":[2]}"),
+                columns.get("date"));
+        assertEquals(json("{\"type\":\"time\",\"values\":[34200,50730,0,0],\"nulls\":[2]}"), columns.get("time"));
+        assertEquals(List.of(2), nulls(columns.get("createdAt")));
+    }
+
+    @Test
+    void encodesNullDictionaryEntriesAsMinusOne() throws IOException {
+        JsonNode columns = encode(null).get("columns");
+
+        assertEquals(json("{\"type\":\"dict\",\"dict\":[\"CONFIRMED\",\"PENDING\"],\"codes\":[0,1,-1,0]}"),
+                columns.get("status"));
+        assertEquals(json("{\"type\":\"dict\",\"dict\":[\"Dr. Tran\",\"Dr. Le\"],\"codes\":[0,0,1,-1]}"),
+                columns.get("doctorName"));
+    }
+
+    @Test
+    void omitsNullsWhenColumnHasNone() throws IOException {
+        JsonNode payload = MAPPER.readTree(ENCODER.encode(List.of(ROWS.get(0), ROWS.get(1)), null));
+
+        assertFalse(payload.get("columns").get("id").has("nulls"));
+        assertEquals(2, payload.get("rows").asInt());
+    }
+
+    @Test
+    void fieldsSubsetKeepsDeclarationOrder() throws IOException {
+        JsonNode payload = encode(Set.of("notes", "id", "unknown"));
+
+        assertEquals(List.of("id", "notes"), names(payload.get("columns")));
+        assertEquals(ROWS.size(), payload.get("rows").asInt());
+        assertEquals(ColumnarEncoder.FORMAT, payload.get("format").asText());
+    }
+
+    @Test
+    void encodesEmptyList() throws IOException {
+        JsonNode payload = MAPPER.readTree(ENCODER.encode(List.of(), Set.of("id")));
+
+        assertEquals(json("{\"format\":\"columnar-v1\",\"rows\":0,\"columns\":{\"id\":{\"type\":\"delta\",\"values\":[]}}}"),
+                payload);
+    }
+
+    @Test
+    void matchesDecoderFixture() throws IOException {
+        URL resource = ColumnarEncoderTest.class.getResource(FIXTURE);
+        assumeTrue(resource != null, "frontend fixture not available; backend built on its own");
+        JsonNode fixture = MAPPER.readTree(resource);
+
+        assertEquals(encode(null), fixture.get("payload"));
+        // The decoder must rebuild what the JSON endpoints return: java.time values as toString()
+        assertEquals(MAPPER.readTree(MAPPER.writeValueAsBytes(ROWS.stream().map(ColumnarEncoderTest::asJson).toList())),
+                fixture.get("expected"));
+    }
+
+    private static JsonNode encode(Set<String> fields) throws IOException {
+        return MAPPER.readTree(ENCODER.encode(ROWS, fields));
+    }
+
+    private static JsonNode json(String text) throws IOException {
+        return MAPPER.readTree(text);
+    }
+
+    private static List<Integer> nulls(JsonNode column) {
+        List<Integer> nulls = new ArrayList<>();
+        column.get("nulls").forEach(node -> nulls.add(node.asInt()));
+        return nulls;
+    }
+
+    private static List<String> names(JsonNode columns) {
+        List<String> names = new ArrayList<>();
+        columns.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    private static Map<String, Object> asJson(Row row) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", row.id());
+        json.put("status", row.status());
+        json.put("doctorName", row.doctorName());
+        json.put("date", Objects.toString(row.date(), null));
+        json.put("time", Objects.toString(row.time(), null));
+        json.put("createdAt", Objects.toString(row.createdAt(), null));
+        json.put("notes", row.notes());
+        return json;
+    }
+}
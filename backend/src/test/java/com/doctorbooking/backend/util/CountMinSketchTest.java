@@ -0,0 +1,95 @@
+package com.doctorbooking.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountMinSketchTest {
+
+    private static final int KEYS = 10_000;
+
+    @Test
+    void neverUndercountsAndStaysWithinErrorBound() {
+        CountMinSketch sketch = new CountMinSketch(5, 512);
+        long[] counts = skewedCounts(new Random(42));
+        for (int key = 0; key < KEYS; key++) {
+            sketch.add(Hashing.mix64(key), counts[key]);
+        }
+        int outsideBound = 0;
+        for (int key = 0; key < KEYS; key++) {
+            long estimate = sketch.estimate(Hashing.mix64(key));
+            assertTrue(estimate >= counts[key], "key " + key + " estimated " + estimate + " < " + counts[key]);
+            if (estimate - counts[key] > sketch.errorBound()) {
+                outsideBound++;
+            }
+        }
+        // The bound holds per key with probability getConfidence(); allow twice the expected misses
+        assertTrue(outsideBound <= 2 * KEYS * (1 - sketch.getConfidence()),
+                outsideBound + " keys over the error bound " + sketch.errorBound());
+    }
+
+    @Test
+    void mergeEqualsSketchOfCombinedStream() throws IOException {
+        CountMinSketch left = new CountMinSketch(4, 256);
+        CountMinSketch right = new CountMinSketch(4, 256);
+        CountMinSketch combined = new CountMinSketch(4, 256);
+        for (int key = 0; key < 1_000; key++) {
+            left.add(Hashing.mix64(key), key % 7 + 1);
+            combined.add(Hashing.mix64(key), key % 7 + 1);
+        }
+        for (int key = 500; key < 1_500; key++) {
+            right.add(Hashing.mix64(key), 3);
+            combined.add(Hashing.mix64(key), 3);
+        }
+        left.merge(right);
+        assertEquals(combined.getTotal(), left.getTotal());
+        assertArrayEquals(bytes(combined), bytes(left));
+    }
+
+    @Test
+    void mergeRejectsDifferentDimensions() {
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(4, 256).merge(new CountMinSketch(4, 128)));
+        assertThrows(IllegalArgumentException.class, () -> new CountMinSketch(4, 256).merge(new CountMinSketch(3, 256)));
+    }
+
+    @Test
+    void writeReadRoundTrips() throws IOException {
+        CountMinSketch sketch = new CountMinSketch(3, 64);
+        for (int key = 0; key < 500; key++) {
+            sketch.add(Hashing.mix64(key), key);
+        }
+        CountMinSketch copy = CountMinSketch.read(new DataInputStream(new ByteArrayInputStream(bytes(sketch))));
+        assertEquals(sketch.getTotal(), copy.getTotal());
+        for (int key = 0; key < 500; key++) {
+            assertEquals(sketch.estimate(Hashing.mix64(key)), copy.estimate(Hashing.mix64(key)));
+        }
+        assertArrayEquals(bytes(sketch), bytes(copy));
+    }
+
+    // Zipf-like: a few keys carry most of the weight
+    private static long[] skewedCounts(Random random) {
+        long[] counts = new long[KEYS];
+        for (int key = 0; key < KEYS; key++) {
+            counts[key] = 1 + random.nextInt(1_000) / (key + 1);
+        }
+        return counts;
+    }
+
+    private static byte[] bytes(CountMinSketch sketch) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            sketch.write(out);
+        }
+        return buffer.toByteArray();
+    }
+}
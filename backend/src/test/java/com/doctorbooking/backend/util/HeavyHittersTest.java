@@ -0,0 +1,87 @@
+package com.doctorbooking.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HeavyHittersTest {
+
+    @Test
+    void topReturnsMostFrequentKeysInOrder() {
+        HeavyHitters heavyHitters = new HeavyHitters(4, 1024, 10);
+        addStream(heavyHitters);
+        List<Map.Entry<String, Long>> top = heavyHitters.top(3);
+        assertEquals(List.of("hot-0", "hot-1", "hot-2"), top.stream().map(Map.Entry::getKey).toList());
+        assertTrue(top.get(0).getValue() >= 500);
+    }
+
+    @Test
+    void keyEvictedFromCandidatesReturnsOnceFrequent() {
+        HeavyHitters heavyHitters = new HeavyHitters(4, 1024, 3);
+        for (int i = 0; i < 100; i++) {
+            heavyHitters.add("cold-" + i);
+        }
+        for (int i = 0; i < 50; i++) {
+            heavyHitters.add("late");
+        }
+        assertEquals("late", heavyHitters.top(1).get(0).getKey());
+        assertTrue(heavyHitters.top(10).size() <= 3);
+    }
+
+    @Test
+    void mergeRanksUnionOfCandidates() {
+        HeavyHitters left = new HeavyHitters(4, 1024, 5);
+        HeavyHitters right = new HeavyHitters(4, 1024, 5);
+        // Each key is hot on one side only; the merged ranking must see both
+        for (int i = 0; i < 300; i++) {
+            left.add("left-hot");
+            right.add("right-hot");
+        }
+        for (int i = 0; i < 200; i++) {
+            left.add("shared");
+            right.add("shared");
+        }
+        for (int i = 0; i < 100; i++) {
+            left.add("noise-" + i);
+            right.add("noise-" + (i + 100));
+        }
+        left.merge(right);
+        List<Map.Entry<String, Long>> top = left.top(3);
+        assertEquals("shared", top.get(0).getKey());
+        assertTrue(top.get(0).getValue() >= 400);
+        assertEquals(List.of("left-hot", "right-hot"), top.subList(1, 3).stream().map(Map.Entry::getKey).toList());
+        assertEquals(1_200, left.getSketch().getTotal());
+    }
+
+    @Test
+    void writeReadRoundTrips() throws IOException {
+        HeavyHitters heavyHitters = new HeavyHitters(4, 512, 10);
+        addStream(heavyHitters);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            heavyHitters.write(out);
+        }
+        HeavyHitters copy = HeavyHitters.read(new DataInputStream(new ByteArrayInputStream(buffer.toByteArray())));
+        assertEquals(heavyHitters.top(10), copy.top(10));
+        assertEquals(heavyHitters.getSketch().getTotal(), copy.getSketch().getTotal());
+    }
+
+    // hot-k appears 1000 / (k + 1) times, interleaved with single-occurrence keys
+    private static void addStream(HeavyHitters heavyHitters) {
+        for (int k = 0; k < 20; k++) {
+            for (int i = 0; i < 1_000 / (k + 1); i++) {
+                heavyHitters.add("hot-" + k);
+                heavyHitters.add("once-" + k + "-" + i);
+            }
+        }
+    }
+}
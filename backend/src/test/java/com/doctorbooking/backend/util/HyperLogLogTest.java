@@ -0,0 +1,95 @@
+package com.doctorbooking.backend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimateIsWithinThreeStandardErrors() {
+        for (int cardinality : new int[]{100, 1_000, 10_000, 100_000, 1_000_000}) {
+            HyperLogLog sketch = new HyperLogLog(12);
+            for (long value = 0; value < cardinality; value++) {
+                sketch.add(value);
+            }
+            double error = Math.abs(sketch.estimate() - cardinality) / (double) cardinality;
+            assertTrue(error <= 3 * sketch.relativeError(),
+                    "estimate " + sketch.estimate() + " for " + cardinality + " distinct values");
+        }
+    }
+
+    @Test
+    void repeatedValuesAreCountedOnce() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (int round = 0; round < 10; round++) {
+            for (long value = 0; value < 1_000; value++) {
+                sketch.add(value);
+            }
+        }
+        assertTrue(Math.abs(sketch.estimate() - 1_000) <= 3 * sketch.relativeError() * 1_000);
+    }
+
+    @Test
+    void emptySketchEstimatesZero() {
+        assertEquals(0, new HyperLogLog(12).estimate());
+    }
+
+    @Test
+    void mergeEqualsSketchOfUnion() throws IOException {
+        HyperLogLog left = new HyperLogLog(12);
+        HyperLogLog right = new HyperLogLog(12);
+        HyperLogLog union = new HyperLogLog(12);
+        for (long value = 0; value < 60_000; value++) {
+            left.add(value);
+            union.add(value);
+        }
+        for (long value = 40_000; value < 100_000; value++) {
+            right.add(value);
+            union.add(value);
+        }
+        left.merge(right);
+        assertEquals(union.estimate(), left.estimate());
+        assertArrayEquals(bytes(union), bytes(left));
+    }
+
+    @Test
+    void mergeRejectsDifferentPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(12).merge(new HyperLogLog(10)));
+    }
+
+    @Test
+    void rejectsPrecisionOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(19));
+    }
+
+    @Test
+    void writeReadRoundTrips() throws IOException {
+        HyperLogLog sketch = new HyperLogLog(10);
+        for (long value = 0; value < 5_000; value++) {
+            sketch.add(value);
+        }
+        HyperLogLog copy = HyperLogLog.read(new DataInputStream(new ByteArrayInputStream(bytes(sketch))));
+        assertEquals(10, copy.getPrecision());
+        assertEquals(sketch.estimate(), copy.estimate());
+        assertArrayEquals(bytes(sketch), bytes(copy));
+    }
+
+    private static byte[] bytes(HyperLogLog sketch) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            sketch.write(out);
+        }
+        return buffer.toByteArray();
+    }
+}
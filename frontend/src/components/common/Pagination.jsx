@@ -0,0 +1,47 @@
+import React from 'react';
+
+const buttonStyle = (disabled) => ({
+  padding: '8px 16px',
+  backgroundColor: disabled ? '#bdc3c7' : '#3498db',
+  color: 'white',
+  border: 'none',
+  borderRadius: '6px',
+  cursor: disabled ? 'not-allowed' : 'pointer',
+  fontSize: '14px',
+});
+
+const Pagination = ({ page, totalPages, onPageChange }) => {
+  if (!totalPages || totalPages <= 1) {
+    return null;
+  }
+
+  return (
+    <div style={{
+      display: 'flex',
+      justifyContent: 'center',
+      alignItems: 'center',
+      gap: '12px',
+      marginTop: '20px',
+    }}>
+      <button
+        onClick={() => onPageChange(page - 1)}
+        disabled={page <= 0}
+        style={buttonStyle(page <= 0)}
+      >
+        Previous
+      </button>
+      <span style={{ color: '#666' }}>
+        Page {page + 1} of {totalPages}
+      </span>
+      <button
+        onClick={() => onPageChange(page + 1)}
+        disabled={page >= totalPages - 1}
+        style={buttonStyle(page >= totalPages - 1)}
+      >
+        Next
+      </button>
+    </div>
+  );
+};
+
+export default Pagination;
@@ -4,6 +4,8 @@ import ErrorMessage from '../common/ErrorMessage';
 import { formatDate } from '../../utils/formatDate';
 import { formatTime } from '../../utils/formatTime';
 
+const PATIENT_PICKER_SIZE = 20;
+
 const TreatmentForm = ({ treatment, appointment, onClose, onSuccess }) => {
   const [formData, setFormData] = useState({
     appointmentId: null,
@@ -14,11 +16,12 @@ const TreatmentForm = ({ treatment, appointment, onClose, onSuccess }) => {
     followUpDate: '',
   });
   const [patients, setPatients] = useState([]);
+  const [totalPatients, setTotalPatients] = useState(0);
+  const [patientSearch, setPatientSearch] = useState('');
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState('');
 
   useEffect(() => {
-    loadPatients();
     if (treatment) {
       // Edit existing treatment
       setFormData({
@@ -42,10 +45,28 @@ const TreatmentForm = ({ treatment, appointment, onClose, onSuccess }) => {
     }
   }, [treatment, appointment]);
 
-  const loadPatients = async () => {
+  // Patient picker: server-side search (id/phone exact, name prefix), debounced while typing
+  const choosingPatient = !treatment && !appointment;
+  useEffect(() => {
+    if (!choosingPatient) return undefined;
+    const delayDebounce = setTimeout(() => {
+      loadPatients(patientSearch);
+    }, patientSearch.trim() === '' ? 0 : 300);
+
+    return () => clearTimeout(delayDebounce);
+  }, [patientSearch, choosingPatient]);
+
+  const loadPatients = async (search) => {
     try {
-      const data = await doctorService.searchPatients('');
-      setPatients(data);
+      const data = await doctorService.searchPatients(search.trim(), 0, PATIENT_PICKER_SIZE);
+      // Keep the chosen patient selectable while the results change
+      setPatients((previous) => {
+        const selected = previous.find((patient) => String(patient.id) === String(formData.patientId));
+        return selected && !data.content.some((patient) => patient.id === selected.id)
+          ? [selected, ...data.content]
+          : data.content;
+      });
+      setTotalPatients(data.totalElements);
     } catch (err) {
       console.error('Failed to load patients:', err);
     }
@@ -141,6 +162,13 @@ const TreatmentForm = ({ treatment, appointment, onClose, onSuccess }) => {
                   <label style={{ display: 'block', marginBottom: '5px', fontWeight: '500' }}>
                     Patient *
                   </label>
+                  <input
+                      type="text"
+                      placeholder="Search by name, ID, or phone..."
+                      value={patientSearch}
+                      onChange={(e) => setPatientSearch(e.target.value)}
+                      style={{ width: '100%', padding: '10px', border: '1px solid #ddd', borderRadius: '4px', marginBottom: '8px' }}
+                  />
                   <select
                       name="patientId"
                       value={formData.patientId || ''}
@@ -155,6 +183,11 @@ const TreatmentForm = ({ treatment, appointment, onClose, onSuccess }) => {
                         </option>
                     ))}
                   </select>
+                  {totalPatients > patients.length && (
+                      <div style={{ marginTop: '5px', fontSize: '13px', color: '#7f8c8d' }}>
+                        Showing {patients.length} of {totalPatients} patients, type to narrow the list
+                      </div>
+                  )}
                 </div>
             )}
 
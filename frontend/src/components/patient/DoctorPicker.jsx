@@ -0,0 +1,76 @@
+import { useEffect, useState } from 'react';
+import { patientService } from '../../services/patientService';
+
+// Type-ahead doctor selector backed by /patient/doctors/suggest,
+// so the booking form never downloads the whole directory
+const DoctorPicker = ({ selectedDoctor, onSelect }) => {
+  const [query, setQuery] = useState('');
+  const [suggestions, setSuggestions] = useState([]);
+  const [open, setOpen] = useState(false);
+
+  useEffect(() => {
+    if (!open) {
+      return;
+    }
+    const delayDebounce = setTimeout(async () => {
+      try {
+        const data = await patientService.suggestDoctors(query.trim());
+        setSuggestions(data);
+      } catch (err) {
+        console.error('Failed to load doctor suggestions:', err);
+      }
+    }, 150);
+
+    return () => clearTimeout(delayDebounce);
+  }, [query, open]);
+
+  const handleSelect = (doctor) => {
+    onSelect(doctor);
+    setQuery('');
+    setOpen(false);
+  };
+
+  return (
+    <div style={{ position: 'relative' }}>
+      <input
+        type="text"
+        placeholder={selectedDoctor
+          ? `Dr. ${selectedDoctor.fullName} - ${selectedDoctor.specialization}`
+          : 'Type a doctor name or specialization...'}
+        value={query}
+        onChange={(e) => setQuery(e.target.value)}
+        onFocus={() => setOpen(true)}
+        onBlur={() => setTimeout(() => setOpen(false), 150)}
+        style={{ width: '100%', padding: '10px', border: '1px solid #ddd', borderRadius: '4px', fontSize: '16px' }}
+      />
+      {open && suggestions.length > 0 && (
+        <ul style={{
+          position: 'absolute',
+          top: '100%',
+          left: 0,
+          right: 0,
+          margin: 0,
+          padding: 0,
+          listStyle: 'none',
+          backgroundColor: 'white',
+          border: '1px solid #ddd',
+          borderRadius: '4px',
+          boxShadow: '0 2px 4px rgba(0,0,0,0.1)',
+          zIndex: 10,
+        }}>
+          {suggestions.map((doctor) => (
+            <li
+              key={doctor.id}
+              onMouseDown={() => handleSelect(doctor)}
+              style={{ padding: '10px', cursor: 'pointer', borderBottom: '1px solid #f0f0f0' }}
+            >
+              Dr. {doctor.fullName} - {doctor.specialization}
+            </li>
+          ))}
+        </ul>
+      )}
+    </div>
+  );
+};
+
+export default DoctorPicker;
@@ -11,6 +11,8 @@ const AdminDashboard = () => {
     totalPatients: 0,
     totalAppointments: 0,
     pendingFeedbacks: 0,
+    todayAppointments: 0,
+    todayByStatus: {},
   });
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
@@ -22,18 +24,15 @@ const AdminDashboard = () => {
   const loadStats = async () => {
     try {
       setError('');
-      const [doctors, patients, appointments, feedbacks] = await Promise.all([
-        adminService.getAllDoctors(),
-        adminService.searchPatients(),
-        adminService.getAllAppointments(),
-        adminService.getAllFeedbacks('PENDING'),
-      ]);
+      const summary = await adminService.getSummary();
 
       setStats({
-        totalDoctors: doctors.length,
-        totalPatients: patients.length,
-        totalAppointments: appointments.length,
-        pendingFeedbacks: feedbacks.length,
+        totalDoctors: summary.totalDoctors,
+        totalPatients: summary.totalPatients,
+        totalAppointments: summary.totalAppointments,
+        pendingFeedbacks: summary.pendingFeedbacks,
+        todayAppointments: summary.todayAppointments,
+        todayByStatus: summary.todayByStatus,
       });
     } catch (err) {
       console.error('Error loading stats:', err);
@@ -48,6 +47,7 @@ const AdminDashboard = () => {
     { label: 'Total Patients', value: stats.totalPatients, color: '#2ecc71', icon: '👥' },
     { label: 'Total Appointments', value: stats.totalAppointments, color: '#f39c12', icon: '📅' },
     { label: 'Pending Feedbacks', value: stats.pendingFeedbacks, color: '#e74c3c', icon: '💬' },
+    { label: "Today's Appointments", value: stats.todayAppointments, color: '#9b59b6', icon: '🗓️' },
   ], [stats]);
 
   if (loading) {
@@ -89,6 +89,15 @@ const AdminDashboard = () => {
           ))}
         </div>
 
+        {stats.todayAppointments > 0 && (
+          <div style={{ marginBottom: '30px', color: '#555' }}>
+            Today: {Object.entries(stats.todayByStatus)
+              .filter(([, count]) => count > 0)
+              .map(([status, count]) => `${count} ${status.toLowerCase()}`)
+              .join(' · ')}
+          </div>
+        )}
+
         <div style={{ 
           backgroundColor: 'white', 
           padding: '30px', 
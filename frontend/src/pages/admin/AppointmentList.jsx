@@ -7,11 +7,17 @@ import DataTable from '../../components/common/DataTable';
 import { formatDate, formatDateTime } from '../../utils/formatDate';
 import { formatTime } from '../../utils/formatTime';
 
+const TABLE_FIELDS = [
+  'patientName', 'patientPhone', 'doctorName', 'doctorSpecialization',
+  'appointmentDate', 'appointmentTime', 'status', 'notes',
+];
+
 const AppointmentList = () => {
   const [appointments, setAppointments] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
   const [filterDate, setFilterDate] = useState('');
+  const [exporting, setExporting] = useState(false);
 
   useEffect(() => {
     loadAppointments();
@@ -20,7 +26,7 @@ const AppointmentList = () => {
   const loadAppointments = async () => {
     try {
       setLoading(true);
-      const data = await adminService.getAllAppointments(filterDate || null);
+      const data = await adminService.getAllAppointments(filterDate || null, TABLE_FIELDS);
       setAppointments(data);
       setError('');
     } catch (err) {
@@ -31,6 +37,18 @@ const AppointmentList = () => {
     }
   };
 
+  const handleExport = async () => {
+    try {
+      setExporting(true);
+      await adminService.exportAppointments(filterDate ? { from: filterDate, to: filterDate } : {});
+    } catch (err) {
+      setError('Failed to export appointments');
+      console.error(err);
+    } finally {
+      setExporting(false);
+    }
+  };
+
   const getStatusColor = useMemo(() => (status) => {
     switch (status) {
       case 'PENDING':
@@ -104,6 +122,23 @@ const AppointmentList = () => {
               Clear Filter
             </button>
           )}
+          <button
+            onClick={handleExport}
+            disabled={exporting}
+            style={{
+              marginLeft: 'auto',
+              padding: '10px 20px',
+              backgroundColor: '#2ecc71',
+              color: 'white',
+              border: 'none',
+              borderRadius: '6px',
+              cursor: exporting ? 'wait' : 'pointer',
+              fontSize: '14px',
+              opacity: exporting ? 0.7 : 1,
+            }}
+          >
+            {exporting ? 'Exporting...' : 'Export CSV'}
+          </button>
         </div>
 
         <DataTable
@@ -1,48 +1,39 @@
-import { useEffect, useState, useMemo } from 'react';
+import { useEffect, useState } from 'react';
 import AdminLayout from '../../components/admin/AdminLayout';
 import { adminService } from '../../services/adminService';
 import Loading from '../../components/common/Loading';
 import ErrorMessage from '../../components/common/ErrorMessage';
 import DataTable from '../../components/common/DataTable';
+import Pagination from '../../components/common/Pagination';
 import { formatDate } from '../../utils/formatDate';
 
+// Only the columns the table shows; details are loaded per patient
+const TABLE_FIELDS = ['fullName', 'email', 'phone', 'dateOfBirth'];
+
 const PatientList = () => {
-  const [allPatients, setAllPatients] = useState([]);
   const [patients, setPatients] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
   const [searchTerm, setSearchTerm] = useState('');
+  const [page, setPage] = useState(0);
+  const [totalPages, setTotalPages] = useState(0);
   const [selectedPatient, setSelectedPatient] = useState(null);
 
-  // Load all patients on mount
+  // Search on the server (id/phone exact, name prefix); debounce while typing
   useEffect(() => {
-    loadAllPatients();
-  }, []);
-
-  // Filter patients when searchTerm changes - optimized with useMemo
-  const filteredPatients = useMemo(() => {
-    if (searchTerm.trim() === '') {
-      return allPatients;
-    }
-    const term = searchTerm.toLowerCase();
-    return allPatients.filter(patient => 
-      patient.fullName?.toLowerCase().includes(term) ||
-      patient.id?.toString().includes(searchTerm) ||
-      patient.email?.toLowerCase().includes(term)
-    );
-  }, [searchTerm, allPatients]);
+    const delayDebounce = setTimeout(() => {
+      loadPatients(searchTerm, page);
+    }, searchTerm.trim() === '' ? 0 : 300);
 
-  useEffect(() => {
-    setPatients(filteredPatients);
-  }, [filteredPatients]);
+    return () => clearTimeout(delayDebounce);
+  }, [searchTerm, page]);
 
-  const loadAllPatients = async () => {
+  const loadPatients = async (search, pageNumber) => {
     try {
       setLoading(true);
-      // Load all patients with empty search
-      const data = await adminService.searchPatients('');
-      setAllPatients(data);
-      setPatients(data);
+      const data = await adminService.searchPatients(search.trim(), pageNumber, 20, TABLE_FIELDS);
+      setPatients(data.content);
+      setTotalPages(data.totalPages);
       setError('');
     } catch (err) {
       setError('Failed to load patients');
@@ -52,6 +43,11 @@ const PatientList = () => {
     }
   };
 
+  const handleSearchChange = (e) => {
+    setSearchTerm(e.target.value);
+    setPage(0);
+  };
+
   const handleViewDetails = async (id) => {
     try {
       const patient = await adminService.getPatientById(id);
@@ -82,9 +78,9 @@ const PatientList = () => {
         <div style={{ marginBottom: '20px' }}>
           <input
             type="text"
-            placeholder="Search patients by name, ID, or email..."
+            placeholder="Search patients by name, ID, or phone..."
             value={searchTerm}
-            onChange={(e) => setSearchTerm(e.target.value)}
+            onChange={handleSearchChange}
             style={{
               width: '100%',
               maxWidth: '500px',
@@ -147,6 +143,8 @@ const PatientList = () => {
           onRowClick={(patient) => handleViewDetails(patient.id)}
         />
 
+        <Pagination page={page} totalPages={totalPages} onPageChange={setPage} />
+
         {selectedPatient && (
           <PatientDetailModal patient={selectedPatient} onClose={() => setSelectedPatient(null)} />
         )}
@@ -1,6 +1,7 @@
 import { useEffect, useState, useMemo } from 'react';
 import DoctorLayout from '../../components/doctor/DoctorLayout';
 import { doctorService } from '../../services/doctorService';
+import { subscribeAppointmentEvents } from '../../utils/eventStream';
 import Loading from '../../components/common/Loading';
 import ErrorMessage from '../../components/common/ErrorMessage';
 import TreatmentForm from '../../components/doctor/TreatmentForm';
@@ -18,6 +19,7 @@ const DoctorAppointments = () => {
 
   useEffect(() => {
     loadAppointments();
+    return subscribeAppointmentEvents('DOCTOR', () => loadAppointments());
   }, [filterDate]);
 
   const loadAppointments = async () => {
@@ -1,6 +1,7 @@
 import { useEffect, useState, useMemo } from 'react';
 import DoctorLayout from '../../components/doctor/DoctorLayout';
 import { doctorService } from '../../services/doctorService';
+import { subscribeAppointmentEvents } from '../../utils/eventStream';
 import Loading from '../../components/common/Loading';
 import StatCard from '../../components/common/StatCard';
 import ActionButton from '../../components/common/ActionButton';
@@ -12,36 +13,28 @@ const DoctorDashboard = () => {
     totalTreatments: 0,
     upcomingAppointments: 0,
   });
+  const [todaySchedule, setTodaySchedule] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
 
   useEffect(() => {
     loadStats();
+    // New bookings and status changes arrive over SSE; reload the agenda instead of polling
+    return subscribeAppointmentEvents('DOCTOR', () => loadStats());
   }, []);
 
   const loadStats = async () => {
     try {
       setError('');
-      const today = new Date().toISOString().split('T')[0];
-      const [todayApps, allApps, treatments] = await Promise.all([
-        doctorService.getAppointments(today),
-        doctorService.getAppointments(),
-        doctorService.getTreatments(),
-      ]);
-
-      const pending = allApps.filter(a => a.status === 'PENDING');
-      const upcoming = allApps.filter(a => 
-        a.status !== 'CANCELLED' && 
-        a.status !== 'COMPLETED' &&
-        new Date(a.appointmentDate) >= new Date()
-      );
+      const agenda = await doctorService.getAgenda();
 
       setStats({
-        todayAppointments: todayApps.length,
-        pendingAppointments: pending.length,
-        totalTreatments: treatments.length,
-        upcomingAppointments: upcoming.length,
+        todayAppointments: agenda.today.length,
+        pendingAppointments: agenda.pendingCount,
+        totalTreatments: agenda.totalTreatments,
+        upcomingAppointments: agenda.upcomingCount,
       });
+      setTodaySchedule(agenda.today);
     } catch (err) {
       console.error('Error loading stats:', err);
       setError('Failed to load dashboard statistics');
@@ -96,6 +89,25 @@ const DoctorDashboard = () => {
           ))}
         </div>
 
+        {todaySchedule.length > 0 && (
+          <div style={{
+            backgroundColor: 'white',
+            padding: '30px',
+            borderRadius: '8px',
+            boxShadow: '0 2px 8px rgba(0,0,0,0.1)',
+            marginBottom: '30px'
+          }}>
+            <h2 style={{ marginBottom: '20px', fontSize: '24px', fontWeight: '600', color: '#2c3e50' }}>
+              Today's Schedule
+            </h2>
+            {todaySchedule.map((appointment) => (
+              <div key={appointment.id} style={{ padding: '8px 0', borderBottom: '1px solid #eee', color: '#555' }}>
+                <strong>{appointment.appointmentTime?.slice(0, 5)}</strong> — {appointment.patientName} ({appointment.status})
+              </div>
+            ))}
+          </div>
+        )}
+
         <div style={{ 
           backgroundColor: 'white', 
           padding: '30px', 
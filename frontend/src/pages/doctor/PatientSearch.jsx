@@ -1,51 +1,38 @@
-import { useEffect, useState, useMemo } from 'react';
+import { useEffect, useState } from 'react';
 import DoctorLayout from '../../components/doctor/DoctorLayout';
 import { doctorService } from '../../services/doctorService';
 import Loading from '../../components/common/Loading';
 import ErrorMessage from '../../components/common/ErrorMessage';
 import DataTable from '../../components/common/DataTable';
+import Pagination from '../../components/common/Pagination';
 import { formatDate } from '../../utils/formatDate';
 
 const PatientSearch = () => {
-  const [allPatients, setAllPatients] = useState([]);
   const [patients, setPatients] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
   const [searchTerm, setSearchTerm] = useState('');
+  const [page, setPage] = useState(0);
+  const [totalPages, setTotalPages] = useState(0);
   const [selectedPatient, setSelectedPatient] = useState(null);
   const [patientTreatments, setPatientTreatments] = useState([]);
   const [loadingTreatments, setLoadingTreatments] = useState(false);
 
-  // Load all patients on mount
+  // Search on the server (id/phone exact, name prefix); debounce while typing
   useEffect(() => {
-    loadAllPatients();
-  }, []);
+    const delayDebounce = setTimeout(() => {
+      loadPatients(searchTerm, page);
+    }, searchTerm.trim() === '' ? 0 : 300);
 
-  // Filter patients when searchTerm changes
-  useEffect(() => {
-    if (searchTerm.trim() === '') {
-      setPatients(allPatients);
-    } else {
-      const delayDebounce = setTimeout(() => {
-        const filtered = allPatients.filter(patient => 
-          patient.fullName?.toLowerCase().includes(searchTerm.toLowerCase()) ||
-          patient.id?.toString().includes(searchTerm) ||
-          patient.email?.toLowerCase().includes(searchTerm.toLowerCase())
-        );
-        setPatients(filtered);
-      }, 300);
-
-      return () => clearTimeout(delayDebounce);
-    }
-  }, [searchTerm, allPatients]);
+    return () => clearTimeout(delayDebounce);
+  }, [searchTerm, page]);
 
-  const loadAllPatients = async () => {
+  const loadPatients = async (search, pageNumber) => {
     try {
       setLoading(true);
-      // Load all patients with empty search
-      const data = await doctorService.searchPatients('');
-      setAllPatients(data);
-      setPatients(data);
+      const data = await doctorService.searchPatients(search.trim(), pageNumber);
+      setPatients(data.content);
+      setTotalPages(data.totalPages);
       setError('');
     } catch (err) {
       setError('Failed to load patients');
@@ -55,6 +42,11 @@ const PatientSearch = () => {
     }
   };
 
+  const handleSearchChange = (e) => {
+    setSearchTerm(e.target.value);
+    setPage(0);
+  };
+
   const handleViewDetails = async (id) => {
     try {
       setLoadingTreatments(true);
@@ -84,9 +76,9 @@ const PatientSearch = () => {
         <div style={{ marginBottom: '20px' }}>
           <input
             type="text"
-            placeholder="Search patients by name, ID, or email..."
+            placeholder="Search patients by name, ID, or phone..."
             value={searchTerm}
-            onChange={(e) => setSearchTerm(e.target.value)}
+            onChange={handleSearchChange}
             style={{
               width: '100%',
               maxWidth: '500px',
@@ -166,6 +158,8 @@ const PatientSearch = () => {
           emptyMessage={searchTerm ? `No patients found matching "${searchTerm}"` : 'No patients found'}
         />
 
+        <Pagination page={page} totalPages={totalPages} onPageChange={setPage} />
+
         {selectedPatient && (
           <PatientDetailModal
             patient={selectedPatient}
@@ -1,7 +1,8 @@
-import { useEffect, useState, useMemo } from 'react';
+import { useEffect, useState, useMemo, useRef } from 'react';
 import { Link } from 'react-router-dom';
 import PatientLayout from '../../components/patient/PatientLayout';
 import { patientService } from '../../services/patientService';
+import { subscribeAppointmentEvents } from '../../utils/eventStream';
 import Loading from '../../components/common/Loading';
 import ErrorMessage from '../../components/common/ErrorMessage';
 import DataTable from '../../components/common/DataTable';
@@ -18,15 +19,31 @@ const BookingHistory = () => {
     const [showFeedbackModal, setShowFeedbackModal] = useState(false);
     const [treatment, setTreatment] = useState(null);
     const [loadingTreatment, setLoadingTreatment] = useState(false);
+    // Years of history to show; old closed appointments are archived and only returned when asked for
+    const [historyYears, setHistoryYears] = useState(0);
+    const historyYearsRef = useRef(0);
 
     useEffect(() => {
-        loadAppointments();
+        // Confirmations and completions are pushed by the server
+        return subscribeAppointmentEvents('PATIENT', () => loadAppointments());
     }, []);
 
+    useEffect(() => {
+        historyYearsRef.current = historyYears;
+        loadAppointments();
+    }, [historyYears]);
+
     const loadAppointments = async () => {
         try {
             setLoading(true);
-            const data = await patientService.getAppointments();
+            const years = historyYearsRef.current;
+            let from = null;
+            if (years > 0) {
+                const date = new Date();
+                date.setFullYear(date.getFullYear() - years);
+                from = date.toISOString().slice(0, 10);
+            }
+            const data = await patientService.getAppointments(from);
             setAppointments(data);
             setError('');
         } catch (err) {
@@ -117,9 +134,21 @@ const BookingHistory = () => {
     return (
         <PatientLayout>
             <div style={{ maxWidth: '1400px', margin: '0 auto', padding: '0 20px' }}>
-                <h1 style={{ marginBottom: '30px', fontSize: '32px', fontWeight: '600', color: '#2c3e50' }}>
-                    Booking History
-                </h1>
+                <div style={{ display: 'flex', justifyContent: 'space-between', alignItems: 'center', marginBottom: '30px', flexWrap: 'wrap', gap: '10px' }}>
+                    <h1 style={{ margin: 0, fontSize: '32px', fontWeight: '600', color: '#2c3e50' }}>
+                        Booking History
+                    </h1>
+                    <select
+                        value={historyYears}
+                        onChange={(e) => setHistoryYears(Number(e.target.value))}
+                        style={{ padding: '8px 12px', border: '1px solid #ddd', borderRadius: '4px', fontSize: '14px' }}
+                    >
+                        <option value={0}>Recent</option>
+                        <option value={2}>Past 2 years</option>
+                        <option value={5}>Past 5 years</option>
+                        <option value={10}>Past 10 years</option>
+                    </select>
+                </div>
 
                 <ErrorMessage message={error} onClose={() => setError('')} />
                 {success && (
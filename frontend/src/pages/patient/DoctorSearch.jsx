@@ -10,12 +10,9 @@ const DoctorSearch = () => {
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState('');
   const [searchTerm, setSearchTerm] = useState('');
+  const [sort, setSort] = useState('volume');
   const [selectedDoctor, setSelectedDoctor] = useState(null);
 
-  useEffect(() => {
-    loadDoctors();
-  }, []);
-
   useEffect(() => {
     if (searchTerm.trim() === '') {
       loadDoctors();
@@ -26,12 +23,13 @@ const DoctorSearch = () => {
     }, 500);
 
     return () => clearTimeout(delayDebounce);
-  }, [searchTerm]);
+  }, [searchTerm, sort]);
 
+  // Without a search term show the top-ranked doctors instead of the whole directory
   const loadDoctors = async () => {
     try {
       setLoading(true);
-      const data = await patientService.searchDoctors('');
+      const data = await patientService.getRankedDoctors(sort, null, 12);
       setDoctors(data);
       setError('');
     } catch (err) {
@@ -73,7 +71,7 @@ const DoctorSearch = () => {
 
         <ErrorMessage message={error} onClose={() => setError('')} />
 
-        <div style={{ marginBottom: '20px' }}>
+        <div style={{ marginBottom: '20px', display: 'flex', gap: '10px', flexWrap: 'wrap' }}>
           <input
             type="text"
             placeholder="Search by doctor name or specialization..."
@@ -88,6 +86,16 @@ const DoctorSearch = () => {
               fontSize: '16px',
             }}
           />
+          {searchTerm.trim() === '' && (
+            <select
+              value={sort}
+              onChange={(e) => setSort(e.target.value)}
+              style={{ padding: '10px', border: '1px solid #ddd', borderRadius: '4px', fontSize: '16px' }}
+            >
+              <option value="volume">Most booked</option>
+              <option value="rating">Top rated</option>
+            </select>
+          )}
         </div>
 
         {loading && doctors.length === 0 && (
@@ -125,6 +133,11 @@ const DoctorSearch = () => {
                 <p style={{ margin: '5px 0', color: '#666' }}>
                   <strong>Specialization:</strong> {doctor.specialization}
                 </p>
+                {doctor.ratingCount > 0 && (
+                  <p style={{ margin: '5px 0', color: '#f39c12', fontSize: '14px' }}>
+                    ★ {doctor.averageRating.toFixed(1)} ({doctor.ratingCount} reviews)
+                  </p>
+                )}
                 {doctor.qualification && (
                   <p style={{ margin: '5px 0', color: '#666', fontSize: '14px' }}>
                     {doctor.qualification}
@@ -1,13 +1,12 @@
 import { useEffect, useState } from 'react';
 import PatientLayout from '../../components/patient/PatientLayout';
 import { patientService } from '../../services/patientService';
-import Loading from '../../components/common/Loading';
 import ErrorMessage from '../../components/common/ErrorMessage';
+import DoctorPicker from '../../components/patient/DoctorPicker';
 import { useNavigate } from 'react-router-dom';
 
 const NewBooking = () => {
-  const [doctors, setDoctors] = useState([]);
-  const [loading, setLoading] = useState(true);
+  const [selectedDoctor, setSelectedDoctor] = useState(null);
   const [submitting, setSubmitting] = useState(false);
   const [error, setError] = useState('');
   const [success, setSuccess] = useState('');
@@ -25,24 +24,14 @@ const NewBooking = () => {
   const navigate = useNavigate();
 
   useEffect(() => {
-    loadDoctors();
     // Set minimum date to today
     const today = new Date().toISOString().split('T')[0];
     setFormData(prev => ({ ...prev, appointmentDate: today }));
   }, []);
 
-  const loadDoctors = async () => {
-    try {
-      setLoading(true);
-      const data = await patientService.searchDoctors('');
-      setDoctors(data);
-      setError('');
-    } catch (err) {
-      setError('Failed to load doctors');
-      console.error(err);
-    } finally {
-      setLoading(false);
-    }
+  const handleSelectDoctor = (doctor) => {
+    setSelectedDoctor(doctor);
+    setFormData(prev => ({ ...prev, doctorId: doctor.id }));
   };
 
   const handleChange = (e) => {
@@ -57,6 +46,10 @@ const NewBooking = () => {
     e.preventDefault();
     setError('');
     setSuccess('');
+    if (!formData.doctorId) {
+      setError('Please choose a doctor');
+      return;
+    }
     setSubmitting(true);
 
     try {
@@ -77,14 +70,6 @@ const NewBooking = () => {
     }
   };
 
-  if (loading) {
-    return (
-      <PatientLayout>
-        <Loading />
-      </PatientLayout>
-    );
-  }
-
   return (
     <PatientLayout>
       <div>
@@ -111,20 +96,7 @@ const NewBooking = () => {
                 <label style={{ display: 'block', marginBottom: '5px', fontWeight: '500' }}>
                   Select Doctor *
                 </label>
-                <select
-                  name="doctorId"
-                  value={formData.doctorId}
-                  onChange={handleChange}
-                  required
-                  style={{ width: '100%', padding: '10px', border: '1px solid #ddd', borderRadius: '4px', fontSize: '16px' }}
-                >
-                  <option value="">Choose a doctor...</option>
-                  {doctors.map((doctor) => (
-                    <option key={doctor.id} value={doctor.id}>
-                      Dr. {doctor.fullName} - {doctor.specialization}
-                    </option>
-                  ))}
-                </select>
+                <DoctorPicker selectedDoctor={selectedDoctor} onSelect={handleSelectDoctor} />
               </div>
 
               <div style={{ display: 'grid', gridTemplateColumns: '1fr 1fr', gap: '20px' }}>
@@ -1,6 +1,13 @@
 import api from '../config/api';
+import { COLUMNAR_MEDIA_TYPE, decodeColumnar } from '../utils/columnar';
 
 export const adminService = {
+  // Dashboard
+  getSummary: async () => {
+    const response = await api.get('/admin/summary');
+    return response.data;
+  },
+
   // Doctor Management
   getAllDoctors: async (search) => {
     const params = search ? { search } : {};
@@ -28,8 +35,11 @@ export const adminService = {
   },
 
   // Patient Management
-  searchPatients: async (search) => {
-    const params = search ? { search } : {};
+  // Returns a page: { content, page, size, totalElements, totalPages }
+  // fields: optional array of PatientResponse properties to return (id is always included)
+  searchPatients: async (search, page = 0, size = 20, fields) => {
+    const params = search ? { search, page, size } : { page, size };
+    if (fields) params.fields = fields.join(',');
     const response = await api.get('/admin/patients', { params });
     return response.data;
   },
@@ -40,10 +50,15 @@ export const adminService = {
   },
 
   // Appointment Management
-  getAllAppointments: async (date) => {
+  // Fetched in the columnar format (dictionary-encoded names/status) and decoded client-side
+  getAllAppointments: async (date, fields) => {
     const params = date ? { date } : {};
-    const response = await api.get('/admin/appointments', { params });
-    return response.data;
+    if (fields) params.fields = fields.join(',');
+    const response = await api.get('/admin/appointments', {
+      params,
+      headers: { Accept: COLUMNAR_MEDIA_TYPE },
+    });
+    return decodeColumnar(response.data);
   },
 
   getAppointmentById: async (id) => {
@@ -51,6 +66,23 @@ export const adminService = {
     return response.data;
   },
 
+  // Streams a CSV/NDJSON export from the server and saves it under the server-chosen file name
+  exportAppointments: async ({ from, to, doctorId, format = 'csv' } = {}) => {
+    const params = { format };
+    if (from) params.from = from;
+    if (to) params.to = to;
+    if (doctorId) params.doctorId = doctorId;
+    const response = await api.get('/admin/export/appointments', { params, responseType: 'blob' });
+    const disposition = response.headers['content-disposition'] || '';
+    const match = disposition.match(/filename="?([^"]+)"?/);
+    const url = URL.createObjectURL(response.data);
+    const link = document.createElement('a');
+    link.href = url;
+    link.download = match ? match[1] : `appointments.${format}`;
+    link.click();
+    URL.revokeObjectURL(url);
+  },
+
   // Feedback Management
   getAllFeedbacks: async (status) => {
     const params = status ? { status } : {};
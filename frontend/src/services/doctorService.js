@@ -16,6 +16,12 @@ export const doctorService = {
     await api.post('/doctor/change-password', { currentPassword, newPassword });
   },
 
+  // Dashboard
+  getAgenda: async () => {
+    const response = await api.get('/doctor/agenda');
+    return response.data;
+  },
+
   // Appointments
   getAppointments: async (date) => {
     const params = date ? { date } : {};
@@ -59,8 +65,9 @@ export const doctorService = {
   },
 
   // Patients
-  searchPatients: async (search) => {
-    const params = search ? { search } : {};
+  // Returns a page: { content, page, size, totalElements, totalPages }
+  searchPatients: async (search, page = 0, size = 20) => {
+    const params = search ? { search, page, size } : { page, size };
     const response = await api.get('/doctor/patients', { params });
     return response.data;
   },
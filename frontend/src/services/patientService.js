@@ -22,8 +22,9 @@ export const patientService = {
     return response.data;
   },
 
-  getAppointments: async () => {
-    const response = await api.get('/patient/appointments');
+  // from (yyyy-MM-dd) also returns archived appointments dated on or after it
+  getAppointments: async (from = null) => {
+    const response = await api.get('/patient/appointments', { params: from ? { from } : {} });
     return response.data;
   },
 
@@ -43,6 +44,26 @@ export const patientService = {
     return response.data;
   },
 
+  // Top-k autocomplete ({ id, fullName, specialization }), ranked by booking popularity
+  suggestDoctors: async (q, limit = 10) => {
+    const response = await api.get('/patient/doctors/suggest', { params: { q, limit } });
+    return response.data;
+  },
+
+  // Top-ranked active doctors, sort: 'rating' | 'volume'; optionally within one specialization
+  getRankedDoctors: async (sort, specialization, limit = 20) => {
+    const params = { sort, limit };
+    if (specialization) params.specialization = specialization;
+    const response = await api.get('/patient/doctors', { params });
+    return response.data;
+  },
+
+  // { doctorId, count, average, histogram: [1★..5★] }
+  getDoctorRating: async (id) => {
+    const response = await api.get(`/patient/doctors/${id}/rating`);
+    return response.data;
+  },
+
   getDoctorById: async (id) => {
     const response = await api.get(`/patient/doctors/${id}`);
     return response.data;
@@ -0,0 +1,83 @@
+// Reference decoder for the columnar list format (application/vnd.doctorbooking.columnar+json).
+// Turns { format, rows, columns } back into the same array of objects the JSON endpoints return.
+
+export const COLUMNAR_MEDIA_TYPE = 'application/vnd.doctorbooking.columnar+json';
+
+const pad = (n, width = 2) => String(n).padStart(width, '0');
+
+// Matches java.time toString(): seconds are omitted when zero
+const formatClock = (hours, minutes, seconds, millis = 0) => {
+  let text = `${pad(hours)}:${pad(minutes)}`;
+  if (seconds || millis) text += `:${pad(seconds)}`;
+  if (millis) text += `.${pad(millis, 3)}`;
+  return text;
+};
+
+const formatEpochDay = (epochDay) => new Date(epochDay * 86400000).toISOString().slice(0, 10);
+
+const formatSecondOfDay = (value) =>
+  formatClock(Math.floor(value / 3600), Math.floor((value % 3600) / 60), value % 60);
+
+const formatEpochMillis = (value) => {
+  const d = new Date(value);
+  return `${d.toISOString().slice(0, 10)}T${formatClock(
+    d.getUTCHours(), d.getUTCMinutes(), d.getUTCSeconds(), d.getUTCMilliseconds())}`;
+};
+
+const decodeColumn = (column, rows) => {
+  const out = new Array(rows);
+  const nulls = new Set(column.nulls || []);
+
+  switch (column.type) {
+    case 'dict':
+      for (let i = 0; i < rows; i++) {
+        const code = column.codes[i];
+        out[i] = code < 0 ? null : column.dict[code];
+      }
+      return out;
+    case 'string':
+      return column.values.slice(0, rows);
+    case 'time':
+      for (let i = 0; i < rows; i++) {
+        out[i] = nulls.has(i) ? null : formatSecondOfDay(column.values[i]);
+      }
+      return out;
+    case 'delta':
+    case 'date':
+    case 'timestamp': {
+      let current = 0;
+      for (let i = 0; i < rows; i++) {
+        if (nulls.has(i)) {
+          out[i] = null;
+          continue;
+        }
+        current += column.values[i];
+        if (column.type === 'date') out[i] = formatEpochDay(current);
+        else if (column.type === 'timestamp') out[i] = formatEpochMillis(current);
+        else out[i] = current;
+      }
+      return out;
+    }
+    default:
+      throw new Error(`Unknown columnar column type: ${column.type}`);
+  }
+};
+
+export const decodeColumnar = (payload) => {
+  if (!payload || payload.format !== 'columnar-v1') {
+    throw new Error('Unsupported columnar payload');
+  }
+  const { rows, columns } = payload;
+  const names = Object.keys(columns);
+  const decoded = names.map((name) => decodeColumn(columns[name], rows));
+
+  const result = new Array(rows);
+  for (let i = 0; i < rows; i++) {
+    const row = {};
+    for (let c = 0; c < names.length; c++) {
+      row[names[c]] = decoded[c][i];
+    }
+    result[i] = row;
+  }
+  return result;
+};
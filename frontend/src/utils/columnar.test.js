@@ -0,0 +1,30 @@
+// Run with `npm test`. The fixture payload is checked against the Java encoder by ColumnarEncoderTest.
+import { test } from 'node:test';
+import assert from 'node:assert/strict';
+import { readFileSync } from 'node:fs';
+import { decodeColumnar } from './columnar.js';
+
+const fixture = JSON.parse(readFileSync(new URL('./columnar.fixture.json', import.meta.url), 'utf8'));
+
+test('decodes nulls, negative deltas and every column type back into rows', () => {
+  assert.deepEqual(decodeColumnar(fixture.payload), fixture.expected);
+});
+
+test('decodes a fields subset', () => {
+  const { id, notes } = fixture.payload.columns;
+  const rows = decodeColumnar({ ...fixture.payload, columns: { id, notes } });
+  assert.deepEqual(rows, fixture.expected.map((row) => ({ id: row.id, notes: row.notes })));
+});
+
+test('decodes an empty list', () => {
+  const payload = { format: 'columnar-v1', rows: 0, columns: { id: { type: 'delta', values: [] } } };
+  assert.deepEqual(decodeColumnar(payload), []);
+});
+
+test('rejects other formats and unknown column types', () => {
+  assert.throws(() => decodeColumnar({ format: 'columnar-v2', rows: 0, columns: {} }), /Unsupported/);
+  assert.throws(
+    () => decodeColumnar({ format: 'columnar-v1', rows: 1, columns: { x: { type: 'blob', values: [1] } } }),
+    /Unknown columnar column type: blob/,
+  );
+});
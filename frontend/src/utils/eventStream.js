@@ -0,0 +1,79 @@
+// Live appointment events from GET /api/{admin,doctor,patient}/events (Server-Sent Events).
+// EventSource cannot send the Authorization header, so the stream is read with fetch and parsed here.
+// Reconnects with Last-Event-ID; a 'reset' event means events were missed and the caller should reload.
+
+import api from '../config/api';
+
+const RETRY_MIN_MS = 1000;
+const RETRY_MAX_MS = 30000;
+
+const parseBlock = (block) => {
+  const event = { id: null, name: 'message', data: [] };
+  for (const line of block.split('\n')) {
+    if (!line || line.startsWith(':')) continue;
+    const index = line.indexOf(':');
+    const field = index === -1 ? line : line.slice(0, index);
+    const value = index === -1 ? '' : line.slice(index + 1).replace(/^ /, '');
+    if (field === 'id') event.id = value;
+    else if (field === 'event') event.name = value;
+    else if (field === 'data') event.data.push(value);
+  }
+  return event.data.length ? { ...event, data: event.data.join('\n') } : null;
+};
+
+// role: 'ADMIN' | 'DOCTOR' | 'PATIENT'; onEvent(type, payload) gets 'appointment' or 'reset'.
+// Returns a function that closes the stream.
+export const subscribeAppointmentEvents = (role, onEvent) => {
+  const controller = new AbortController();
+  let lastEventId = null;
+  let retryMs = RETRY_MIN_MS;
+
+  const connect = async () => {
+    const token = localStorage.getItem(`token_${role}`);
+    if (!token) return;
+
+    const headers = { Accept: 'text/event-stream', Authorization: `Bearer ${token}` };
+    if (lastEventId) headers['Last-Event-ID'] = lastEventId;
+
+    const response = await fetch(`${api.defaults.baseURL}/${role.toLowerCase()}/events`, {
+      headers,
+      signal: controller.signal,
+    });
+    if (!response.ok || !response.body) {
+      throw new Error(`Event stream failed with status ${response.status}`);
+    }
+    retryMs = RETRY_MIN_MS;
+
+    const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = '';
+    for (;;) {
+      const { value, done } = await reader.read();
+      if (done) return;
+      buffer += value.replace(/\r\n?/g, '\n');
+      let boundary;
+      while ((boundary = buffer.indexOf('\n\n')) !== -1) {
+        const event = parseBlock(buffer.slice(0, boundary));
+        buffer = buffer.slice(boundary + 2);
+        if (!event) continue;
+        if (event.id) lastEventId = event.id;
+        onEvent(event.name, JSON.parse(event.data));
+      }
+    }
+  };
+
+  const run = async () => {
+    while (!controller.signal.aborted) {
+      try {
+        await connect();
+      } catch (err) {
+        if (controller.signal.aborted) return;
+        console.warn('Appointment event stream interrupted:', err.message);
+      }
+      await new Promise((resolve) => setTimeout(resolve, retryMs));
+      retryMs = Math.min(retryMs * 2, RETRY_MAX_MS);
+    }
+  };
+
+  run();
+  return () => controller.abort();
+};